@@ -12,6 +12,7 @@ const PaperCard = ({ paper, onClick, onPaperUpdate, isOwner = false }) => {
   const [showVersionModal, setShowVersionModal] = useState(false);
   const [showPreviewModal, setShowPreviewModal] = useState(false);
   const [showDeleteModal, setShowDeleteModal] = useState(false);
+  const [previewFailed, setPreviewFailed] = useState(false);
   const menuRef = useRef(null);
 
   // Close menu when clicking outside
@@ -120,7 +121,18 @@ const PaperCard = ({ paper, onClick, onPaperUpdate, isOwner = false }) => {
       onMouseLeave={() => !showMenu && setIsHovered(false)}
     >
       <div className="flex items-center gap-3 flex-1 min-w-0">
-        <FileText className="w-4 h-4 text-gray-400 flex-shrink-0" />
+        {/* Pre-rendered first page; falls back to the icon until one exists */}
+        {paper.currentVersion && !previewFailed ? (
+          <img
+            src={`http://localhost:8080/papers/${paper.paperId}/preview/${paper.currentVersion}`}
+            alt=""
+            loading="lazy"
+            onError={() => setPreviewFailed(true)}
+            className="w-8 h-10 object-cover object-top border border-gray-200 rounded flex-shrink-0"
+          />
+        ) : (
+          <FileText className="w-4 h-4 text-gray-400 flex-shrink-0" />
+        )}
         <span className="font-medium text-gray-900 truncate">{paper.title || paper.fileName}</span>
       </div>
       <div className="flex items-center gap-2 flex-shrink-0 relative">
@@ -4,25 +4,66 @@ const RecentActivity = ({ repoId, currentUserEmail }) => {
   const [activities, setActivities] = useState([]);
   const [loading, setLoading] = useState(false);
 
-  // Fetch activity data from the new endpoint
+  // Open the live stream and fetch the current list once it is connected (or
+  // has failed to). Both feed the same merge, so an event sent while the list
+  // loads is neither lost nor shown twice
   useEffect(() => {
     if (!repoId) return;
+    let cancelled = false;
 
-    setLoading(true);
-    fetch(`http://localhost:8080/papers/activity/${repoId}`, { credentials: 'include' })
-      .then(async (res) => {
-        if (!res.ok) throw new Error('Failed to fetch activity');
-        return res.json();
-      })
-      .then((data) => {
-        // Take only the 4 most recent activities
-        setActivities(data.slice(0, 4));
-      })
-      .catch((err) => {
-        console.error('Failed to fetch activity:', err);
-        setActivities([]);
-      })
-      .finally(() => setLoading(false));
+    // Each upload or delete appears once, newest first, 4 at most
+    const merge = (current, incoming) => {
+      const seen = new Set();
+      return [...incoming, ...current]
+        .filter((activity) => {
+          const key = `${activity.paperId}:${activity.versionNumber}:${activity.actionType}`;
+          if (seen.has(key)) return false;
+          seen.add(key);
+          return true;
+        })
+        .sort((a, b) => new Date(b.uploadedAt) - new Date(a.uploadedAt))
+        .slice(0, 4);
+    };
+
+    const load = () => {
+      setLoading(true);
+      fetch(`http://localhost:8080/papers/activity/${repoId}`, { credentials: 'include' })
+        .then(async (res) => {
+          if (!res.ok) throw new Error('Failed to fetch activity');
+          return res.json();
+        })
+        .then((data) => {
+          if (!cancelled) setActivities((current) => merge(current, data));
+        })
+        .catch((err) => {
+          console.error('Failed to fetch activity:', err);
+        })
+        .finally(() => {
+          if (!cancelled) setLoading(false);
+        });
+    };
+
+    // The browser reconnects on its own and resumes from the last event id;
+    // "reset" means missed events are gone, so reload the list
+    setActivities([]);
+    const stream = new EventSource(`http://localhost:8080/papers/activity/${repoId}/stream`, { withCredentials: true });
+    stream.addEventListener('activity', (e) => {
+      const activity = JSON.parse(e.data);
+      setActivities((current) => merge(current, [activity]));
+    });
+    stream.addEventListener('reset', load);
+    let loaded = false;
+    const loadOnce = () => {
+      if (loaded) return;
+      loaded = true;
+      load();
+    };
+    stream.addEventListener('open', loadOnce);
+    stream.addEventListener('error', loadOnce);
+    return () => {
+      cancelled = true;
+      stream.close();
+    };
   }, [repoId]);
 
   // Function to calculate time ago
@@ -65,8 +106,8 @@ const RecentActivity = ({ repoId, currentUserEmail }) => {
           {activities.map((activity, idx) => (
             <div key={idx} className="text-sm">
               <div className="flex items-start gap-2">
-                <div className={`w-6 h-6 ${activity.actionType === 'uploaded' ? 'bg-green-100' : 'bg-blue-100'} rounded-full flex items-center justify-center flex-shrink-0 mt-0.5`}>
-                  <div className={`w-2 h-2 ${activity.actionType === 'uploaded' ? 'bg-green-600' : 'bg-blue-600'} rounded-full`}></div>
+                <div className={`w-6 h-6 ${activity.actionType === 'uploaded' ? 'bg-green-100' : activity.actionType === 'deleted' ? 'bg-red-100' : 'bg-blue-100'} rounded-full flex items-center justify-center flex-shrink-0 mt-0.5`}>
+                  <div className={`w-2 h-2 ${activity.actionType === 'uploaded' ? 'bg-green-600' : activity.actionType === 'deleted' ? 'bg-red-600' : 'bg-blue-600'} rounded-full`}></div>
                 </div>
                 <div>
                   <p className="text-gray-900">
@@ -1,5 +1,6 @@
 import React, { useState } from 'react';
 import { X, Upload } from 'lucide-react';
+import { waitForUploadJob } from '../uploadJobs';
 
 // ===================== UPDATE PAPER MODAL COMPONENT ===================== //
 const UpdatePaperModal = ({ paper, onClose, onUpdateSuccess }) => {
@@ -46,6 +47,9 @@ const UpdatePaperModal = ({ paper, onClose, onUpdateSuccess }) => {
         throw new Error(errorText || 'Failed to update paper');
       }
 
+      // The file is stored in the background; wait for the paper to be written
+      await waitForUploadJob(await response.json());
+
       // Success - reset form and close modal
       setFile(null);
       onClose();
@@ -1,5 +1,6 @@
 import React, { useState } from 'react';
 import { Upload, X } from 'lucide-react';
+import { waitForUploadJob } from '../uploadJobs';
 
 // ===================== UPLOAD PAPER BUTTON & MODAL COMPONENT ===================== //
 const UploadPaperButton = ({ repoId, onUploadSuccess }) => {
@@ -54,6 +55,9 @@ const UploadPaperButton = ({ repoId, onUploadSuccess }) => {
         throw new Error(errorText || 'Failed to upload paper');
       }
 
+      // The file is stored in the background; wait for the paper to be written
+      await waitForUploadJob(await response.json());
+
       // Success - reset form and close modal
       setTitle('');
       setFile(null);
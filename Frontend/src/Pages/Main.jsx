@@ -20,10 +20,14 @@ const ResearchCollabApp = () => {
   const [repos, setRepos] = useState([]); // List of repositories
   const [loading, setLoading] = useState(false); // Loading state for repos
   const [error, setError] = useState(''); // Error state for repos
+  const [nextCursor, setNextCursor] = useState(null); // Cursor for the next page of global repos
+  const [loadingMore, setLoadingMore] = useState(false); // Loading state for further pages
   const [selectedRepo, setSelectedRepo] = useState(null); // Currently selected repo (for detail view)
   const [papers, setPapers] = useState([]); // Papers for selected repo
   const [papersLoading, setPapersLoading] = useState(false); // Loading state for papers
   const [papersError, setPapersError] = useState(''); // Error state for papers
+  const [nextPapersPage, setNextPapersPage] = useState(null); // Next page of papers, if any
+  const [loadingMorePapers, setLoadingMorePapers] = useState(false); // Loading state for further paper pages
   const [currentUser, setCurrentUser] = useState(null); // Current logged-in user
   const [showCreateRepoModal, setShowCreateRepoModal] = useState(false); // Show create repo modal
   const [showDeleteRepoModal, setShowDeleteRepoModal] = useState(false); // Show delete repo modal
@@ -69,12 +73,15 @@ const ResearchCollabApp = () => {
     setSelectedRepo(null); // Reset selected repo when switching tabs
     setLoading(true);
     setError('');
+    setNextCursor(null);
     const url = activeTab === 'global'
       ? 'http://localhost:8080/repos/global'
       : 'http://localhost:8080/repos/my';
     fetch(url, { credentials: 'include' })
       .then(async (res) => {
         if (!res.ok) throw new Error(await res.text() || 'Failed to fetch');
+        // The global list is paged; the header is absent on the last page
+        setNextCursor(res.headers.get('X-Next-Cursor'));
         return res.json();
       })
       .then(setRepos)
@@ -82,6 +89,22 @@ const ResearchCollabApp = () => {
       .finally(() => setLoading(false));
   }, [activeTab]);
 
+  // ===================== LOAD MORE REPOS ===================== //
+  // Appends the next page of the global list
+  const loadMoreRepos = () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    fetch(`http://localhost:8080/repos/global?cursor=${encodeURIComponent(nextCursor)}`, { credentials: 'include' })
+      .then(async (res) => {
+        if (!res.ok) throw new Error(await res.text() || 'Failed to fetch');
+        setNextCursor(res.headers.get('X-Next-Cursor'));
+        return res.json();
+      })
+      .then((page) => setRepos((loaded) => [...loaded, ...page]))
+      .catch((err) => setError(err.message || 'Error'))
+      .finally(() => setLoadingMore(false));
+  };
+
   // ===================== FETCH PAPERS FOR SELECTED REPO ===================== //
   // If repoId is present in URL, fetch that repo and its papers
   useEffect(() => {
@@ -89,26 +112,49 @@ const ResearchCollabApp = () => {
       setSelectedRepo(null);
       return;
     }
-    // Find the repo in the loaded list
+    // Find the repo in the loaded list, paging further through the global
+    // list if it is not among the repos loaded so far
     const repo = repos.find(r => (r.id || r._id) === repoId);
     if (!repo) {
       setSelectedRepo(null);
+      if (nextCursor) loadMoreRepos();
       return;
     }
     setSelectedRepo(repo);
     setPapers([]);
     setPapersLoading(true);
     setPapersError('');
-    fetch(`http://localhost:8080/papers/by-repo/${repoId}`, { credentials: 'include' })
-      .then(async (res) => {
-        if (!res.ok) throw new Error(await res.text() || 'Failed to fetch papers');
-        return res.json();
+    fetchPapersPage(repoId, 0)
+      .then(({ page, next }) => {
+        setPapers(page);
+        setNextPapersPage(next);
       })
-      .then(setPapers)
       .catch((err) => setPapersError(err.message || 'Error'))
       .finally(() => setPapersLoading(false));
   }, [repoId, repos]);
 
+  // ===================== FETCH PAPERS PAGE ===================== //
+  // Fetches one page of a repo's papers; "next" is null on the last page
+  const fetchPapersPage = async (id, pageNumber) => {
+    const res = await fetch(`http://localhost:8080/papers/by-repo/${id}?page=${pageNumber}`, { credentials: 'include' });
+    if (!res.ok) throw new Error(await res.text() || 'Failed to fetch papers');
+    return { page: await res.json(), next: res.headers.get('X-Next-Page') };
+  };
+
+  // ===================== LOAD MORE PAPERS ===================== //
+  // Appends the next page of papers for the selected repo
+  const loadMorePapers = () => {
+    if (!repoId || nextPapersPage === null || loadingMorePapers) return;
+    setLoadingMorePapers(true);
+    fetchPapersPage(repoId, nextPapersPage)
+      .then(({ page, next }) => {
+        setPapers((loaded) => [...loaded, ...page]);
+        setNextPapersPage(next);
+      })
+      .catch((err) => setPapersError(err.message || 'Error'))
+      .finally(() => setLoadingMorePapers(false));
+  };
+
   // ===================== REPO CLICK HANDLER ===================== //
   // Navigates to the detail view for the selected repo
   const handleRepoClick = (repo) => {
@@ -121,12 +167,11 @@ const ResearchCollabApp = () => {
     if (!repoId) return;
     setPapersLoading(true);
     setPapersError('');
-    fetch(`http://localhost:8080/papers/by-repo/${repoId}`, { credentials: 'include' })
-      .then(async (res) => {
-        if (!res.ok) throw new Error(await res.text() || 'Failed to fetch papers');
-        return res.json();
+    fetchPapersPage(repoId, 0)
+      .then(({ page, next }) => {
+        setPapers(page);
+        setNextPapersPage(next);
       })
-      .then(setPapers)
       .catch((err) => setPapersError(err.message || 'Error'))
       .finally(() => setPapersLoading(false));
   };
@@ -140,6 +185,7 @@ const ResearchCollabApp = () => {
 
     // Refresh the repos list
     setLoading(true);
+    setNextCursor(null);
     fetch('http://localhost:8080/repos/my', { credentials: 'include' })
       .then(async (res) => {
         if (!res.ok) throw new Error(await res.text() || 'Failed to fetch');
@@ -170,6 +216,7 @@ const ResearchCollabApp = () => {
 
     // Refresh the repos list
     setLoading(true);
+    setNextCursor(null);
     fetch('http://localhost:8080/repos/my', { credentials: 'include' })
       .then(async (res) => {
         if (!res.ok) throw new Error(await res.text() || 'Failed to fetch');
@@ -311,6 +358,16 @@ const ResearchCollabApp = () => {
                         />
                       ))}
                     </div>
+                    {/* Load More - only while the repo has further pages of papers */}
+                    {nextPapersPage !== null && (
+                      <button
+                        onClick={loadMorePapers}
+                        disabled={loadingMorePapers}
+                        className="mt-3 px-4 py-2 bg-gray-200 hover:bg-gray-300 rounded-full text-sm font-medium transition-colors disabled:opacity-50"
+                      >
+                        {loadingMorePapers ? 'Loading...' : 'Load more'}
+                      </button>
+                    )}
                   </div>
                 )}
               </div>
@@ -343,6 +400,16 @@ const ResearchCollabApp = () => {
                   />
                 ))
             )}
+            {/* Load More - only while the global list has further pages */}
+            {activeTab === 'global' && nextCursor && (
+              <button
+                onClick={loadMoreRepos}
+                disabled={loadingMore}
+                className="mx-auto px-6 py-2 bg-gray-200 hover:bg-gray-300 rounded-full text-sm font-medium transition-colors disabled:opacity-50"
+              >
+                {loadingMore ? 'Loading...' : 'Load more'}
+              </button>
+            )}
           </div>
         )}
       </main>
@@ -0,0 +1,18 @@
+// Upload endpoints answer 202 with a job; poll it until the paper is written
+export async function waitForUploadJob(job, { intervalMs = 1000, timeoutMs = 5 * 60 * 1000 } = {}) {
+  const deadline = Date.now() + timeoutMs;
+  let current = job;
+  while (current.status !== 'COMPLETED') {
+    if (current.status === 'FAILED') {
+      throw new Error(current.error || 'Upload failed');
+    }
+    if (Date.now() > deadline) {
+      throw new Error('Upload is taking longer than expected');
+    }
+    await new Promise((resolve) => setTimeout(resolve, intervalMs));
+    const res = await fetch(`http://localhost:8080/papers/uploads/${current.jobId}`, { credentials: 'include' });
+    if (!res.ok) throw new Error(await res.text() || 'Failed to check upload status');
+    current = await res.json();
+  }
+  return current;
+}
@@ -1,5 +1,7 @@
 package com.ResearchHub.backend;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -8,6 +10,8 @@ import io.github.cdimascio.dotenv.Dotenv;
 @SpringBootApplication
 public class BackendApplication {
 
+	private static final Logger log = LoggerFactory.getLogger(BackendApplication.class);
+
 	public static void main(String[] args) {
 		// Load .env file BEFORE Spring Boot starts
 		try {
@@ -29,11 +33,10 @@ public class BackendApplication {
 				dotenv.entries().forEach(entry -> {
 					System.setProperty(entry.getKey(), entry.getValue());
 				});
-				System.out.println("✅ Environment variables loaded from .env file");
+				log.info("Environment variables loaded from .env file");
 			}
 		} catch (Exception e) {
-			System.err.println("⚠️ Warning: Could not load .env file: " + e.getMessage());
-			System.err.println("💡 Make sure .env file exists in the backend directory");
+			log.warn("Could not load .env file: {}. Make sure .env exists in the backend directory", e.getMessage());
 		}
 
 		SpringApplication.run(BackendApplication.class, args);
@@ -0,0 +1,8 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.ResearchHub.backend.model.BlobModel;
+
+public interface BlobRepository extends MongoRepository<BlobModel, String>, BlobRepositoryCustom {
+}
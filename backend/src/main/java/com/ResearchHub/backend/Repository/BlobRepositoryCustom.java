@@ -0,0 +1,16 @@
+package com.ResearchHub.backend.Repository;
+
+import com.ResearchHub.backend.model.BlobModel;
+
+public interface BlobRepositoryCustom {
+  // Adds a reference to a live blob. Returns the blob, or null when there is
+  // none or its last reference is already gone.
+  BlobModel acquire(String sha256);
+
+  // Drops one reference from the blob with this digest and publicId. Returns
+  // the updated blob, or null when no such blob is tracked.
+  BlobModel release(String sha256, String publicId);
+
+  // Removes the blob record if nothing references it any more
+  boolean deleteIfUnreferenced(String sha256);
+}
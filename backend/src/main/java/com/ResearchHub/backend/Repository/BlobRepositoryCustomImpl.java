@@ -0,0 +1,43 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.ResearchHub.backend.model.BlobModel;
+
+public class BlobRepositoryCustomImpl implements BlobRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  public BlobRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  // Only blobs with a live reference can be acquired, so a blob that is being
+  // released is never revived after its asset has been queued for deletion
+  @Override
+  public BlobModel acquire(String sha256) {
+    return mongoTemplate.findAndModify(liveBlob(sha256), new Update().inc("refCount", 1),
+        FindAndModifyOptions.options().returnNew(true), BlobModel.class);
+  }
+
+  @Override
+  public BlobModel release(String sha256, String publicId) {
+    return mongoTemplate.findAndModify(liveBlob(sha256).addCriteria(Criteria.where("publicId").is(publicId)),
+        new Update().inc("refCount", -1), FindAndModifyOptions.options().returnNew(true), BlobModel.class);
+  }
+
+  @Override
+  public boolean deleteIfUnreferenced(String sha256) {
+    Query query = Query.query(Criteria.where("id").is(sha256).and("refCount").lte(0));
+    return mongoTemplate.remove(query, BlobModel.class).getDeletedCount() > 0;
+  }
+
+  // Also used by the reactive upload path to take references
+  static Query liveBlob(String sha256) {
+    return Query.query(Criteria.where("id").is(sha256).and("refCount").gt(0));
+  }
+}
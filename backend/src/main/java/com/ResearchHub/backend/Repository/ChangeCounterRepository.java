@@ -0,0 +1,14 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.ResearchHub.backend.model.ChangeCounterModel;
+
+public interface ChangeCounterRepository extends MongoRepository<ChangeCounterModel, String>,
+    ChangeCounterRepositoryCustom {
+
+  // Counter for the scope, or its initial state if it was never bumped
+  default ChangeCounterModel current(String id) {
+    return findById(id).orElseGet(() -> new ChangeCounterModel(id));
+  }
+}
@@ -0,0 +1,6 @@
+package com.ResearchHub.backend.Repository;
+
+public interface ChangeCounterRepositoryCustom {
+  // Increments the given counters (creating missing ones) in one bulk write
+  void bump(String... ids);
+}
@@ -0,0 +1,35 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.ResearchHub.backend.model.ChangeCounterModel;
+
+public class ChangeCounterRepositoryCustomImpl implements ChangeCounterRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  public ChangeCounterRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public void bump(String... ids) {
+    BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChangeCounterModel.class);
+    for (String id : ids)
+      ops.upsert(byId(id), bumpUpdate());
+    ops.execute();
+  }
+
+  static Query byId(String id) {
+    return Query.query(Criteria.where("id").is(id));
+  }
+
+  // Server time, so instances with skewed clocks still move forward together
+  static Update bumpUpdate() {
+    return new Update().inc("version", 1).currentDate("modifiedAt");
+  }
+}
@@ -0,0 +1,12 @@
+package com.ResearchHub.backend.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.ResearchHub.backend.model.PaperDeletionModel;
+
+public interface PaperDeletionRepository extends MongoRepository<PaperDeletionModel, String> {
+  List<PaperDeletionModel> findTop50ByRetryAfterLessThanEqualOrderByRetryAfterAsc(Instant now);
+}
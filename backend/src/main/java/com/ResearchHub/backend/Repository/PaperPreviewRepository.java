@@ -0,0 +1,8 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.ResearchHub.backend.model.PaperPreviewModel;
+
+public interface PaperPreviewRepository extends MongoRepository<PaperPreviewModel, String> {
+}
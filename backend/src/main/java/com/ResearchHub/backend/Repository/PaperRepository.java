@@ -1,13 +1,96 @@
 package com.ResearchHub.backend.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import com.ResearchHub.backend.model.ActivityEvent;
 import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.PaperSummary;
+import com.ResearchHub.backend.model.RepoStats;
 
-public interface PaperRepository extends MongoRepository<PaperModel, String> {
-  List<PaperModel> findByOwnerEmail(String ownerEmail);
+public interface PaperRepository extends MongoRepository<PaperModel, String>, PaperRepositoryCustom {
+  // Keeps only the entry of "versions" matching currentVersion, then flattens it
+  // into the PaperSummary shape so full histories never leave the database
+  String LATEST_VERSION_STAGE = "{ $project: { _id: 0, paperId: { $toString: '$_id' }, title: 1, currentVersion: 1, ownerEmail: 1, "
+      + "latest: { $arrayElemAt: [ { $filter: { input: '$versions', as: 'v', "
+      + "cond: { $eq: ['$$v.versionNumber', '$currentVersion'] } } }, 0 ] } } }";
+  String SUMMARY_STAGE = "{ $project: { paperId: 1, title: 1, currentVersion: 1, ownerEmail: 1, "
+      + "uploadedAt: '$latest.uploadedAt', url: '$latest.url', fileName: '$latest.fileName', fileType: '$latest.fileType' } }";
+
+  // Shapes an unwound version into an ActivityEvent; version 1 is the initial upload
+  String ACTIVITY_STAGE = "{ $project: { _id: 0, paperId: { $toString: '$_id' }, paperTitle: '$title', ownerEmail: 1, "
+      + "versionNumber: '$versions.versionNumber', fileName: '$versions.fileName', fileType: '$versions.fileType', "
+      + "uploadedAt: '$versions.uploadedAt', url: '$versions.url', "
+      + "actionType: { $cond: [ { $eq: ['$versions.versionNumber', 1] }, 'uploaded', 'updated' ] } } }";
+
+  // One owner's papers with every version, read from an open cursor (the
+  // caller closes the stream)
+  Stream<PaperModel> streamByOwnerEmail(String ownerEmail);
+
+  // Latest-version summaries of one owner's papers, read from an open cursor
+  // (the caller closes the stream)
+  @Aggregation(pipeline = {
+      "{ $match: { ownerEmail: ?0 } }",
+      LATEST_VERSION_STAGE,
+      SUMMARY_STAGE })
+  Stream<PaperSummary> streamSummariesByOwnerEmail(String ownerEmail);
 
   List<PaperModel> findByRepoId(String repoId);
+
+  // Summaries in creation order
+  @Aggregation(pipeline = {
+      "{ $match: { repoId: ?0 } }",
+      "{ $sort: { _id: 1 } }",
+      "{ $skip: ?1 }",
+      "{ $limit: ?2 }",
+      LATEST_VERSION_STAGE,
+      SUMMARY_STAGE })
+  List<PaperSummary> findSummariesByRepoId(String repoId, long skip, int limit);
+
+  // Summaries with the most recently uploaded paper first
+  @Aggregation(pipeline = {
+      "{ $match: { repoId: ?0 } }",
+      "{ $sort: { lastUploadedAt: -1, _id: -1 } }",
+      "{ $skip: ?1 }",
+      "{ $limit: ?2 }",
+      LATEST_VERSION_STAGE,
+      SUMMARY_STAGE })
+  List<PaperSummary> findSummariesByRepoIdRecent(String repoId, long skip, int limit);
+
+  // Version events after the cursor (before, beforePaperId, beforeVersion) in
+  // newest-first order; events uploaded in the same millisecond are ordered by
+  // paper id and version number so none is skipped at a page boundary
+  String ACTIVITY_AFTER_CURSOR_STAGE = "{ $match: { $or: [ { 'versions.uploadedAt': { $lt: ?1 } }, "
+      + "{ 'versions.uploadedAt': ?1, _id: { $lt: ?2 } }, "
+      + "{ 'versions.uploadedAt': ?1, _id: ?2, 'versions.versionNumber': { $lt: ?3 } } ] } }";
+
+  // Version events after the cursor, newest first. The first $match narrows
+  // papers on the (repoId, versions.uploadedAt) index and $sort + $limit run as a
+  // bounded top-k sort, so the work follows the page size rather than the history.
+  @Aggregation(pipeline = {
+      "{ $match: { repoId: ?0, 'versions.uploadedAt': { $lte: ?1 } } }",
+      "{ $unwind: '$versions' }",
+      ACTIVITY_AFTER_CURSOR_STAGE,
+      "{ $sort: { 'versions.uploadedAt': -1, _id: -1, 'versions.versionNumber': -1 } }",
+      "{ $limit: ?4 }",
+      ACTIVITY_STAGE })
+  List<ActivityEvent> findActivityByRepoId(String repoId, Instant before, ObjectId beforePaperId,
+      int beforeVersion, int limit);
+
+  // Totals per repo for the given repos (repos without papers are absent), used
+  // to repair the counters kept on RepoModel
+  @Aggregation(pipeline = {
+      "{ $match: { repoId: { $in: ?0 } } }",
+      "{ $group: { _id: '$repoId', paperCount: { $sum: 1 }, "
+          + "versionCount: { $sum: { $size: { $ifNull: ['$versions', []] } } }, "
+          + "totalBytes: { $sum: { $sum: '$versions.size' } }, lastUploadedAt: { $max: '$lastUploadedAt' } } }",
+      "{ $project: { _id: 0, repoId: '$_id', paperCount: { $toLong: '$paperCount' }, "
+          + "versionCount: { $toLong: '$versionCount' }, totalBytes: { $toLong: '$totalBytes' }, lastUploadedAt: 1 } }" })
+  List<RepoStats> computeRepoStats(Collection<String> repoIds);
 }
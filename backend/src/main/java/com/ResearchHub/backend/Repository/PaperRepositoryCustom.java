@@ -0,0 +1,21 @@
+package com.ResearchHub.backend.Repository;
+
+import java.util.List;
+
+import com.ResearchHub.backend.model.PaperModel;
+
+public interface PaperRepositoryCustom {
+  // Atomically appends "version" as currentVersion + 1 to a paper owned by
+  // ownerEmail. The versionNumber on the argument is ignored. Returns the
+  // updated paper with only the appended entry in "versions", or null when no
+  // paper matches.
+  PaperModel appendVersion(String paperId, String ownerEmail, PaperModel.Version version);
+
+  // Removes the paper if ownerEmail still owns it. Returns false when no
+  // document was removed, e.g. because a concurrent delete got there first.
+  boolean deleteOwned(String paperId, String ownerEmail);
+
+  // Sets lastUploadedAt from the last version's upload time on papers written
+  // before the field existed. Returns the ids of the repos that had such papers.
+  List<String> backfillLastUploadedAt();
+}
@@ -0,0 +1,85 @@
+package com.ResearchHub.backend.Repository;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.ResearchHub.backend.model.PaperModel;
+
+public class PaperRepositoryCustomImpl implements PaperRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  public PaperRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  // A plain $push cannot number the new entry from the stored currentVersion, so
+  // this is a single pipeline update: the new number is computed server-side and
+  // used both for currentVersion and the appended entry. Concurrent appends are
+  // serialised by Mongo's document-level atomicity and get distinct numbers.
+  @Override
+  public PaperModel appendVersion(String paperId, String ownerEmail, PaperModel.Version version) {
+    return mongoTemplate.findAndModify(appendedVersionOnly(ownedPaper(paperId, ownerEmail)),
+        appendVersionUpdate(mongoTemplate.getConverter(), version),
+        FindAndModifyOptions.options().returnNew(true), PaperModel.class);
+  }
+
+  // Shared with the reactive repository so both stacks number versions identically
+  static AggregationUpdate appendVersionUpdate(MongoConverter converter, PaperModel.Version version) {
+    Document stored = new Document();
+    converter.write(version, stored);
+    stored.remove("_class");
+
+    // Values are wrapped in $literal so user-supplied strings such as file
+    // names are never read as field paths or operators
+    Document entry = new Document();
+    stored.forEach((key, value) -> entry.append(key, new Document("$literal", value)));
+    Document nextVersion = new Document("$add", List.of(new Document("$ifNull", List.of("$currentVersion", 0)), 1));
+    entry.put("versionNumber", nextVersion);
+
+    Document set = new Document("currentVersion", nextVersion)
+        .append("versions", new Document("$concatArrays",
+            List.of(new Document("$ifNull", List.of("$versions", List.of())), List.of(entry))))
+        .append("lastUploadedAt", new Document("$literal", stored.get("uploadedAt")));
+    return AggregationUpdate.from(List.of(context -> new Document("$set", set)));
+  }
+
+  @Override
+  public boolean deleteOwned(String paperId, String ownerEmail) {
+    return mongoTemplate.remove(ownedPaper(paperId, ownerEmail), PaperModel.class).getDeletedCount() == 1;
+  }
+
+  // Versions are appended in upload order, so the last entry is the latest
+  @Override
+  public List<String> backfillLastUploadedAt() {
+    Query missing = Query.query(Criteria.where("lastUploadedAt").exists(false).and("versions.0").exists(true));
+    List<String> repoIds = mongoTemplate.findDistinct(missing, "repoId", PaperModel.class, String.class);
+    if (repoIds.isEmpty())
+      return repoIds;
+    Document set = new Document("lastUploadedAt",
+        new Document("$arrayElemAt", List.of("$versions.uploadedAt", -1)));
+    mongoTemplate.updateMulti(missing, AggregationUpdate.from(List.of(context -> new Document("$set", set))),
+        PaperModel.class);
+    return repoIds;
+  }
+
+  // Projection for the document returned by an append: the fields callers
+  // read plus the new entry, so the rest of the history stays on the server
+  static Query appendedVersionOnly(Query query) {
+    query.fields()
+        .include("repoId", "title", "ownerEmail", "currentVersion", "lastUploadedAt")
+        .slice("versions", -1);
+    return query;
+  }
+
+  static Query ownedPaper(String paperId, String ownerEmail) {
+    return Query.query(Criteria.where("id").is(paperId).and("ownerEmail").is(ownerEmail));
+  }
+}
@@ -0,0 +1,17 @@
+package com.ResearchHub.backend.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import com.ResearchHub.backend.model.PaperTextModel;
+
+public interface PaperTextRepository extends MongoRepository<PaperTextModel, String> {
+  // Only the ids, to find which versions of a backlog batch still need extraction
+  @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ '_id': 1 }")
+  List<PaperTextModel> findIdsByIdIn(Collection<String> ids);
+
+  void deleteByPaperId(String paperId);
+}
@@ -0,0 +1,12 @@
+package com.ResearchHub.backend.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.ResearchHub.backend.model.PendingDeletionModel;
+
+public interface PendingDeletionRepository extends MongoRepository<PendingDeletionModel, String> {
+  List<PendingDeletionModel> findTop50ByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(Instant now);
+}
@@ -0,0 +1,11 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.ResearchHub.backend.model.BlobModel;
+
+// Non-blocking counterpart of BlobRepository, used by the "reactive" profile.
+// References are released through the blocking BlobStoreService.
+public interface ReactiveBlobRepository extends ReactiveMongoRepository<BlobModel, String>,
+    ReactiveBlobRepositoryCustom {
+}
@@ -0,0 +1,10 @@
+package com.ResearchHub.backend.Repository;
+
+import com.ResearchHub.backend.model.BlobModel;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBlobRepositoryCustom {
+  // Same as BlobRepositoryCustom.acquire; empty when there is no live blob
+  Mono<BlobModel> acquire(String sha256);
+}
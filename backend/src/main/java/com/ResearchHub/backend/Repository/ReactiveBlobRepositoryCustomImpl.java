@@ -0,0 +1,24 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.ResearchHub.backend.model.BlobModel;
+
+import reactor.core.publisher.Mono;
+
+public class ReactiveBlobRepositoryCustomImpl implements ReactiveBlobRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public ReactiveBlobRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Mono<BlobModel> acquire(String sha256) {
+    return mongoTemplate.findAndModify(BlobRepositoryCustomImpl.liveBlob(sha256), new Update().inc("refCount", 1),
+        FindAndModifyOptions.options().returnNew(true), BlobModel.class);
+  }
+}
@@ -0,0 +1,16 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.ResearchHub.backend.model.ChangeCounterModel;
+
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterpart of ChangeCounterRepository, used by the "reactive" profile
+public interface ReactiveChangeCounterRepository extends ReactiveMongoRepository<ChangeCounterModel, String>,
+    ReactiveChangeCounterRepositoryCustom {
+
+  default Mono<ChangeCounterModel> current(String id) {
+    return findById(id).defaultIfEmpty(new ChangeCounterModel(id));
+  }
+}
@@ -0,0 +1,8 @@
+package com.ResearchHub.backend.Repository;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveChangeCounterRepositoryCustom {
+  // Same bulk increment as ChangeCounterRepositoryCustom.bump
+  Mono<Void> bump(String... ids);
+}
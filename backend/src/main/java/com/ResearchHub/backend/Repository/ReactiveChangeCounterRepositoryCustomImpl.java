@@ -0,0 +1,26 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.ResearchHub.backend.model.ChangeCounterModel;
+
+import reactor.core.publisher.Mono;
+
+public class ReactiveChangeCounterRepositoryCustomImpl implements ReactiveChangeCounterRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public ReactiveChangeCounterRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Mono<Void> bump(String... ids) {
+    ReactiveBulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ChangeCounterModel.class);
+    for (String id : ids)
+      ops.upsert(ChangeCounterRepositoryCustomImpl.byId(id), ChangeCounterRepositoryCustomImpl.bumpUpdate());
+    return ops.execute().then();
+  }
+}
@@ -0,0 +1,54 @@
+package com.ResearchHub.backend.Repository;
+
+import java.time.Instant;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.ResearchHub.backend.model.ActivityEvent;
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.PaperSummary;
+
+import reactor.core.publisher.Flux;
+
+// Non-blocking counterpart of PaperRepository, used by the "reactive" profile.
+// The pipelines are the same as in PaperRepository.
+public interface ReactivePaperRepository extends ReactiveMongoRepository<PaperModel, String>,
+    ReactivePaperRepositoryCustom {
+  Flux<PaperModel> findByOwnerEmail(String ownerEmail);
+
+  @Aggregation(pipeline = {
+      "{ $match: { ownerEmail: ?0 } }",
+      PaperRepository.LATEST_VERSION_STAGE,
+      PaperRepository.SUMMARY_STAGE })
+  Flux<PaperSummary> findSummariesByOwnerEmail(String ownerEmail);
+
+  @Aggregation(pipeline = {
+      "{ $match: { repoId: ?0 } }",
+      "{ $sort: { _id: 1 } }",
+      "{ $skip: ?1 }",
+      "{ $limit: ?2 }",
+      PaperRepository.LATEST_VERSION_STAGE,
+      PaperRepository.SUMMARY_STAGE })
+  Flux<PaperSummary> findSummariesByRepoId(String repoId, long skip, int limit);
+
+  @Aggregation(pipeline = {
+      "{ $match: { repoId: ?0 } }",
+      "{ $sort: { lastUploadedAt: -1, _id: -1 } }",
+      "{ $skip: ?1 }",
+      "{ $limit: ?2 }",
+      PaperRepository.LATEST_VERSION_STAGE,
+      PaperRepository.SUMMARY_STAGE })
+  Flux<PaperSummary> findSummariesByRepoIdRecent(String repoId, long skip, int limit);
+
+  @Aggregation(pipeline = {
+      "{ $match: { repoId: ?0, 'versions.uploadedAt': { $lte: ?1 } } }",
+      "{ $unwind: '$versions' }",
+      PaperRepository.ACTIVITY_AFTER_CURSOR_STAGE,
+      "{ $sort: { 'versions.uploadedAt': -1, _id: -1, 'versions.versionNumber': -1 } }",
+      "{ $limit: ?4 }",
+      PaperRepository.ACTIVITY_STAGE })
+  Flux<ActivityEvent> findActivityByRepoId(String repoId, Instant before, ObjectId beforePaperId,
+      int beforeVersion, int limit);
+}
@@ -0,0 +1,14 @@
+package com.ResearchHub.backend.Repository;
+
+import com.ResearchHub.backend.model.PaperModel;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactivePaperRepositoryCustom {
+  // Same atomic append as PaperRepositoryCustom.appendVersion; empty when no
+  // paper matches
+  Mono<PaperModel> appendVersion(String paperId, String ownerEmail, PaperModel.Version version);
+
+  // Same as PaperRepositoryCustom.deleteOwned
+  Mono<Boolean> deleteOwned(String paperId, String ownerEmail);
+}
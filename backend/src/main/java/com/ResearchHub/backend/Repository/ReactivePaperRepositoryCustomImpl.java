@@ -0,0 +1,31 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.ResearchHub.backend.model.PaperModel;
+
+import reactor.core.publisher.Mono;
+
+public class ReactivePaperRepositoryCustomImpl implements ReactivePaperRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public ReactivePaperRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Mono<PaperModel> appendVersion(String paperId, String ownerEmail, PaperModel.Version version) {
+    return mongoTemplate.findAndModify(
+        PaperRepositoryCustomImpl.appendedVersionOnly(PaperRepositoryCustomImpl.ownedPaper(paperId, ownerEmail)),
+        PaperRepositoryCustomImpl.appendVersionUpdate(mongoTemplate.getConverter(), version),
+        FindAndModifyOptions.options().returnNew(true), PaperModel.class);
+  }
+
+  @Override
+  public Mono<Boolean> deleteOwned(String paperId, String ownerEmail) {
+    return mongoTemplate.remove(PaperRepositoryCustomImpl.ownedPaper(paperId, ownerEmail), PaperModel.class)
+        .map(result -> result.getDeletedCount() == 1);
+  }
+}
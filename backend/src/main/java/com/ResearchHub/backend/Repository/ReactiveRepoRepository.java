@@ -0,0 +1,13 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.ResearchHub.backend.model.RepoModel;
+
+import reactor.core.publisher.Flux;
+
+// Non-blocking counterpart of RepoRepository, used by the "reactive" profile
+public interface ReactiveRepoRepository extends ReactiveMongoRepository<RepoModel, String>,
+    ReactiveRepoRepositoryCustom {
+  Flux<RepoModel> findByOwnerEmail(String ownerEmail);
+}
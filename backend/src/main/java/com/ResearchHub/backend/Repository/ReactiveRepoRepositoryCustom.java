@@ -0,0 +1,26 @@
+package com.ResearchHub.backend.Repository;
+
+import java.time.Instant;
+
+import com.ResearchHub.backend.model.RepoModel;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRepoRepositoryCustom {
+  // Same keyset page as RepoRepositoryCustom.findGlobalPage
+  Flux<RepoModel> findGlobalPage(String ownerEmail, String namePrefix,
+      Instant afterCreatedAt, String afterId, int limit);
+
+  // Same keyset page as RepoRepositoryCustom.findGlobalPageByActivity
+  Flux<RepoModel> findGlobalPageByActivity(String ownerEmail, String namePrefix,
+      Instant afterUploadedAt, String afterId, int limit);
+
+  // Same counter updates as RepoRepositoryCustom.recordUpload / recordNewPapers
+  // / recordDeletion
+  Mono<Void> recordUpload(String repoId, boolean newPaper, long bytes, Instant uploadedAt);
+
+  Mono<Void> recordNewPapers(String repoId, long papers, long bytes, Instant lastUploadedAt);
+
+  Mono<Void> recordDeletion(String repoId, long versions, long bytes);
+}
@@ -0,0 +1,53 @@
+package com.ResearchHub.backend.Repository;
+
+import java.time.Instant;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.ResearchHub.backend.model.RepoModel;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveRepoRepositoryCustomImpl implements ReactiveRepoRepositoryCustom {
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public ReactiveRepoRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public Flux<RepoModel> findGlobalPage(String ownerEmail, String namePrefix,
+      Instant afterCreatedAt, String afterId, int limit) {
+    return mongoTemplate.find(
+        RepoRepositoryCustomImpl.globalPageQuery(ownerEmail, namePrefix, afterCreatedAt, afterId, limit),
+        RepoModel.class);
+  }
+
+  @Override
+  public Flux<RepoModel> findGlobalPageByActivity(String ownerEmail, String namePrefix,
+      Instant afterUploadedAt, String afterId, int limit) {
+    return mongoTemplate.find(
+        RepoRepositoryCustomImpl.activityPageQuery(ownerEmail, namePrefix, afterUploadedAt, afterId, limit),
+        RepoModel.class);
+  }
+
+  @Override
+  public Mono<Void> recordUpload(String repoId, boolean newPaper, long bytes, Instant uploadedAt) {
+    return mongoTemplate.updateFirst(RepoRepositoryCustomImpl.byId(repoId),
+        RepoRepositoryCustomImpl.uploadUpdate(newPaper ? 1 : 0, 1, bytes, uploadedAt), RepoModel.class).then();
+  }
+
+  @Override
+  public Mono<Void> recordNewPapers(String repoId, long papers, long bytes, Instant lastUploadedAt) {
+    return mongoTemplate.updateFirst(RepoRepositoryCustomImpl.byId(repoId),
+        RepoRepositoryCustomImpl.uploadUpdate(papers, papers, bytes, lastUploadedAt), RepoModel.class).then();
+  }
+
+  @Override
+  public Mono<Void> recordDeletion(String repoId, long versions, long bytes) {
+    return mongoTemplate.updateFirst(RepoRepositoryCustomImpl.byId(repoId),
+        RepoRepositoryCustomImpl.deletionUpdate(versions, bytes), RepoModel.class).then();
+  }
+}
@@ -0,0 +1,12 @@
+package com.ResearchHub.backend.Repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import com.ResearchHub.backend.model.UserModel;
+
+import reactor.core.publisher.Mono;
+
+// Non-blocking counterpart of UserRepository, used by the "reactive" profile
+public interface ReactiveUserRepository extends ReactiveMongoRepository<UserModel, String> {
+  Mono<UserModel> findByEmail(String email);
+}
@@ -1,11 +1,12 @@
 package com.ResearchHub.backend.Repository;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.ResearchHub.backend.model.RepoModel;
 
-public interface RepoRepository extends MongoRepository<RepoModel, String> {
-  List<RepoModel> findByOwnerEmail(String ownerEmail);
+public interface RepoRepository extends MongoRepository<RepoModel, String>, RepoRepositoryCustom {
+  // Read from an open cursor; the caller closes the stream
+  Stream<RepoModel> streamByOwnerEmail(String ownerEmail);
 }
@@ -0,0 +1,40 @@
+package com.ResearchHub.backend.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import com.ResearchHub.backend.model.RepoModel;
+import com.ResearchHub.backend.model.RepoStats;
+
+public interface RepoRepositoryCustom {
+  // Keyset page of repos ordered by createdAt/_id descending. afterCreatedAt and
+  // afterId identify the last row of the previous page (both null for the first).
+  List<RepoModel> findGlobalPage(String ownerEmail, String namePrefix,
+      Instant afterCreatedAt, String afterId, int limit);
+
+  // Keyset page of repos ordered by lastUploadedAt/_id descending, repos without
+  // uploads last. afterId is null for the first page; afterUploadedAt is null
+  // when the previous page ended among repos without uploads.
+  List<RepoModel> findGlobalPageByActivity(String ownerEmail, String namePrefix,
+      Instant afterUploadedAt, String afterId, int limit);
+
+  // Counts one stored version: $inc on the counters and $max on lastUploadedAt.
+  // newPaper also counts the paper itself.
+  void recordUpload(String repoId, boolean newPaper, long bytes, Instant uploadedAt);
+
+  // Counts several new single-version papers (a batch upload) in one update
+  void recordNewPapers(String repoId, long papers, long bytes, Instant lastUploadedAt);
+
+  // Removes a deleted paper and its versions from the counters
+  void recordDeletion(String repoId, long versions, long bytes);
+
+  // Stats versions of the repos after afterId (null for the first batch),
+  // keyed and ordered by ascending id
+  Map<String, Long> findStatsVersionsAfter(String afterId, int limit);
+
+  // Overwrites the counters of the given repos in one bulk write, skipping any
+  // whose stats version is no longer the one in statsVersions; repos without
+  // an entry in stats are reset to zero. Returns the number skipped.
+  int replaceStats(Map<String, Long> statsVersions, List<RepoStats> stats);
+}
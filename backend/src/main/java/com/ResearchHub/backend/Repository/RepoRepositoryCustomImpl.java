@@ -0,0 +1,173 @@
+package com.ResearchHub.backend.Repository;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.ResearchHub.backend.model.RepoModel;
+import com.ResearchHub.backend.model.RepoStats;
+
+public class RepoRepositoryCustomImpl implements RepoRepositoryCustom {
+
+  private final MongoTemplate mongoTemplate;
+
+  public RepoRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @Override
+  public List<RepoModel> findGlobalPage(String ownerEmail, String namePrefix,
+      Instant afterCreatedAt, String afterId, int limit) {
+    return mongoTemplate.find(globalPageQuery(ownerEmail, namePrefix, afterCreatedAt, afterId, limit),
+        RepoModel.class);
+  }
+
+  @Override
+  public List<RepoModel> findGlobalPageByActivity(String ownerEmail, String namePrefix,
+      Instant afterUploadedAt, String afterId, int limit) {
+    return mongoTemplate.find(activityPageQuery(ownerEmail, namePrefix, afterUploadedAt, afterId, limit),
+        RepoModel.class);
+  }
+
+  @Override
+  public void recordUpload(String repoId, boolean newPaper, long bytes, Instant uploadedAt) {
+    mongoTemplate.updateFirst(byId(repoId), uploadUpdate(newPaper ? 1 : 0, 1, bytes, uploadedAt), RepoModel.class);
+  }
+
+  @Override
+  public void recordNewPapers(String repoId, long papers, long bytes, Instant lastUploadedAt) {
+    mongoTemplate.updateFirst(byId(repoId), uploadUpdate(papers, papers, bytes, lastUploadedAt), RepoModel.class);
+  }
+
+  @Override
+  public void recordDeletion(String repoId, long versions, long bytes) {
+    mongoTemplate.updateFirst(byId(repoId), deletionUpdate(versions, bytes), RepoModel.class);
+  }
+
+  @Override
+  public Map<String, Long> findStatsVersionsAfter(String afterId, int limit) {
+    Query query = new Query();
+    if (afterId != null)
+      query.addCriteria(Criteria.where("id").gt(afterId));
+    query.with(Sort.by(Sort.Direction.ASC, "id"));
+    query.limit(limit);
+    query.fields().include("id", "statsVersion");
+    Map<String, Long> versions = new LinkedHashMap<>();
+    for (RepoModel repo : mongoTemplate.find(query, RepoModel.class))
+      versions.put(repo.getId(), repo.getStatsVersion());
+    return versions;
+  }
+
+  @Override
+  public int replaceStats(Map<String, Long> statsVersions, List<RepoStats> stats) {
+    Map<String, RepoStats> byRepo = new HashMap<>();
+    for (RepoStats entry : stats)
+      byRepo.put(entry.repoId(), entry);
+    BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RepoModel.class);
+    for (Map.Entry<String, Long> repo : statsVersions.entrySet()) {
+      RepoStats entry = byRepo.getOrDefault(repo.getKey(), new RepoStats(repo.getKey(), 0, 0, 0, null));
+      ops.updateOne(atStatsVersion(repo.getKey(), repo.getValue()), new Update()
+          .set("paperCount", entry.paperCount())
+          .set("versionCount", entry.versionCount())
+          .set("totalBytes", entry.totalBytes())
+          .set("lastUploadedAt", entry.lastUploadedAt()));
+    }
+    return statsVersions.size() - ops.execute().getMatchedCount();
+  }
+
+  // Repos created before the field existed have no statsVersion until their
+  // first counter update
+  private static Query atStatsVersion(String repoId, long statsVersion) {
+    Criteria version = statsVersion == 0
+        ? new Criteria().orOperator(Criteria.where("statsVersion").is(0L), Criteria.where("statsVersion").exists(false))
+        : Criteria.where("statsVersion").is(statsVersion);
+    return Query.query(Criteria.where("id").is(repoId).andOperator(version));
+  }
+
+  static Query byId(String repoId) {
+    return Query.query(Criteria.where("id").is(repoId));
+  }
+
+  // Shared with the reactive repository so both stacks count identically
+  static Update uploadUpdate(long papers, long versions, long bytes, Instant uploadedAt) {
+    return new Update()
+        .inc("paperCount", papers)
+        .inc("versionCount", versions)
+        .inc("totalBytes", bytes)
+        .max("lastUploadedAt", uploadedAt)
+        .inc("statsVersion", 1);
+  }
+
+  // lastUploadedAt is left as is; it may point at a deleted paper until the
+  // next repair
+  static Update deletionUpdate(long versions, long bytes) {
+    return new Update()
+        .inc("paperCount", -1)
+        .inc("versionCount", -versions)
+        .inc("totalBytes", -bytes)
+        .inc("statsVersion", 1);
+  }
+
+  // Shared with the reactive repository so both stacks page identically
+  static Query globalPageQuery(String ownerEmail, String namePrefix,
+      Instant afterCreatedAt, String afterId, int limit) {
+    Query query = filteredQuery(ownerEmail, namePrefix);
+    if (afterCreatedAt != null && afterId != null) {
+      query.addCriteria(new Criteria().orOperator(
+          Criteria.where("createdAt").lt(afterCreatedAt),
+          new Criteria().andOperator(
+              Criteria.where("createdAt").is(afterCreatedAt),
+              Criteria.where("id").lt(afterId))));
+    }
+    query.with(Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+    query.limit(limit);
+    return query;
+  }
+
+  // Descending sort puts repos without uploads (null) last, so once a page
+  // ends among them only they remain
+  static Query activityPageQuery(String ownerEmail, String namePrefix,
+      Instant afterUploadedAt, String afterId, int limit) {
+    Query query = filteredQuery(ownerEmail, namePrefix);
+    if (afterId != null && afterUploadedAt == null) {
+      query.addCriteria(new Criteria().andOperator(
+          Criteria.where("lastUploadedAt").is(null),
+          Criteria.where("id").lt(afterId)));
+    } else if (afterId != null) {
+      query.addCriteria(new Criteria().orOperator(
+          Criteria.where("lastUploadedAt").lt(afterUploadedAt),
+          new Criteria().andOperator(
+              Criteria.where("lastUploadedAt").is(afterUploadedAt),
+              Criteria.where("id").lt(afterId)),
+          Criteria.where("lastUploadedAt").is(null)));
+    }
+    query.with(Sort.by(Sort.Direction.DESC, "lastUploadedAt", "id"));
+    query.limit(limit);
+    return query;
+  }
+
+  private static Query filteredQuery(String ownerEmail, String namePrefix) {
+    Query query = new Query();
+    if (ownerEmail != null && !ownerEmail.isBlank())
+      query.addCriteria(Criteria.where("ownerEmail").is(ownerEmail));
+    if (namePrefix != null && !namePrefix.isBlank())
+      // Anchored, escaped prefix so Mongo can bound the scan on the name index
+      query.addCriteria(Criteria.where("name").regex("^" + escapeRegex(namePrefix)));
+    query.fields().include("id", "name", "description", "ownerEmail", "createdAt",
+        "paperCount", "versionCount", "totalBytes", "lastUploadedAt");
+    return query;
+  }
+
+  private static String escapeRegex(String literal) {
+    return literal.replaceAll("[^A-Za-z0-9 _-]", "\\\\$0");
+  }
+}
@@ -1,8 +1,17 @@
 package com.ResearchHub.backend.Repository;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+
 import com.ResearchHub.backend.model.UserModel;
 
 public interface UserRepository extends MongoRepository<UserModel, String> {
   UserModel findByEmail(String email);
-}
\ No newline at end of file
+
+  // Replaces the password hash only if it is still the one that was verified,
+  // so a rehash on login cannot overwrite a concurrent password change
+  @Query("{ '_id': ?0, 'password': ?1 }")
+  @Update("{ '$set': { 'password': ?2 } }")
+  long updatePasswordHash(String id, String currentHash, String newHash);
+}
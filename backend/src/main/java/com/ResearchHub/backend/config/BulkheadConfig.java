@@ -0,0 +1,30 @@
+package com.ResearchHub.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.ResearchHub.backend.util.Bulkhead;
+
+// One bulkhead per blocking downstream, so a slow storage provider cannot take
+// the capacity needed by Mongo-only endpoints such as /repos/global or /auth/me.
+// Mongo itself is limited by its connection pool (see MongoPoolConfig).
+@Configuration
+public class BulkheadConfig {
+
+  // Cloudinary upload and delete API calls
+  @Bean
+  public Bulkhead storageBulkhead(
+      @Value("${bulkheads.storage.max-concurrent:8}") int maxConcurrent,
+      @Value("${bulkheads.storage.max-wait-ms:5000}") long maxWaitMs) {
+    return new Bulkhead("storage", maxConcurrent, maxWaitMs);
+  }
+
+  // File fetches from the storage CDN for downloads, previews and text extraction
+  @Bean
+  public Bulkhead originBulkhead(
+      @Value("${bulkheads.origin.max-concurrent:32}") int maxConcurrent,
+      @Value("${bulkheads.origin.max-wait-ms:2000}") long maxWaitMs) {
+    return new Bulkhead("origin", maxConcurrent, maxWaitMs);
+  }
+}
@@ -0,0 +1,30 @@
+package com.ResearchHub.backend.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The driver's connection pool is Mongo's bulkhead: at most max-size
+// operations run at once and a checkout waits at most max-wait-ms
+@Configuration
+public class MongoPoolConfig {
+
+  @Bean
+  public MongoPoolStats mongoPoolStats(@Value("${bulkheads.mongo.max-concurrent:50}") int maxSize) {
+    return new MongoPoolStats(maxSize);
+  }
+
+  @Bean
+  public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
+      MongoPoolStats mongoPoolStats,
+      @Value("${bulkheads.mongo.max-concurrent:50}") int maxSize,
+      @Value("${bulkheads.mongo.max-wait-ms:2000}") long maxWaitMs) {
+    return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+        .maxSize(maxSize)
+        .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS)
+        .addConnectionPoolListener(mongoPoolStats));
+  }
+}
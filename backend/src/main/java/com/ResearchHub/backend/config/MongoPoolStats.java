@@ -0,0 +1,52 @@
+package com.ResearchHub.backend.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ResearchHub.backend.model.BulkheadStats;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+// Tracks the Mongo connection pool as a bulkhead: checkouts in progress are
+// the queue depth, and checkouts that time out are rejections
+public class MongoPoolStats implements ConnectionPoolListener {
+
+  private final int maxSize;
+  private final AtomicInteger inUse = new AtomicInteger();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+
+  public MongoPoolStats(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  @Override
+  public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+    waiting.incrementAndGet();
+  }
+
+  @Override
+  public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+    waiting.decrementAndGet();
+    inUse.incrementAndGet();
+  }
+
+  @Override
+  public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+    waiting.decrementAndGet();
+    if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT)
+      rejected.incrementAndGet();
+  }
+
+  @Override
+  public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+    inUse.decrementAndGet();
+  }
+
+  public BulkheadStats stats() {
+    return new BulkheadStats("mongo", maxSize, inUse.get(), waiting.get(), rejected.get());
+  }
+}
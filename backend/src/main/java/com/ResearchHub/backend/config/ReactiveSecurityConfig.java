@@ -0,0 +1,57 @@
+package com.ResearchHub.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import com.ResearchHub.backend.Repository.ReactiveUserRepository;
+import com.ResearchHub.backend.security.PrincipalCache;
+import com.ResearchHub.backend.security.RateLimits;
+import com.ResearchHub.backend.security.ReactiveJwtAuthenticationFilter;
+import com.ResearchHub.backend.security.ReactiveRateLimitFilter;
+
+// WebFlux security for the "reactive" profile, with the same public routes,
+// CORS rules and JWT cookie as SecurityConfig
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+  @Bean
+  public SecurityWebFilterChain reactiveFilterChain(ServerHttpSecurity http, ReactiveUserRepository userRepository,
+      PrincipalCache principalCache, RateLimits rateLimits) {
+    return http
+        .cors(cors -> cors.configurationSource(reactiveCorsConfigurationSource()))
+        .csrf(ServerHttpSecurity.CsrfSpec::disable)
+        .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+        .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+        // Anonymous calls to protected routes get 403, as on the servlet stack
+        .exceptionHandling(handling -> handling
+            .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+        .authorizeExchange(auth -> auth
+            .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+            .pathMatchers(SecurityConfig.PUBLIC_PATHS).permitAll()
+            .anyExchange().authenticated())
+        .addFilterAt(new ReactiveJwtAuthenticationFilter(userRepository, principalCache),
+            SecurityWebFiltersOrder.AUTHENTICATION)
+        .addFilterAfter(new ReactiveRateLimitFilter(rateLimits), SecurityWebFiltersOrder.AUTHENTICATION)
+        .build();
+  }
+
+  @Bean
+  public CorsConfigurationSource reactiveCorsConfigurationSource() {
+    UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+    source.registerCorsConfiguration("/**", SecurityConfig.corsConfiguration());
+    return source;
+  }
+}
@@ -0,0 +1,10 @@
+package com.ResearchHub.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs (e.g. retrying pending asset deletions)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
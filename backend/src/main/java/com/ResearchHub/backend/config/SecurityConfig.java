@@ -2,6 +2,7 @@ package com.ResearchHub.backend.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -13,36 +14,57 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.ResearchHub.backend.Repository.UserRepository;
 import com.ResearchHub.backend.security.JwtAuthenticationFilter;
+import com.ResearchHub.backend.security.PrincipalCache;
+import com.ResearchHub.backend.security.RateLimitFilter;
+import com.ResearchHub.backend.security.RateLimits;
 
+import jakarta.servlet.DispatcherType;
+
+// Servlet stack security; ReactiveSecurityConfig mirrors it for the "reactive" profile
 @Configuration
+@Profile("!reactive")
 public class SecurityConfig {
+  // Routes open to anonymous users, shared with ReactiveSecurityConfig
+  static final String[] PUBLIC_PATHS = {
+      "/auth/register", "/auth/login", "/auth/logout", "/repos/global",
+      "/papers/by-repo/**", "/papers/*/download", "/papers/*/download/*", "/papers/activity/**",
+      "/papers/*/snippet/*", "/papers/*/preview", "/papers/*/preview/*", "/search", "/search/**",
+      "/actuator/health" };
+
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http, UserRepository userRepository) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http, UserRepository userRepository,
+      PrincipalCache principalCache, RateLimits rateLimits) throws Exception {
     http
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .csrf(csrf -> csrf.disable())
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
             .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-            .requestMatchers("/auth/register", "/auth/login", "/auth/logout", "/repos/global",
-                "/papers/by-repo/**", "/papers/*/download", "/papers/*/download/*", "/papers/activity/**")
-            .permitAll()
+            // Streamed bodies finish in an async dispatch of a request that was
+            // already authorized; the JWT filter does not run again there
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+            .requestMatchers(PUBLIC_PATHS).permitAll()
             .anyRequest().authenticated())
-        .addFilterBefore(new JwtAuthenticationFilter(userRepository), UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(new JwtAuthenticationFilter(userRepository, principalCache), UsernamePasswordAuthenticationFilter.class)
+        .addFilterAfter(new RateLimitFilter(rateLimits), JwtAuthenticationFilter.class);
     return http.build();
   }
 
   // Allow common dev origins and credentials for cookie-based auth
   @Bean
   public CorsConfigurationSource corsConfigurationSource() {
+    UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+    source.registerCorsConfiguration("/**", corsConfiguration());
+    return source;
+  }
+
+  static CorsConfiguration corsConfiguration() {
     CorsConfiguration config = new CorsConfiguration();
     config.setAllowedOriginPatterns(java.util.List.of("http://localhost:*", "http://127.0.0.1:*"));
     config.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
     config.setAllowedHeaders(java.util.List.of("Content-Type", "Authorization", "X-Requested-With"));
     config.setAllowCredentials(true);
-    config.setExposedHeaders(java.util.List.of("Location", "Set-Cookie"));
-    UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-    source.registerCorsConfiguration("/**", config);
-    return source;
+    config.setExposedHeaders(java.util.List.of("Location", "Set-Cookie", "X-Next-Cursor", "X-Next-Page", "X-Next-Before", "Retry-After", "ETag", "Last-Modified"));
+    return config;
   }
 }
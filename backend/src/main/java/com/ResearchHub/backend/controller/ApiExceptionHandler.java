@@ -0,0 +1,31 @@
+package com.ResearchHub.backend.controller;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.ResearchHub.backend.util.BulkheadFullException;
+
+// Saturated downstreams are reported as 503 so clients back off and retry
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+  @ExceptionHandler(BulkheadFullException.class)
+  public ResponseEntity<?> bulkheadFull(BulkheadFullException e) {
+    return ResponseEntity.status(503)
+        .header("Retry-After", "1")
+        .cacheControl(CacheControl.noStore())
+        .body("Server busy: " + e.getMessage());
+  }
+
+  // Includes timeouts waiting for a connection from the Mongo pool
+  @ExceptionHandler(DataAccessResourceFailureException.class)
+  public ResponseEntity<?> databaseUnavailable(DataAccessResourceFailureException e) {
+    return ResponseEntity.status(503)
+        .header("Retry-After", "1")
+        .cacheControl(CacheControl.noStore())
+        .body("Database unavailable");
+  }
+}
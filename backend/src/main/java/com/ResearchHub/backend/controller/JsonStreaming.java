@@ -0,0 +1,43 @@
+package com.ResearchHub.backend.controller;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Writes unpaged listings as a JSON array while the Mongo cursor is read, so
+// memory stays at one batch of rows however long the list is. The cursor is
+// opened on the async thread that writes the body and closed when it ends.
+// The status is sent before the first row: a failure part way through cuts
+// the response short instead of turning it into an error. The reactive stack
+// gets the same from Jackson2JsonEncoder when a handler returns a Flux.
+final class JsonStreaming {
+
+  private JsonStreaming() {
+  }
+
+  static <T> ResponseEntity<StreamingResponseBody> jsonArray(ObjectMapper objectMapper, Supplier<Stream<T>> rows) {
+    // Rows collect in the generator's buffer and go out in chunks, not one
+    // flush per row
+    ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    StreamingResponseBody body = out -> {
+      try (Stream<T> stream = rows.get();
+          JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+              .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+        generator.writeStartArray();
+        for (Iterator<T> it = stream.iterator(); it.hasNext();)
+          writer.writeValue(generator, it.next());
+        generator.writeEndArray();
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+}
@@ -0,0 +1,60 @@
+package com.ResearchHub.backend.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ResearchHub.backend.model.ChangeCounterModel;
+
+// Conditional GET for polled listings. The validators come from the listing's
+// ChangeCounterModel, so If-None-Match / If-Modified-Since are checked before
+// the listing query runs; on a match the response is already a 304 and the
+// handler returns without a body. Both methods also set ETag and Last-Modified.
+// Paged listings pass their normalized query parameters, which are folded into
+// the ETag so pages, sort orders and cursors of one listing never share it.
+final class ListingCaching {
+
+  // Cached copies must be revalidated on every use
+  static final CacheControl REVALIDATE = CacheControl.noCache();
+
+  private ListingCaching() {
+  }
+
+  static boolean notModified(WebRequest request, ChangeCounterModel counter, Object... query) {
+    if (counter.getModifiedAt() == null)
+      return request.checkNotModified(etag(counter, query));
+    return request.checkNotModified(etag(counter, query), counter.getModifiedAt().toEpochMilli());
+  }
+
+  static boolean notModified(ServerWebExchange exchange, ChangeCounterModel counter, Object... query) {
+    if (counter.getModifiedAt() == null)
+      return exchange.checkNotModified(etag(counter, query));
+    return exchange.checkNotModified(etag(counter, query), counter.getModifiedAt());
+  }
+
+  // The counter's weak ETag with a digest of the query appended inside the quotes
+  static String etag(ChangeCounterModel counter, Object... query) {
+    String etag = counter.etag();
+    if (query.length == 0)
+      return etag;
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+    for (Object value : query) {
+      // Length-prefixed so ("ab", "c") and ("a", "bc") differ; null is not ""
+      String text = String.valueOf(value);
+      digest.update((value == null ? "-" : text.length() + ":").getBytes(StandardCharsets.UTF_8));
+      digest.update(text.getBytes(StandardCharsets.UTF_8));
+    }
+    String query8 = HexFormat.of().formatHex(digest.digest(), 0, 8);
+    return etag.substring(0, etag.length() - 1) + "-" + query8 + "\"";
+  }
+}
@@ -1,39 +1,140 @@
 package com.ResearchHub.backend.controller;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.ResearchHub.backend.Repository.ChangeCounterRepository;
 import com.ResearchHub.backend.Repository.PaperRepository;
 import com.ResearchHub.backend.Repository.RepoRepository;
+import com.ResearchHub.backend.event.PaperDeletedEvent;
+import com.ResearchHub.backend.event.PaperVersionUploadedEvent;
+import com.ResearchHub.backend.model.ActivityEvent;
+import com.ResearchHub.backend.model.BatchUploadResult;
+import com.ResearchHub.backend.model.ChangeCounterModel;
+import com.ResearchHub.backend.model.PaperDeletionModel;
 import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.PaperPreviewModel;
+import com.ResearchHub.backend.model.PaperSummary;
 import com.ResearchHub.backend.model.RepoModel;
+import com.ResearchHub.backend.model.UploadJob;
 import com.ResearchHub.backend.security.SecurityUtils;
-import com.ResearchHub.backend.service.CloudinaryService;
+import com.ResearchHub.backend.service.ActivitySseService;
+import com.ResearchHub.backend.service.BlobStoreService;
+import com.ResearchHub.backend.service.ContentSearchService;
+import com.ResearchHub.backend.service.PaperDeletionService;
+import com.ResearchHub.backend.service.PaperDownloadService;
+import com.ResearchHub.backend.service.PreviewService;
+import com.ResearchHub.backend.service.SearchService;
+import com.ResearchHub.backend.service.UploadJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/papers")
+@Profile("!reactive")
 public class PaperController {
 
+  private static final Logger log = LoggerFactory.getLogger(PaperController.class);
+
+  static final int DEFAULT_PAGE_SIZE = 100;
+  static final int MAX_PAGE_SIZE = 500;
+  static final int DEFAULT_ACTIVITY_LIMIT = 50;
+  static final int MAX_ACTIVITY_LIMIT = 200;
+  // Upper bound used when no "before" cursor is given
+  static final Instant ACTIVITY_FAR_FUTURE = Instant.ofEpochMilli(Long.MAX_VALUE);
+  // Lower than any real paper id, so a cursor holding it keeps no tied events
+  static final ObjectId NO_PAPER = new ObjectId("000000000000000000000000");
+  static final CacheControl PREVIEW_LATEST_CACHE = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+  static final CacheControl PREVIEW_VERSION_CACHE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+  // 20 MB limit on uploaded files
+  static final long MAX_FILE_BYTES = 20L * 1024 * 1024;
+
+  // Position after the last event of an activity page. Events are ordered by
+  // uploadedAt, then paper id and version number, so events uploaded in the
+  // same millisecond are split across pages without loss. Sent to clients as
+  // an opaque base64url "millis:paperId:versionNumber" string; a plain ISO-8601
+  // instant is accepted too and means every event strictly before it.
+  record ActivityCursor(Instant before, ObjectId paperId, int versionNumber) {
+    static final ActivityCursor FIRST = new ActivityCursor(ACTIVITY_FAR_FUTURE, NO_PAPER, 0);
+
+    static ActivityCursor decode(String cursor) {
+      if (cursor == null || cursor.isBlank())
+        return FIRST;
+      try {
+        return new ActivityCursor(Instant.parse(cursor), NO_PAPER, 0);
+      } catch (DateTimeParseException e) {
+        // not an instant, so an opaque cursor
+      }
+      String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+      if (parts.length != 3)
+        throw new IllegalArgumentException("Invalid cursor");
+      return new ActivityCursor(Instant.ofEpochMilli(Long.parseLong(parts[0])), new ObjectId(parts[1]),
+          Integer.parseInt(parts[2]));
+    }
+
+    static String encode(ActivityEvent last) {
+      String next = last.uploadedAt().toEpochMilli() + ":" + last.paperId() + ":" + last.versionNumber();
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(next.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
   @Autowired
   private PaperRepository paperRepository;
   @Autowired
   private RepoRepository repoRepository;
   @Autowired
-  private CloudinaryService cloudinaryService;
+  private ChangeCounterRepository changeCounters;
+  @Autowired
+  private ObjectMapper objectMapper;
+  @Autowired
+  private PaperDownloadService paperDownloadService;
+  @Autowired
+  private UploadJobService uploadJobService;
+  @Autowired
+  private PaperDeletionService paperDeletionService;
+  @Autowired
+  private PreviewService previewService;
+  @Autowired
+  private SearchService searchService;
+  @Autowired
+  private ContentSearchService contentSearchService;
+  @Autowired
+  private ActivitySseService activitySse;
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
 
-  // Upload a new paper to a repo (creates PaperModel with version 1)
+  // Upload a new paper to a repo (creates PaperModel with version 1 once the
+  // background upload finishes; responds 202 with the upload job)
   @PostMapping("/upload")
   public ResponseEntity<?> uploadPaper(
       @RequestParam("repoId") String repoId,
@@ -55,44 +156,239 @@ public class PaperController {
       return ResponseEntity.status(403).body("Forbidden: not your repo");
     }
 
-    Map<String, Object> upload = cloudinaryService.uploadFile(file, "repos/" + repoId);
-    String url = (String) upload.get("secure_url");
-    String publicId = (String) upload.get("public_id");
+    // Spool to disk and hand the storage upload to a worker; the client polls
+    // /papers/uploads/{jobId} until the paper is written
+    String fileName = file.getOriginalFilename();
+    String fileType = file.getContentType();
+    UploadJobService.SpooledFile spooled = uploadJobService.spool(file);
+    UploadJob job = new UploadJob(email, fileName, null);
+    try {
+      uploadJobService.submit(job, spooled, "repos/" + repoId,
+          stored -> createPaper(repoId, email, title, fileName, fileType, stored));
+    } catch (RejectedExecutionException e) {
+      return uploadQueueFull();
+    }
+    return ResponseEntity.accepted().body(job);
+  }
+
+  // Upload many papers to one repo in one multipart request: repeated "files"
+  // parts with one "titles" value each, in the same order. The repo is checked
+  // once; every file is validated on its own and gets either an upload job or
+  // an error, so a bad file does not fail the others. Once the batch is in
+  // storage its papers are inserted together. Responds 202 with one result per
+  // file (400 if no file was accepted).
+  @PostMapping("/upload-batch")
+  public ResponseEntity<?> uploadBatch(
+      @RequestParam("repoId") String repoId,
+      @RequestParam("files") List<MultipartFile> files,
+      HttpServletRequest request) throws IOException {
+    String email = SecurityUtils.getCurrentUserEmail();
+    if (email == null)
+      return ResponseEntity.status(401).body("Unauthorized");
+
+    // Read directly: a lone title containing commas would otherwise be split
+    String[] titles = request.getParameterValues("titles");
+    if (titles == null || titles.length != files.size())
+      return ResponseEntity.badRequest().body("Send one title per file");
+    if (files.size() > uploadJobService.maxBatchFiles())
+      return ResponseEntity.badRequest().body("Too many files (max " + uploadJobService.maxBatchFiles() + ")");
+
+    RepoModel repo = repoRepository.findById(repoId).orElse(null);
+    if (repo == null)
+      return ResponseEntity.status(404).body("Repo not found");
+    if (!repo.getOwnerEmail().equals(email))
+      return ResponseEntity.status(403).body("Forbidden: not your repo");
+
+    List<BatchUploadResult> results = new ArrayList<>();
+    List<BatchFile> accepted = new ArrayList<>();
+    List<UploadJob> jobs = new ArrayList<>();
+    List<UploadJobService.SpooledFile> spooled = new ArrayList<>();
+    try {
+      for (int i = 0; i < files.size(); i++) {
+        MultipartFile file = files.get(i);
+        String fileName = file.getOriginalFilename();
+        String error = batchFileError(fileName, file.getSize(), titles[i]);
+        if (error != null) {
+          results.add(BatchUploadResult.rejected(fileName, titles[i], error));
+          continue;
+        }
+        spooled.add(uploadJobService.spool(file));
+        UploadJob job = new UploadJob(email, fileName, null);
+        jobs.add(job);
+        accepted.add(new BatchFile(titles[i], fileName, file.getContentType()));
+        results.add(BatchUploadResult.accepted(fileName, titles[i], job));
+      }
+    } catch (IOException e) {
+      spooled.forEach(uploadJobService::discard);
+      throw e;
+    }
+    if (jobs.isEmpty())
+      return ResponseEntity.badRequest().body(results);
+
+    try {
+      uploadJobService.submitBatch(jobs, spooled, "repos/" + repoId,
+          stored -> createPapers(repoId, email, accepted, stored));
+    } catch (RejectedExecutionException e) {
+      return uploadQueueFull();
+    }
+    return ResponseEntity.accepted().body(results);
+  }
+
+  // Status of a background upload started by /upload, /upload-batch or /{paperId}/update
+  @GetMapping("/uploads/{jobId}")
+  public ResponseEntity<?> uploadStatus(@PathVariable String jobId) {
+    String email = SecurityUtils.getCurrentUserEmail();
+    if (email == null)
+      return ResponseEntity.status(401).body("Unauthorized");
+    UploadJob job = uploadJobService.get(jobId);
+    if (job == null || !email.equals(job.getOwnerEmail()))
+      return ResponseEntity.status(404).body("Upload job not found");
+    return ResponseEntity.ok(job);
+  }
 
+  // Runs on an upload worker once the file is stored: creates the paper with version 1
+  private PaperModel createPaper(String repoId, String email, String title, String fileName, String fileType,
+      BlobStoreService.StoredBlob stored) {
+    PaperModel paper = newPaper(repoId, email, title, newVersion(fileName, fileType, stored));
+    PaperModel saved = paperRepository.save(paper);
+    PaperModel.Version v1 = saved.getVersions().get(0);
+    afterWrite(saved.getId(), () -> repoRepository.recordUpload(repoId, true, v1.getSize(), v1.getUploadedAt()));
+    afterWrite(saved.getId(), () -> changeCounters.bump(ChangeCounterModel.REPOS, ChangeCounterModel.repo(repoId)));
+    afterWrite(saved.getId(), () -> searchService.indexPaper(saved));
+    afterWrite(saved.getId(), () -> eventPublisher.publishEvent(new PaperVersionUploadedEvent(saved.getId(), repoId,
+        v1, saved.getTitle(), saved.getOwnerEmail())));
+    return saved;
+  }
+
+  // Runs on a batch thread once the batch's files are stored: inserts their
+  // papers with one insertAll and counts them on the repo with one update
+  private List<PaperModel> createPapers(String repoId, String email, List<BatchFile> batch,
+      List<UploadJobService.StoredItem> stored) {
+    List<PaperModel> papers = new ArrayList<>();
+    for (UploadJobService.StoredItem item : stored) {
+      BatchFile file = batch.get(item.index());
+      papers.add(newPaper(repoId, email, file.title(),
+          newVersion(file.fileName(), file.fileType(), item.stored())));
+    }
+    List<PaperModel> saved = paperRepository.insert(papers);
+    afterWrite(repoId, () -> repoRepository.recordNewPapers(repoId, saved.size(), batchBytes(saved),
+        latestUpload(saved)));
+    afterWrite(repoId, () -> changeCounters.bump(ChangeCounterModel.REPOS, ChangeCounterModel.repo(repoId)));
+    for (PaperModel paper : saved) {
+      afterWrite(paper.getId(), () -> searchService.indexPaper(paper));
+      afterWrite(paper.getId(), () -> eventPublisher.publishEvent(new PaperVersionUploadedEvent(paper.getId(),
+          repoId, paper.getVersions().get(0), paper.getTitle(), paper.getOwnerEmail())));
+    }
+    return saved;
+  }
+
+  // Runs one step that follows a successful paper write. An upload completion
+  // that throws gives back the stored file, so once the paper exists these
+  // failures are only logged: repo stats drift is repaired by RepoStatsService
+  // and missed text extraction is picked up by its backlog scan.
+  static void afterWrite(String id, Runnable step) {
+    try {
+      step.run();
+    } catch (RuntimeException e) {
+      log.warn("Follow-up after writing {} failed: {}", id, e.getMessage());
+    }
+  }
+
+  // Title and file details of an accepted /upload-batch file
+  record BatchFile(String title, String fileName, String fileType) {
+  }
+
+  // Why a file of a batch cannot be uploaded, or null if it can
+  static String batchFileError(String fileName, long size, String title) {
+    if (!isAllowedFileName(fileName))
+      return "Only PDF/DOC/DOCX allowed";
+    if (size > MAX_FILE_BYTES)
+      return "File too large (max 20MB)";
+    if (title == null || title.isBlank())
+      return "Title is required";
+    return null;
+  }
+
+  static long batchBytes(List<PaperModel> papers) {
+    return papers.stream().mapToLong(PaperController::storedBytes).sum();
+  }
+
+  static Instant latestUpload(List<PaperModel> papers) {
+    return papers.stream().map(PaperModel::getLastUploadedAt).max(Instant::compareTo).orElse(null);
+  }
+
+  // Paper document with "v1" as its first version
+  static PaperModel newPaper(String repoId, String email, String title, PaperModel.Version v1) {
     PaperModel paper = new PaperModel();
     paper.setRepoId(repoId);
     paper.setOwnerEmail(email);
     paper.setTitle(title);
 
-    PaperModel.Version v1 = new PaperModel.Version();
     v1.setVersionNumber(1);
-    v1.setFileName(file.getOriginalFilename());
-    v1.setFileType(file.getContentType());
-    v1.setUrl(url);
-    v1.setPublicId(publicId);
-
     List<PaperModel.Version> versions = new ArrayList<>();
     versions.add(v1);
     paper.setVersions(versions);
     paper.setCurrentVersion(1);
+    paper.setLastUploadedAt(v1.getUploadedAt());
+    return paper;
+  }
 
-    PaperModel saved = paperRepository.save(paper);
-    return ResponseEntity.ok(saved);
+  // Version entry pointing at a stored file; the number is assigned on write
+  static PaperModel.Version newVersion(String fileName, String fileType, BlobStoreService.StoredBlob stored) {
+    PaperModel.Version v = new PaperModel.Version();
+    v.setFileName(fileName);
+    v.setFileType(fileType);
+    v.setUrl(stored.url());
+    v.setPublicId(stored.publicId());
+    v.setSha256(stored.sha256());
+    v.setSize(stored.size());
+    return v;
+  }
+
+  // Version and byte totals a paper contributes to its repo's statistics
+  static long versionCount(PaperModel paper) {
+    return paper.getVersions() == null ? 0 : paper.getVersions().size();
+  }
+
+  static long storedBytes(PaperModel paper) {
+    if (paper.getVersions() == null)
+      return 0;
+    return paper.getVersions().stream().mapToLong(PaperModel.Version::getSize).sum();
   }
 
-  // List current user's papers (latest version summary)
+  // The version that was just appended, for PaperVersionUploadedEvent
+  static PaperModel.Version currentVersionOf(PaperModel paper) {
+    return paper.getVersions().stream()
+        .filter(v -> v.getVersionNumber() == paper.getCurrentVersion())
+        .findFirst()
+        .orElse(null);
+  }
+
+  // List current user's papers with all their versions, streamed as read
   @GetMapping("/my")
   public ResponseEntity<?> myPapers() {
     String email = SecurityUtils.getCurrentUserEmail();
     if (email == null)
       return ResponseEntity.status(401).body("Unauthorized");
-    List<PaperModel> list = paperRepository.findByOwnerEmail(email);
-    return ResponseEntity.ok(list);
+    return JsonStreaming.jsonArray(objectMapper, () -> paperRepository.streamByOwnerEmail(email));
+  }
+
+  // Latest-version summaries of the current user's papers, streamed as read.
+  // Much smaller than /my for users with long version histories.
+  @GetMapping("/my/summaries")
+  public ResponseEntity<?> myPaperSummaries() {
+    String email = SecurityUtils.getCurrentUserEmail();
+    if (email == null)
+      return ResponseEntity.status(401).body("Unauthorized");
+    return JsonStreaming.jsonArray(objectMapper, () -> paperRepository.streamSummariesByOwnerEmail(email));
   }
 
   // --- helpers ---
   private boolean isAllowedFile(MultipartFile file) {
-    String name = file.getOriginalFilename();
+    return isAllowedFileName(file.getOriginalFilename());
+  }
+
+  static boolean isAllowedFileName(String name) {
     if (name == null)
       return false;
     String lower = name.toLowerCase();
@@ -100,43 +396,51 @@ public class PaperController {
   }
 
   private boolean isWithinSizeLimit(MultipartFile file) {
-    // 20 MB limit
-    long MAX = 20L * 1024 * 1024;
-    return file.getSize() <= MAX;
+    return file.getSize() <= MAX_FILE_BYTES;
   }
 
-  // List papers within a specific repo (public)
+  // List papers within a specific repo (public). Mongo projects each paper down
+  // to its latest version; pages are requested with page/size and sort=created
+  // (default) or sort=recent. X-Next-Page is set when another page exists.
+  // Polls with a current ETag get 304 without querying papers.
   @GetMapping("/by-repo/{repoId}")
-  public ResponseEntity<?> papersByRepo(@PathVariable String repoId) {
-    List<PaperModel> list = paperRepository.findByRepoId(repoId);
-    // Map to latest-version summaries for lighter payload
-    List<Map<String, Object>> summaries = new ArrayList<>();
-    for (PaperModel p : list) {
-      Map<String, Object> m = new java.util.HashMap<>();
-      m.put("paperId", p.getId());
-      m.put("title", p.getTitle());
-      m.put("currentVersion", p.getCurrentVersion());
-      m.put("ownerEmail", p.getOwnerEmail()); // Include owner email
-      // latest upload timestamp and url
-      PaperModel.Version latest = p.getVersions().stream()
-          .filter(v -> v.getVersionNumber() == p.getCurrentVersion())
-          .findFirst().orElse(null);
-      if (latest != null) {
-        m.put("uploadedAt", latest.getUploadedAt());
-        m.put("url", latest.getUrl());
-        m.put("fileName", latest.getFileName());
-        m.put("fileType", latest.getFileType());
-      }
-      summaries.add(m);
-    }
-    return ResponseEntity.ok(summaries);
+  public ResponseEntity<?> papersByRepo(
+      @PathVariable String repoId,
+      @RequestParam(value = "page", defaultValue = "0") int page,
+      @RequestParam(value = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+      @RequestParam(value = "sort", defaultValue = "created") String sort,
+      WebRequest request) {
+    int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    if (ListingCaching.notModified(request, changeCounters.current(ChangeCounterModel.repo(repoId)),
+        Math.max(page, 0), pageSize, sort))
+      return null;
+
+    long skip = (long) Math.max(page, 0) * pageSize;
+
+    // Fetch one extra row to learn whether another page exists
+    List<PaperSummary> summaries;
+    if ("recent".equals(sort))
+      summaries = paperRepository.findSummariesByRepoIdRecent(repoId, skip, pageSize + 1);
+    else if ("created".equals(sort))
+      summaries = paperRepository.findSummariesByRepoId(repoId, skip, pageSize + 1);
+    else
+      return ResponseEntity.badRequest().body("sort must be 'created' or 'recent'");
+
+    if (summaries.size() <= pageSize)
+      return ResponseEntity.ok().cacheControl(ListingCaching.REVALIDATE).body(summaries);
+    return ResponseEntity.ok()
+        .cacheControl(ListingCaching.REVALIDATE)
+        .header("X-Next-Page", String.valueOf(Math.max(page, 0) + 1))
+        .body(summaries.subList(0, pageSize));
   }
 
   // Get all versions for a paper
   @GetMapping("/{paperId}/versions")
-  public ResponseEntity<?> paperVersions(@PathVariable String paperId) {
+  public ResponseEntity<?> paperVersions(@PathVariable String paperId, WebRequest request) {
+    if (ListingCaching.notModified(request, changeCounters.current(ChangeCounterModel.paper(paperId))))
+      return null;
     return paperRepository.findById(paperId)
-        .<ResponseEntity<?>>map(ResponseEntity::ok)
+        .<ResponseEntity<?>>map(paper -> ResponseEntity.ok().cacheControl(ListingCaching.REVALIDATE).body(paper))
         .orElseGet(() -> ResponseEntity.status(404).body("Paper not found"));
   }
 
@@ -145,14 +449,16 @@ public class PaperController {
   @GetMapping("/{paperId}/download")
   public ResponseEntity<?> downloadLatest(
       @PathVariable String paperId,
-      @RequestParam(value = "inline", defaultValue = "false") boolean inline) throws IOException {
+      @RequestParam(value = "inline", defaultValue = "false") boolean inline,
+      HttpServletRequest request,
+      HttpServletResponse response) throws IOException {
     var opt = paperRepository.findById(paperId);
     if (opt.isEmpty()) {
       return ResponseEntity.status(404).body("Paper not found");
     }
     var paper = opt.get();
     int latest = paper.getCurrentVersion();
-    return downloadVersion(paper, latest, inline);
+    return downloadVersion(paper, latest, inline, false, request, response);
   }
 
   // Download specific version by streaming bytes from Cloudinary (attachment or
@@ -161,17 +467,53 @@ public class PaperController {
   public ResponseEntity<?> downloadSpecificVersion(
       @PathVariable String paperId,
       @PathVariable int versionNumber,
-      @RequestParam(value = "inline", defaultValue = "false") boolean inline) throws IOException {
+      @RequestParam(value = "inline", defaultValue = "false") boolean inline,
+      HttpServletRequest request,
+      HttpServletResponse response) throws IOException {
     var opt = paperRepository.findById(paperId);
     if (opt.isEmpty()) {
       return ResponseEntity.status(404).body("Paper not found");
     }
     var paper = opt.get();
-    return downloadVersion(paper, versionNumber, inline);
+    return downloadVersion(paper, versionNumber, inline, true, request, response);
+  }
+
+  // First-page image of the latest version. The URL moves to each new version,
+  // so clients revalidate it with the ETag after a short max-age.
+  @GetMapping("/{paperId}/preview")
+  public ResponseEntity<?> previewLatest(@PathVariable String paperId) {
+    PaperModel paper = paperRepository.findById(paperId).orElse(null);
+    if (paper == null)
+      return ResponseEntity.status(404).body("Paper not found");
+    return previewVersion(paper, paper.getCurrentVersion(), PREVIEW_LATEST_CACHE);
+  }
+
+  // First-page image of a specific version; it never changes, so it is cacheable for a year
+  @GetMapping("/{paperId}/preview/{versionNumber}")
+  public ResponseEntity<?> previewSpecificVersion(@PathVariable String paperId, @PathVariable int versionNumber) {
+    PaperModel paper = paperRepository.findById(paperId).orElse(null);
+    if (paper == null)
+      return ResponseEntity.status(404).body("Paper not found");
+    return previewVersion(paper, versionNumber, PREVIEW_VERSION_CACHE);
+  }
+
+  // Text around the first match of "q" in a version's extracted content
+  @GetMapping("/{paperId}/snippet/{versionNumber}")
+  public ResponseEntity<?> versionSnippet(
+      @PathVariable String paperId,
+      @PathVariable int versionNumber,
+      @RequestParam("q") String query) throws IOException {
+    String snippet = contentSearchService.snippet(paperId, versionNumber, query);
+    if (snippet == null)
+      return ResponseEntity.status(404).body("No matching text for this version");
+    return ResponseEntity.ok(Map.of("paperId", paperId, "versionNumber", versionNumber, "snippet", snippet));
   }
 
-  // Helper method to download a specific version
-  private ResponseEntity<?> downloadVersion(PaperModel paper, int versionNumber, boolean inline) throws IOException {
+  // Helper method to download a specific version. The file is copied straight
+  // into the response, so a null entity is returned once streaming is done.
+  // "immutable" is set when the URL names a fixed version number.
+  private ResponseEntity<?> downloadVersion(PaperModel paper, int versionNumber, boolean inline, boolean immutable,
+      HttpServletRequest request, HttpServletResponse response) throws IOException {
     var versionOpt = paper.getVersions().stream()
         .filter(v -> v.getVersionNumber() == versionNumber)
         .findFirst();
@@ -179,46 +521,12 @@ public class PaperController {
       return ResponseEntity.status(404).body("Version " + versionNumber + " not found");
     }
 
-    String fileUrl = versionOpt.get().getUrl();
-    String fileName = versionOpt.get().getFileName();
-    String fileType = versionOpt.get().getFileType();
-
-    java.net.URI uri = java.net.URI.create(fileUrl);
-    java.net.URL url = uri.toURL();
-    java.net.HttpURLConnection connection = (java.net.HttpURLConnection) url.openConnection();
-    connection.setRequestMethod("GET");
-    connection.setConnectTimeout(10000);
-    connection.setReadTimeout(30000);
-
-    try (java.io.InputStream in = connection.getInputStream()) {
-      byte[] bytes = in.readAllBytes();
-      long length = bytes.length;
-      if (fileType == null || fileType.isBlank()) {
-        fileType = connection.getContentType();
-        if (fileType == null || fileType.isBlank())
-          fileType = "application/octet-stream";
-      }
-      if (fileName == null || fileName.isBlank()) {
-        String path = url.getPath();
-        fileName = path.substring(path.lastIndexOf('/') + 1);
-      }
-
-      // Use "inline" for preview, "attachment" for download
-      String contentDisposition = inline
-          ? "inline; filename=\"" + fileName + "\""
-          : "attachment; filename=\"" + fileName + "\"";
-
-      return ResponseEntity.ok()
-          .header("Content-Disposition", contentDisposition)
-          .header("Content-Type", fileType)
-          .header("Content-Length", String.valueOf(length))
-          .body(bytes);
-    } finally {
-      connection.disconnect();
-    }
+    paperDownloadService.stream(versionOpt.get(), inline, immutable, request, response);
+    return null;
   }
 
-  // Upload a new version to an existing paper (owner only)
+  // Upload a new version to an existing paper (owner only); responds 202 with
+  // the upload job
   @PostMapping("/{paperId}/update")
   public ResponseEntity<?> updatePaper(
       @PathVariable String paperId,
@@ -238,69 +546,112 @@ public class PaperController {
     if (!email.equals(paper.getOwnerEmail()))
       return ResponseEntity.status(403).body("Forbidden");
 
-    Map<String, Object> upload = cloudinaryService.uploadFile(file, "repos/" + paper.getRepoId());
-    String url = (String) upload.get("secure_url");
-    String publicId = (String) upload.get("public_id");
+    String fileName = file.getOriginalFilename();
+    String fileType = file.getContentType();
+    UploadJobService.SpooledFile spooled = uploadJobService.spool(file);
+    UploadJob job = new UploadJob(email, fileName, paperId);
+    try {
+      uploadJobService.submit(job, spooled, "repos/" + paper.getRepoId(),
+          stored -> appendVersion(paperId, email, fileName, fileType, stored));
+    } catch (RejectedExecutionException e) {
+      return uploadQueueFull();
+    }
+    return ResponseEntity.accepted().body(job);
+  }
 
-    int nextVersion = paper.getCurrentVersion() + 1;
-    PaperModel.Version v = new PaperModel.Version();
-    v.setVersionNumber(nextVersion);
-    v.setFileName(file.getOriginalFilename());
-    v.setFileType(file.getContentType());
-    v.setUrl(url);
-    v.setPublicId(publicId);
-
-    List<PaperModel.Version> versions = paper.getVersions();
-    if (versions == null)
-      versions = new ArrayList<>();
-    versions.add(v);
-    paper.setVersions(versions);
-    paper.setCurrentVersion(nextVersion);
+  // Runs on an upload worker once the file is stored: adds the next version
+  // with one atomic update, so concurrent updates never share a number
+  private PaperModel appendVersion(String paperId, String email, String fileName, String fileType,
+      BlobStoreService.StoredBlob stored) {
+    PaperModel updated = paperRepository.appendVersion(paperId, email, newVersion(fileName, fileType, stored));
+    if (updated == null)
+      throw new IllegalStateException("Paper no longer exists");
+    PaperModel.Version appended = currentVersionOf(updated);
+    if (appended != null)
+      afterWrite(paperId, () -> repoRepository.recordUpload(updated.getRepoId(), false, appended.getSize(),
+          appended.getUploadedAt()));
+    afterWrite(paperId, () -> changeCounters.bump(ChangeCounterModel.REPOS,
+        ChangeCounterModel.repo(updated.getRepoId()), ChangeCounterModel.paper(paperId)));
+    afterWrite(paperId, () -> searchService.indexPaper(updated));
+    if (appended != null)
+      afterWrite(paperId, () -> eventPublisher.publishEvent(new PaperVersionUploadedEvent(updated.getId(),
+          updated.getRepoId(), appended, updated.getTitle(), updated.getOwnerEmail())));
+    return updated;
+  }
 
-    PaperModel saved = paperRepository.save(paper);
-    return ResponseEntity.ok(saved);
+  // Serves a pre-rendered preview; Spring answers If-None-Match with 304 from the ETag
+  private ResponseEntity<?> previewVersion(PaperModel paper, int versionNumber, CacheControl cacheControl) {
+    var versionOpt = paper.getVersions().stream()
+        .filter(v -> v.getVersionNumber() == versionNumber)
+        .findFirst();
+    if (versionOpt.isEmpty())
+      return ResponseEntity.status(404).body("Version " + versionNumber + " not found");
+
+    return previewResponse(previewService.find(versionOpt.get()), cacheControl);
+  }
+
+  static ResponseEntity<?> previewResponse(PaperPreviewModel preview, CacheControl cacheControl) {
+    if (preview == null || preview.getImage() == null) {
+      String message = preview == null ? "Preview not ready" : "No preview available";
+      return ResponseEntity.status(404).cacheControl(CacheControl.noStore()).body(message);
+    }
+    return ResponseEntity.ok()
+        .eTag(preview.getId())
+        .cacheControl(cacheControl)
+        .contentType(MediaType.parseMediaType(preview.getContentType()))
+        .body(preview.getImage());
+  }
+
+  static ResponseEntity<?> uploadQueueFull() {
+    return ResponseEntity.status(503)
+        .header("Retry-After", "5")
+        .body("Upload queue is full, please retry shortly");
   }
 
-  // Get recent activity for a repo (all version events chronologically)
+  // Get recent activity for a repo (version events, most recent first). Pages
+  // are bounded by "limit"; pass X-Next-Before back as "before" for older events.
+  // Polls with a current ETag get 304 without querying papers.
   @GetMapping("/activity/{repoId}")
-  public ResponseEntity<?> getRepoActivity(@PathVariable String repoId) {
-    List<PaperModel> papers = paperRepository.findByRepoId(repoId);
-    List<Map<String, Object>> activities = new ArrayList<>();
-
-    // Extract all versions from all papers
-    for (PaperModel paper : papers) {
-      List<PaperModel.Version> versions = paper.getVersions();
-      if (versions == null || versions.isEmpty())
-        continue;
-
-      for (PaperModel.Version version : versions) {
-        Map<String, Object> activity = new java.util.HashMap<>();
-        activity.put("paperId", paper.getId());
-        activity.put("paperTitle", paper.getTitle());
-        activity.put("ownerEmail", paper.getOwnerEmail());
-        activity.put("versionNumber", version.getVersionNumber());
-        activity.put("fileName", version.getFileName());
-        activity.put("fileType", version.getFileType());
-        activity.put("uploadedAt", version.getUploadedAt());
-        activity.put("url", version.getUrl());
-        // Determine if this is initial upload or an update
-        activity.put("actionType", version.getVersionNumber() == 1 ? "uploaded" : "updated");
-        activities.add(activity);
-      }
+  public ResponseEntity<?> getRepoActivity(
+      @PathVariable String repoId,
+      @RequestParam(value = "limit", defaultValue = "" + DEFAULT_ACTIVITY_LIMIT) int limit,
+      @RequestParam(value = "before", required = false) String before,
+      WebRequest request) {
+    int pageSize = Math.max(1, Math.min(limit, MAX_ACTIVITY_LIMIT));
+    if (ListingCaching.notModified(request, changeCounters.current(ChangeCounterModel.repo(repoId)),
+        pageSize, before == null || before.isBlank() ? null : before))
+      return null;
+
+    ActivityCursor after;
+    try {
+      after = ActivityCursor.decode(before);
+    } catch (RuntimeException e) {
+      return ResponseEntity.badRequest().body("Invalid before cursor");
     }
 
-    // Sort by uploadedAt descending (most recent first)
-    activities.sort((a, b) -> {
-      var timeA = (java.time.Instant) a.get("uploadedAt");
-      var timeB = (java.time.Instant) b.get("uploadedAt");
-      return timeB.compareTo(timeA);
-    });
+    List<ActivityEvent> activities = paperRepository.findActivityByRepoId(repoId, after.before(), after.paperId(),
+        after.versionNumber(), pageSize);
+    if (activities.size() < pageSize)
+      return ResponseEntity.ok().cacheControl(ListingCaching.REVALIDATE).body(activities);
+    return ResponseEntity.ok()
+        .cacheControl(ListingCaching.REVALIDATE)
+        .header("X-Next-Before", ActivityCursor.encode(activities.get(activities.size() - 1)))
+        .body(activities);
+  }
 
-    return ResponseEntity.ok(activities);
+  // Live activity for a repo as Server-Sent Events: "activity" events carry the
+  // same fields as /activity/{repoId} (plus actionType "deleted"). Browsers
+  // reconnect with Last-Event-ID and receive what they missed; a "reset" event
+  // means that history is gone and the list should be reloaded.
+  @GetMapping(path = "/activity/{repoId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamRepoActivity(
+      @PathVariable String repoId,
+      @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    return activitySse.open(repoId, lastEventId);
   }
 
-  // Delete a paper (owner only) - deletes all versions from Cloudinary and
-  // MongoDB
+  // Delete a paper (owner only) - deletes the MongoDB document, then queues
+  // all versions for removal from Cloudinary
   @org.springframework.web.bind.annotation.DeleteMapping("/{paperId}")
   public ResponseEntity<?> deletePaper(@PathVariable String paperId) throws IOException {
     String email = SecurityUtils.getCurrentUserEmail();
@@ -315,24 +666,26 @@ public class PaperController {
     if (!email.equals(paper.getOwnerEmail()))
       return ResponseEntity.status(403).body("Forbidden: not your paper");
 
-    // Delete all file versions from Cloudinary
-    List<PaperModel.Version> versions = paper.getVersions();
-    if (versions != null && !versions.isEmpty()) {
-      for (PaperModel.Version version : versions) {
-        String publicId = version.getPublicId();
-        if (publicId != null && !publicId.isBlank()) {
-          try {
-            cloudinaryService.deleteFile(publicId);
-          } catch (Exception e) {
-            // Log but continue if Cloudinary deletion fails
-            System.err.println("Failed to delete file from Cloudinary: " + publicId + " - " + e.getMessage());
-          }
-        }
-      }
+    // The deletion is recorded first so a crash after the document is gone
+    // still leaves the stored files and extracted text to be released
+    PaperDeletionModel deletion = paperDeletionService.begin(paper);
+    if (deletion == null)
+      return ResponseEntity.status(409).body("Paper is already being deleted");
+    // Only the request that actually removed the document releases what it held
+    if (!paperRepository.deleteOwned(paperId, email)) {
+      paperDeletionService.abandon(deletion);
+      return ResponseEntity.status(404).body("Paper not found");
     }
-
-    // Delete paper document from MongoDB
-    paperRepository.deleteById(paperId);
+    repoRepository.recordDeletion(paper.getRepoId(), versionCount(paper), storedBytes(paper));
+    changeCounters.bump(ChangeCounterModel.REPOS, ChangeCounterModel.repo(paper.getRepoId()),
+        ChangeCounterModel.paper(paperId));
+    eventPublisher.publishEvent(new PaperDeletedEvent(paperId, paper.getRepoId(), paper.getTitle(),
+        paper.getOwnerEmail(), paper.getCurrentVersion()));
+    searchService.removePaper(paperId);
+
+    // Stored files may be shared with other versions; only those whose last
+    // reference is gone are removed (in the background, with durable retry)
+    paperDeletionService.finish(deletion);
 
     return ResponseEntity.ok(Map.of("message", "Paper deleted successfully", "paperId", paperId));
   }
@@ -0,0 +1,542 @@
+package com.ResearchHub.backend.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.FormFieldPart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ResearchHub.backend.Repository.ReactiveChangeCounterRepository;
+import com.ResearchHub.backend.Repository.ReactivePaperRepository;
+import com.ResearchHub.backend.Repository.ReactiveRepoRepository;
+import com.ResearchHub.backend.event.PaperDeletedEvent;
+import com.ResearchHub.backend.event.PaperVersionUploadedEvent;
+import com.ResearchHub.backend.model.BatchUploadResult;
+import com.ResearchHub.backend.model.ChangeCounterModel;
+import com.ResearchHub.backend.model.PaperDeletionModel;
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.PaperSummary;
+import com.ResearchHub.backend.model.UploadJob;
+import com.ResearchHub.backend.model.UserModel;
+import com.ResearchHub.backend.service.BlobStoreService;
+import com.ResearchHub.backend.service.ContentSearchService;
+import com.ResearchHub.backend.service.PaperDeletionService;
+import com.ResearchHub.backend.service.PreviewService;
+import com.ResearchHub.backend.service.ReactiveActivitySseService;
+import com.ResearchHub.backend.service.ReactivePaperDownloadService;
+import com.ResearchHub.backend.service.ReactiveUploadService;
+import com.ResearchHub.backend.service.SearchService;
+import com.ResearchHub.backend.service.UploadJobService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// PaperController for the "reactive" profile: same routes, parameters and
+// responses. Mongo access goes through the reactive repositories, downloads
+// are streamed as Flux<DataBuffer> and uploads are sent to storage without
+// blocking. Calls into shared blocking services run on boundedElastic.
+@RestController
+@RequestMapping("/papers")
+@Profile("reactive")
+public class ReactivePaperController {
+
+  private static final Logger log = LoggerFactory.getLogger(ReactivePaperController.class);
+
+  @Autowired
+  private ReactivePaperRepository paperRepository;
+  @Autowired
+  private ReactiveRepoRepository repoRepository;
+  @Autowired
+  private ReactiveChangeCounterRepository changeCounters;
+  @Autowired
+  private ReactivePaperDownloadService downloadService;
+  @Autowired
+  private ReactiveUploadService uploadService;
+  @Autowired
+  private UploadJobService uploadJobService;
+  @Autowired
+  private PaperDeletionService paperDeletionService;
+  @Autowired
+  private PreviewService previewService;
+  @Autowired
+  private SearchService searchService;
+  @Autowired
+  private ContentSearchService contentSearchService;
+  @Autowired
+  private ReactiveActivitySseService activitySse;
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  // Upload a new paper to a repo; responds 202 with the upload job
+  @PostMapping("/upload")
+  public Mono<ResponseEntity<?>> uploadPaper(
+      @RequestPart("repoId") String repoId,
+      @RequestPart("title") String title,
+      @RequestPart("file") FilePart file,
+      @AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    String email = user.getEmail();
+    if (!PaperController.isAllowedFileName(file.filename()))
+      return Mono.just(ResponseEntity.badRequest().body("Only PDF/DOC/DOCX allowed"));
+
+    return repoRepository.findById(repoId)
+        .<ResponseEntity<?>>flatMap(repo -> {
+          if (!repo.getOwnerEmail().equals(email))
+            return Mono.just(ResponseEntity.status(403).body("Forbidden: not your repo"));
+          String fileName = file.filename();
+          String fileType = contentTypeOf(file);
+          return spoolAndSubmit(file, new UploadJob(email, fileName, null), "repos/" + repoId,
+              stored -> createPaper(repoId, email, title, fileName, fileType, stored));
+        })
+        .defaultIfEmpty(ResponseEntity.status(404).body("Repo not found"));
+  }
+
+  // Batch upload with the same parts, checks and per-file results as
+  // PaperController.uploadBatch
+  @PostMapping("/upload-batch")
+  public Mono<ResponseEntity<?>> uploadBatch(ServerWebExchange exchange, @AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    String email = user.getEmail();
+    return exchange.getMultipartData().<ResponseEntity<?>>flatMap(parts -> {
+      String repoId = fieldValue(parts.getFirst("repoId"));
+      List<String> titles = parts.getOrDefault("titles", List.of()).stream().map(ReactivePaperController::fieldValue)
+          .toList();
+      List<FilePart> files = parts.getOrDefault("files", List.of()).stream()
+          .filter(FilePart.class::isInstance).map(FilePart.class::cast).toList();
+      if (repoId == null)
+        return Mono.just(ResponseEntity.badRequest().body("repoId is required"));
+      if (files.isEmpty() || titles.size() != files.size())
+        return Mono.just(ResponseEntity.badRequest().body("Send one title per file"));
+      if (files.size() > uploadJobService.maxBatchFiles())
+        return Mono.just(ResponseEntity.badRequest()
+            .body("Too many files (max " + uploadJobService.maxBatchFiles() + ")"));
+
+      return repoRepository.findById(repoId)
+          .<ResponseEntity<?>>flatMap(repo -> {
+            if (!repo.getOwnerEmail().equals(email))
+              return Mono.just(ResponseEntity.status(403).body("Forbidden: not your repo"));
+            return spoolBatch(repoId, email, files, titles);
+          })
+          .defaultIfEmpty(ResponseEntity.status(404).body("Repo not found"));
+    });
+  }
+
+  // Status of a background upload started by /upload, /upload-batch or /{paperId}/update
+  @GetMapping("/uploads/{jobId}")
+  public ResponseEntity<?> uploadStatus(@PathVariable String jobId, @AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return ResponseEntity.status(401).body("Unauthorized");
+    UploadJob job = uploadJobService.get(jobId);
+    if (job == null || !user.getEmail().equals(job.getOwnerEmail()))
+      return ResponseEntity.status(404).body("Upload job not found");
+    return ResponseEntity.ok(job);
+  }
+
+  // List current user's papers with all their versions; the encoder writes
+  // the array as rows arrive
+  @GetMapping("/my")
+  public Mono<ResponseEntity<?>> myPapers(@AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    return Mono.just(ResponseEntity.ok(paperRepository.findByOwnerEmail(user.getEmail())));
+  }
+
+  // Latest-version summaries of the current user's papers, as PaperController.myPaperSummaries
+  @GetMapping("/my/summaries")
+  public Mono<ResponseEntity<?>> myPaperSummaries(@AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    return Mono.just(ResponseEntity.ok(paperRepository.findSummariesByOwnerEmail(user.getEmail())));
+  }
+
+  // List papers within a specific repo (public), paged and validated like
+  // PaperController.papersByRepo
+  @GetMapping("/by-repo/{repoId}")
+  public Mono<ResponseEntity<?>> papersByRepo(
+      @PathVariable String repoId,
+      @RequestParam(value = "page", defaultValue = "0") int page,
+      @RequestParam(value = "size", defaultValue = "" + PaperController.DEFAULT_PAGE_SIZE) int size,
+      @RequestParam(value = "sort", defaultValue = "created") String sort,
+      ServerWebExchange exchange) {
+    int pageSize = Math.max(1, Math.min(size, PaperController.MAX_PAGE_SIZE));
+    long skip = (long) Math.max(page, 0) * pageSize;
+
+    // Fetch one extra row to learn whether another page exists
+    Flux<PaperSummary> summaries;
+    if ("recent".equals(sort))
+      summaries = paperRepository.findSummariesByRepoIdRecent(repoId, skip, pageSize + 1);
+    else if ("created".equals(sort))
+      summaries = paperRepository.findSummariesByRepoId(repoId, skip, pageSize + 1);
+    else
+      return Mono.just(ResponseEntity.badRequest().body("sort must be 'created' or 'recent'"));
+
+    return changeCounters.current(ChangeCounterModel.repo(repoId)).<ResponseEntity<?>>flatMap(counter -> {
+      if (ListingCaching.notModified(exchange, counter, Math.max(page, 0), pageSize, sort))
+        return Mono.empty();
+      return summaries.collectList().<ResponseEntity<?>>map(list -> {
+        if (list.size() <= pageSize)
+          return ResponseEntity.ok().cacheControl(ListingCaching.REVALIDATE).body(list);
+        return ResponseEntity.ok()
+            .cacheControl(ListingCaching.REVALIDATE)
+            .header("X-Next-Page", String.valueOf(Math.max(page, 0) + 1))
+            .body(list.subList(0, pageSize));
+      });
+    });
+  }
+
+  // Get all versions for a paper
+  @GetMapping("/{paperId}/versions")
+  public Mono<ResponseEntity<?>> paperVersions(@PathVariable String paperId, ServerWebExchange exchange) {
+    return changeCounters.current(ChangeCounterModel.paper(paperId)).<ResponseEntity<?>>flatMap(counter -> {
+      if (ListingCaching.notModified(exchange, counter))
+        return Mono.empty();
+      return paperRepository.findById(paperId)
+          .<ResponseEntity<?>>map(paper -> ResponseEntity.ok().cacheControl(ListingCaching.REVALIDATE).body(paper))
+          .defaultIfEmpty(ResponseEntity.status(404).body("Paper not found"));
+    });
+  }
+
+  @GetMapping("/{paperId}/download")
+  public Mono<ResponseEntity<?>> downloadLatest(
+      @PathVariable String paperId,
+      @RequestParam(value = "inline", defaultValue = "false") boolean inline,
+      ServerHttpRequest request) {
+    return paperRepository.findById(paperId)
+        .flatMap(paper -> downloadVersion(paper, paper.getCurrentVersion(), inline, false, request))
+        .defaultIfEmpty(ResponseEntity.status(404).body("Paper not found"));
+  }
+
+  @GetMapping("/{paperId}/download/{versionNumber}")
+  public Mono<ResponseEntity<?>> downloadSpecificVersion(
+      @PathVariable String paperId,
+      @PathVariable int versionNumber,
+      @RequestParam(value = "inline", defaultValue = "false") boolean inline,
+      ServerHttpRequest request) {
+    return paperRepository.findById(paperId)
+        .flatMap(paper -> downloadVersion(paper, versionNumber, inline, true, request))
+        .defaultIfEmpty(ResponseEntity.status(404).body("Paper not found"));
+  }
+
+  @GetMapping("/{paperId}/preview")
+  public Mono<ResponseEntity<?>> previewLatest(@PathVariable String paperId) {
+    return paperRepository.findById(paperId)
+        .flatMap(paper -> previewVersion(paper, paper.getCurrentVersion(), PaperController.PREVIEW_LATEST_CACHE))
+        .defaultIfEmpty(ResponseEntity.status(404).body("Paper not found"));
+  }
+
+  @GetMapping("/{paperId}/preview/{versionNumber}")
+  public Mono<ResponseEntity<?>> previewSpecificVersion(@PathVariable String paperId,
+      @PathVariable int versionNumber) {
+    return paperRepository.findById(paperId)
+        .flatMap(paper -> previewVersion(paper, versionNumber, PaperController.PREVIEW_VERSION_CACHE))
+        .defaultIfEmpty(ResponseEntity.status(404).body("Paper not found"));
+  }
+
+  // Text around the first match of "q" in a version's extracted content
+  @GetMapping("/{paperId}/snippet/{versionNumber}")
+  public Mono<ResponseEntity<?>> versionSnippet(
+      @PathVariable String paperId,
+      @PathVariable int versionNumber,
+      @RequestParam("q") String query) {
+    return Mono.fromCallable(() -> Optional.ofNullable(contentSearchService.snippet(paperId, versionNumber, query)))
+        .subscribeOn(Schedulers.boundedElastic())
+        .map(snippet -> snippet.<ResponseEntity<?>>map(text -> ResponseEntity.ok(
+            Map.of("paperId", paperId, "versionNumber", versionNumber, "snippet", text)))
+            .orElseGet(() -> ResponseEntity.status(404).body("No matching text for this version")));
+  }
+
+  // Upload a new version to an existing paper (owner only); responds 202 with the upload job
+  @PostMapping("/{paperId}/update")
+  public Mono<ResponseEntity<?>> updatePaper(
+      @PathVariable String paperId,
+      @RequestPart("file") FilePart file,
+      @AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    String email = user.getEmail();
+    if (!PaperController.isAllowedFileName(file.filename()))
+      return Mono.just(ResponseEntity.badRequest().body("Only PDF/DOC/DOCX allowed"));
+
+    return paperRepository.findById(paperId)
+        .<ResponseEntity<?>>flatMap(paper -> {
+          if (!email.equals(paper.getOwnerEmail()))
+            return Mono.just(ResponseEntity.status(403).body("Forbidden"));
+          String fileName = file.filename();
+          String fileType = contentTypeOf(file);
+          return spoolAndSubmit(file, new UploadJob(email, fileName, paperId), "repos/" + paper.getRepoId(),
+              stored -> appendVersion(paperId, email, fileName, fileType, stored));
+        })
+        .defaultIfEmpty(ResponseEntity.status(404).body("Paper not found"));
+  }
+
+  // Recent activity for a repo, paged like PaperController.getRepoActivity
+  @GetMapping("/activity/{repoId}")
+  public Mono<ResponseEntity<?>> getRepoActivity(
+      @PathVariable String repoId,
+      @RequestParam(value = "limit", defaultValue = "" + PaperController.DEFAULT_ACTIVITY_LIMIT) int limit,
+      @RequestParam(value = "before", required = false) String before,
+      ServerWebExchange exchange) {
+    int pageSize = Math.max(1, Math.min(limit, PaperController.MAX_ACTIVITY_LIMIT));
+    PaperController.ActivityCursor after;
+    try {
+      after = PaperController.ActivityCursor.decode(before);
+    } catch (RuntimeException e) {
+      return Mono.just(ResponseEntity.badRequest().body("Invalid before cursor"));
+    }
+
+    return changeCounters.current(ChangeCounterModel.repo(repoId)).<ResponseEntity<?>>flatMap(counter -> {
+      if (ListingCaching.notModified(exchange, counter, pageSize, before == null || before.isBlank() ? null : before))
+        return Mono.empty();
+      return paperRepository.findActivityByRepoId(repoId, after.before(), after.paperId(), after.versionNumber(),
+          pageSize)
+          .collectList()
+          .<ResponseEntity<?>>map(activities -> {
+            if (activities.size() < pageSize)
+              return ResponseEntity.ok().cacheControl(ListingCaching.REVALIDATE).body(activities);
+            return ResponseEntity.ok()
+                .cacheControl(ListingCaching.REVALIDATE)
+                .header("X-Next-Before", PaperController.ActivityCursor.encode(activities.get(activities.size() - 1)))
+                .body(activities);
+          });
+    });
+  }
+
+  // Live activity for a repo, same events as PaperController.streamRepoActivity
+  @GetMapping(path = "/activity/{repoId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<Object>> streamRepoActivity(
+      @PathVariable String repoId,
+      @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    return activitySse.open(repoId, lastEventId);
+  }
+
+  // Delete a paper (owner only); stored files are released as in PaperController.deletePaper
+  @DeleteMapping("/{paperId}")
+  public Mono<ResponseEntity<?>> deletePaper(@PathVariable String paperId, @AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    return paperRepository.findById(paperId)
+        .<ResponseEntity<?>>flatMap(paper -> {
+          if (!user.getEmail().equals(paper.getOwnerEmail()))
+            return Mono.just(ResponseEntity.status(403).body("Forbidden: not your paper"));
+          // Recorded before the document goes, as in PaperController.deletePaper
+          return Mono.fromCallable(() -> paperDeletionService.begin(paper))
+              .subscribeOn(Schedulers.boundedElastic())
+              .<ResponseEntity<?>>flatMap(deletion -> paperRepository.deleteOwned(paperId, user.getEmail())
+                  .flatMap(deleted -> {
+                    if (!deleted)
+                      return Mono.fromRunnable(() -> paperDeletionService.abandon(deletion))
+                          .subscribeOn(Schedulers.boundedElastic())
+                          .thenReturn(ResponseEntity.status(404).body("Paper not found"));
+                    return repoRepository.recordDeletion(paper.getRepoId(), PaperController.versionCount(paper),
+                        PaperController.storedBytes(paper))
+                        .then(changeCounters.bump(ChangeCounterModel.REPOS,
+                            ChangeCounterModel.repo(paper.getRepoId()), ChangeCounterModel.paper(paperId)))
+                        .then(Mono.fromRunnable(() -> releasePaper(paper, deletion))
+                            .subscribeOn(Schedulers.boundedElastic()))
+                        .thenReturn(ResponseEntity.ok(Map.of("message", "Paper deleted successfully",
+                            "paperId", paperId)));
+                  }))
+              .defaultIfEmpty(ResponseEntity.status(409).body("Paper is already being deleted"));
+        })
+        .defaultIfEmpty(ResponseEntity.status(404).body("Paper not found"));
+  }
+
+  // --- helpers ---
+
+  private Mono<ResponseEntity<?>> spoolAndSubmit(FilePart file, UploadJob job, String folder,
+      Function<BlobStoreService.StoredBlob, Mono<PaperModel>> completion) {
+    return uploadService.spool(file).<ResponseEntity<?>>map(spooled -> {
+      if (spooled.size() > PaperController.MAX_FILE_BYTES) {
+        uploadService.discard(spooled);
+        return ResponseEntity.badRequest().body("File too large (max 20MB)");
+      }
+      try {
+        uploadService.submit(job, spooled, folder, completion);
+      } catch (RejectedExecutionException e) {
+        return PaperController.uploadQueueFull();
+      }
+      return ResponseEntity.accepted().body(job);
+    });
+  }
+
+  // Spools the files of a batch one after another, rejecting those that fail
+  // PaperController.batchFileError, then submits the accepted ones
+  private Mono<ResponseEntity<?>> spoolBatch(String repoId, String email, List<FilePart> files, List<String> titles) {
+    List<BatchUploadResult> results = new ArrayList<>();
+    List<PaperController.BatchFile> accepted = new ArrayList<>();
+    List<UploadJob> jobs = new ArrayList<>();
+    List<UploadJobService.SpooledFile> spooled = new ArrayList<>();
+    return Flux.range(0, files.size())
+        .concatMap(i -> {
+          FilePart file = files.get(i);
+          String fileName = file.filename();
+          String title = titles.get(i);
+          String error = PaperController.batchFileError(fileName, 0, title);
+          if (error != null) {
+            results.add(BatchUploadResult.rejected(fileName, title, error));
+            return Mono.empty();
+          }
+          return uploadService.spool(file).doOnNext(spool -> {
+            String sizeError = PaperController.batchFileError(fileName, spool.size(), title);
+            if (sizeError != null) {
+              uploadService.discard(spool);
+              results.add(BatchUploadResult.rejected(fileName, title, sizeError));
+              return;
+            }
+            UploadJob job = new UploadJob(email, fileName, null);
+            spooled.add(spool);
+            jobs.add(job);
+            accepted.add(new PaperController.BatchFile(title, fileName, contentTypeOf(file)));
+            results.add(BatchUploadResult.accepted(fileName, title, job));
+          });
+        })
+        .doOnError(e -> spooled.forEach(uploadService::discard))
+        .then(Mono.<ResponseEntity<?>>fromSupplier(() -> {
+          if (jobs.isEmpty())
+            return ResponseEntity.badRequest().body(results);
+          try {
+            uploadService.submitBatch(jobs, spooled, "repos/" + repoId,
+                stored -> createPapers(repoId, email, accepted, stored));
+          } catch (RejectedExecutionException e) {
+            return PaperController.uploadQueueFull();
+          }
+          return ResponseEntity.accepted().body(results);
+        }));
+  }
+
+  // Inserts the papers of a batch with one insertAll, as PaperController.createPapers
+  private Mono<List<PaperModel>> createPapers(String repoId, String email, List<PaperController.BatchFile> batch,
+      List<UploadJobService.StoredItem> stored) {
+    List<PaperModel> papers = new ArrayList<>();
+    for (UploadJobService.StoredItem item : stored) {
+      PaperController.BatchFile file = batch.get(item.index());
+      papers.add(PaperController.newPaper(repoId, email, file.title(),
+          PaperController.newVersion(file.fileName(), file.fileType(), item.stored())));
+    }
+    return paperRepository.insert(papers).collectList()
+        .flatMap(saved -> afterWrite(repoId, repoRepository.recordNewPapers(repoId, saved.size(),
+                PaperController.batchBytes(saved), PaperController.latestUpload(saved)))
+            .then(afterWrite(repoId, changeCounters.bump(ChangeCounterModel.REPOS, ChangeCounterModel.repo(repoId))))
+            .then(Mono.fromCallable(() -> {
+              for (PaperModel paper : saved) {
+                PaperController.afterWrite(paper.getId(), () -> searchService.indexPaper(paper));
+                PaperController.afterWrite(paper.getId(), () -> eventPublisher.publishEvent(
+                    new PaperVersionUploadedEvent(paper.getId(), repoId, paper.getVersions().get(0),
+                        paper.getTitle(), paper.getOwnerEmail())));
+              }
+              return saved;
+            }).subscribeOn(Schedulers.boundedElastic())));
+  }
+
+  // Value of a text part, or null if missing or not a form field
+  private static String fieldValue(Part part) {
+    return part instanceof FormFieldPart field ? field.value() : null;
+  }
+
+  private Mono<PaperModel> createPaper(String repoId, String email, String title, String fileName, String fileType,
+      BlobStoreService.StoredBlob stored) {
+    PaperModel paper = PaperController.newPaper(repoId, email, title,
+        PaperController.newVersion(fileName, fileType, stored));
+    return paperRepository.save(paper).flatMap(this::afterWrite);
+  }
+
+  private Mono<PaperModel> appendVersion(String paperId, String email, String fileName, String fileType,
+      BlobStoreService.StoredBlob stored) {
+    return paperRepository.appendVersion(paperId, email, PaperController.newVersion(fileName, fileType, stored))
+        .switchIfEmpty(Mono.error(() -> new IllegalStateException("Paper no longer exists")))
+        .flatMap(this::afterWrite);
+  }
+
+  // Updates the repo statistics, bumps the listing counters, indexes the
+  // paper and announces the new version. Event listeners may block briefly on
+  // their queues, so they run off the event loop. Each step's failure is only
+  // logged, as in PaperController.afterWrite.
+  private Mono<PaperModel> afterWrite(PaperModel paper) {
+    PaperModel.Version current = PaperController.currentVersionOf(paper);
+    Mono<Void> recorded = current == null ? Mono.empty()
+        : repoRepository.recordUpload(paper.getRepoId(), current.getVersionNumber() == 1, current.getSize(),
+            current.getUploadedAt());
+    Mono<Void> bumped = changeCounters.bump(ChangeCounterModel.REPOS, ChangeCounterModel.repo(paper.getRepoId()),
+        ChangeCounterModel.paper(paper.getId()));
+    Mono<PaperModel> announced = Mono.fromCallable(() -> {
+      PaperController.afterWrite(paper.getId(), () -> searchService.indexPaper(paper));
+      if (current != null)
+        PaperController.afterWrite(paper.getId(), () -> eventPublisher.publishEvent(
+            new PaperVersionUploadedEvent(paper.getId(), paper.getRepoId(), current, paper.getTitle(),
+                paper.getOwnerEmail())));
+      return paper;
+    }).subscribeOn(Schedulers.boundedElastic());
+    return afterWrite(paper.getId(), recorded).then(afterWrite(paper.getId(), bumped)).then(announced);
+  }
+
+  private static Mono<Void> afterWrite(String id, Mono<Void> step) {
+    return step.onErrorResume(e -> {
+      log.warn("Follow-up after writing {} failed: {}", id, e.getMessage());
+      return Mono.empty();
+    });
+  }
+
+  private Mono<ResponseEntity<?>> downloadVersion(PaperModel paper, int versionNumber, boolean inline,
+      boolean immutable, ServerHttpRequest request) {
+    Optional<PaperModel.Version> version = findVersion(paper, versionNumber);
+    if (version.isEmpty())
+      return Mono.just(ResponseEntity.status(404).body("Version " + versionNumber + " not found"));
+    return downloadService.stream(version.get(), inline, immutable, request);
+  }
+
+  private Mono<ResponseEntity<?>> previewVersion(PaperModel paper, int versionNumber, CacheControl cacheControl) {
+    Optional<PaperModel.Version> version = findVersion(paper, versionNumber);
+    if (version.isEmpty())
+      return Mono.just(ResponseEntity.status(404).body("Version " + versionNumber + " not found"));
+    return Mono.<ResponseEntity<?>>fromCallable(
+        () -> PaperController.previewResponse(previewService.find(version.get()), cacheControl))
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  private void releasePaper(PaperModel paper, PaperDeletionModel deletion) {
+    eventPublisher.publishEvent(new PaperDeletedEvent(paper.getId(), paper.getRepoId(), paper.getTitle(),
+        paper.getOwnerEmail(), paper.getCurrentVersion()));
+    searchService.removePaper(paper.getId());
+    paperDeletionService.finish(deletion);
+  }
+
+
+  private static Optional<PaperModel.Version> findVersion(PaperModel paper, int versionNumber) {
+    return paper.getVersions().stream()
+        .filter(v -> v.getVersionNumber() == versionNumber)
+        .findFirst();
+  }
+
+  private static String contentTypeOf(FilePart file) {
+    return file.headers().getContentType() == null ? null : file.headers().getContentType().toString();
+  }
+}
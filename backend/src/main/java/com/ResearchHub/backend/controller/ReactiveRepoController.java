@@ -0,0 +1,124 @@
+package com.ResearchHub.backend.controller;
+
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.ResearchHub.backend.Repository.ReactiveChangeCounterRepository;
+import com.ResearchHub.backend.Repository.ReactiveRepoRepository;
+import com.ResearchHub.backend.model.ChangeCounterModel;
+import com.ResearchHub.backend.model.RepoModel;
+import com.ResearchHub.backend.model.UserModel;
+import com.ResearchHub.backend.service.SearchService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// RepoController for the "reactive" profile: same routes, parameters and
+// responses, backed by the reactive repository
+@RestController
+@RequestMapping("/repos")
+@Profile("reactive")
+public class ReactiveRepoController {
+
+  @Autowired
+  private ReactiveRepoRepository repoRepository;
+  @Autowired
+  private ReactiveChangeCounterRepository changeCounters;
+  @Autowired
+  private SearchService searchService;
+
+  @PostMapping
+  public Mono<ResponseEntity<?>> createRepo(@RequestBody RepoModel repo, @AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    return repoRepository.save(new RepoModel(repo.getName(), repo.getDescription(), user.getEmail()))
+        .flatMap(saved -> changeCounters.bump(ChangeCounterModel.REPOS).thenReturn(saved))
+        .doOnNext(searchService::indexRepo)
+        .<ResponseEntity<?>>map(ResponseEntity::ok);
+  }
+
+  @GetMapping("/my")
+  public Mono<ResponseEntity<?>> myRepos(@AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    // The encoder writes the array as rows arrive
+    return Mono.just(ResponseEntity.ok(repoRepository.findByOwnerEmail(user.getEmail())));
+  }
+
+  // Public: same sort orders, cursor paging and conditional GET as RepoController.globalRepos
+  @GetMapping("/global")
+  public Mono<ResponseEntity<?>> globalRepos(
+      @RequestParam(value = "limit", defaultValue = "" + RepoController.DEFAULT_PAGE_SIZE) int limit,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "owner", required = false) String owner,
+      @RequestParam(value = "prefix", required = false) String prefix,
+      @RequestParam(value = "sort", defaultValue = "created") String sort,
+      ServerWebExchange exchange) {
+    int pageSize = Math.max(1, Math.min(limit, RepoController.MAX_PAGE_SIZE));
+    boolean byActivity = "activity".equals(sort);
+    if (!byActivity && !"created".equals(sort))
+      return Mono.just(ResponseEntity.badRequest().body("sort must be 'created' or 'activity'"));
+
+    RepoController.Cursor after = null;
+    if (cursor != null && !cursor.isBlank()) {
+      try {
+        after = RepoController.Cursor.decode(cursor);
+      } catch (RuntimeException e) {
+        return Mono.just(ResponseEntity.badRequest().body("Invalid cursor"));
+      }
+    }
+
+    Instant afterAt = after == null ? null : after.at();
+    String afterId = after == null ? null : after.id();
+    return changeCounters.current(ChangeCounterModel.REPOS).<ResponseEntity<?>>flatMap(counter -> {
+      if (ListingCaching.notModified(exchange, counter, pageSize, cursor == null || cursor.isBlank() ? null : cursor,
+          owner, prefix, sort))
+        return Mono.empty();
+      Flux<RepoModel> repos = byActivity
+          ? repoRepository.findGlobalPageByActivity(owner, prefix, afterAt, afterId, pageSize + 1)
+          : repoRepository.findGlobalPage(owner, prefix, afterAt, afterId, pageSize + 1);
+      return repos
+          .collectList()
+          .<ResponseEntity<?>>map(page -> {
+            if (page.size() <= pageSize)
+              return ResponseEntity.ok().cacheControl(ListingCaching.REVALIDATE).body(page);
+            var shown = page.subList(0, pageSize);
+            return ResponseEntity.ok()
+                .cacheControl(ListingCaching.REVALIDATE)
+                .header("X-Next-Cursor", RepoController.Cursor.encode(shown.get(pageSize - 1), byActivity))
+                .body(shown);
+          });
+    });
+  }
+
+  // Delete a repository (owner only)
+  @DeleteMapping("/{repoId}")
+  public Mono<ResponseEntity<?>> deleteRepo(@PathVariable String repoId, @AuthenticationPrincipal UserModel user) {
+    if (user == null)
+      return Mono.just(ResponseEntity.status(401).body("Unauthorized"));
+    return repoRepository.findById(repoId)
+        .<ResponseEntity<?>>flatMap(repo -> {
+          if (!user.getEmail().equals(repo.getOwnerEmail()))
+            return Mono.just(ResponseEntity.status(403)
+                .body("Forbidden: You can only delete your own repositories"));
+          return repoRepository.deleteById(repoId)
+              .then(changeCounters.bump(ChangeCounterModel.REPOS, ChangeCounterModel.repo(repoId)))
+              .then(Mono.fromRunnable(() -> searchService.removeRepo(repoId)))
+              .thenReturn(ResponseEntity.ok("Repository deleted successfully"));
+        })
+        .defaultIfEmpty(ResponseEntity.status(404).body("Repository not found"));
+  }
+}
@@ -1,8 +1,12 @@
 package com.ResearchHub.backend.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,44 +14,123 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.ResearchHub.backend.Repository.ChangeCounterRepository;
 import com.ResearchHub.backend.Repository.RepoRepository;
+import com.ResearchHub.backend.model.ChangeCounterModel;
 import com.ResearchHub.backend.model.RepoModel;
 
 import com.ResearchHub.backend.security.SecurityUtils;
+import com.ResearchHub.backend.service.SearchService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/repos")
+@Profile("!reactive")
 public class RepoController {
 
+  static final int DEFAULT_PAGE_SIZE = 50;
+  static final int MAX_PAGE_SIZE = 200;
+
+  // Position after the last repo of a page, sent to clients as an opaque
+  // base64url "millis:id" string. The instant is createdAt, or lastUploadedAt
+  // for sort=activity (empty for repos without uploads).
+  record Cursor(Instant at, String id) {
+    static Cursor decode(String cursor) {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int sep = decoded.indexOf(':');
+      String millis = decoded.substring(0, sep);
+      return new Cursor(millis.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(millis)),
+          decoded.substring(sep + 1));
+    }
+
+    static String encode(RepoModel last, boolean byActivity) {
+      return new Cursor(byActivity ? last.getLastUploadedAt() : last.getCreatedAt(), last.getId()).encode();
+    }
+
+    String encode() {
+      String next = (at == null ? "" : String.valueOf(at.toEpochMilli())) + ":" + id;
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(next.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
   @Autowired
   private RepoRepository repoRepository;
+  @Autowired
+  private ChangeCounterRepository changeCounters;
+  @Autowired
+  private SearchService searchService;
+  @Autowired
+  private ObjectMapper objectMapper;
 
   @PostMapping
   public ResponseEntity<?> createRepo(@RequestBody RepoModel repo) {
     String email = SecurityUtils.getCurrentUserEmail();
     if (email == null)
       return ResponseEntity.status(401).body("Unauthorized");
-    repo.setOwnerEmail(email);
-    RepoModel saved = repoRepository.save(repo);
+    // Only name and description come from the client; statistics start at zero
+    RepoModel saved = repoRepository.save(new RepoModel(repo.getName(), repo.getDescription(), email));
+    changeCounters.bump(ChangeCounterModel.REPOS);
+    searchService.indexRepo(saved);
     return ResponseEntity.ok(saved);
   }
 
+  // Streamed as read from Mongo
   @GetMapping("/my")
   public ResponseEntity<?> myRepos() {
     String email = SecurityUtils.getCurrentUserEmail();
     if (email == null)
       return ResponseEntity.status(401).body("Unauthorized");
-    List<RepoModel> repos = repoRepository.findByOwnerEmail(email);
-    return ResponseEntity.ok(repos);
+    return JsonStreaming.jsonArray(objectMapper, () -> repoRepository.streamByOwnerEmail(email));
   }
 
-  // Public: list all repos (Global)
+  // Public: list all repos (Global) with their paper/version/byte counts,
+  // newest first or, with sort=activity, most recent upload first. Results are
+  // paged by an opaque cursor; the cursor for the next page is returned in
+  // X-Next-Cursor. Polls with a current ETag get 304 without querying repos.
   @GetMapping("/global")
-  public ResponseEntity<?> globalRepos() {
-    List<RepoModel> all = repoRepository.findAll();
-    return ResponseEntity.ok(all);
+  public ResponseEntity<?> globalRepos(
+      @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "owner", required = false) String owner,
+      @RequestParam(value = "prefix", required = false) String prefix,
+      @RequestParam(value = "sort", defaultValue = "created") String sort,
+      WebRequest request) {
+    int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    if (ListingCaching.notModified(request, changeCounters.current(ChangeCounterModel.REPOS),
+        pageSize, cursor == null || cursor.isBlank() ? null : cursor, owner, prefix, sort))
+      return null;
+
+    boolean byActivity = "activity".equals(sort);
+    if (!byActivity && !"created".equals(sort))
+      return ResponseEntity.badRequest().body("sort must be 'created' or 'activity'");
+
+    Cursor after = null;
+    if (cursor != null && !cursor.isBlank()) {
+      try {
+        after = Cursor.decode(cursor);
+      } catch (RuntimeException e) {
+        return ResponseEntity.badRequest().body("Invalid cursor");
+      }
+    }
+
+    // Fetch one extra row to learn whether another page exists
+    Instant afterAt = after == null ? null : after.at();
+    String afterId = after == null ? null : after.id();
+    List<RepoModel> page = byActivity
+        ? repoRepository.findGlobalPageByActivity(owner, prefix, afterAt, afterId, pageSize + 1)
+        : repoRepository.findGlobalPage(owner, prefix, afterAt, afterId, pageSize + 1);
+    if (page.size() <= pageSize)
+      return ResponseEntity.ok().cacheControl(ListingCaching.REVALIDATE).body(page);
+
+    page = page.subList(0, pageSize);
+    return ResponseEntity.ok()
+        .cacheControl(ListingCaching.REVALIDATE)
+        .header("X-Next-Cursor", Cursor.encode(page.get(pageSize - 1), byActivity))
+        .body(page);
   }
 
   // Delete a repository (owner only)
@@ -70,6 +153,8 @@ public class RepoController {
 
     // Delete the repository
     repoRepository.deleteById(repoId);
+    changeCounters.bump(ChangeCounterModel.REPOS, ChangeCounterModel.repo(repoId));
+    searchService.removeRepo(repoId);
     return ResponseEntity.ok("Repository deleted successfully");
   }
 }
@@ -0,0 +1,49 @@
+package com.ResearchHub.backend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ResearchHub.backend.service.ContentSearchService;
+import com.ResearchHub.backend.service.SearchService;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+
+  private static final int DEFAULT_LIMIT = 20;
+  private static final int MAX_LIMIT = 100;
+
+  @Autowired
+  private SearchService searchService;
+  @Autowired
+  private ContentSearchService contentSearchService;
+
+  // Public: ranked search over repo names/descriptions and paper titles/file
+  // names. type is "all" (default), "repos" or "papers".
+  @GetMapping
+  public ResponseEntity<?> search(
+      @RequestParam("q") String query,
+      @RequestParam(value = "type", defaultValue = "all") String type,
+      @RequestParam(value = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit) {
+    if (query.isBlank())
+      return ResponseEntity.badRequest().body("Query must not be empty");
+    int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+    return ResponseEntity.ok(searchService.search(query, type, pageSize));
+  }
+
+  // Public: ranked search over the text extracted from uploaded files; results
+  // name paper versions (see /papers/{paperId}/snippet/{versionNumber})
+  @GetMapping("/content")
+  public ResponseEntity<?> searchContent(
+      @RequestParam("q") String query,
+      @RequestParam(value = "limit", defaultValue = "" + DEFAULT_LIMIT) int limit) {
+    if (query.isBlank())
+      return ResponseEntity.badRequest().body("Query must not be empty");
+    int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+    return ResponseEntity.ok(contentSearchService.search(query, pageSize));
+  }
+}
@@ -0,0 +1,35 @@
+package com.ResearchHub.backend.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ResearchHub.backend.config.MongoPoolStats;
+import com.ResearchHub.backend.model.BulkheadStats;
+import com.ResearchHub.backend.util.Bulkhead;
+
+@RestController
+@RequestMapping("/system")
+public class SystemController {
+
+  @Autowired
+  private List<Bulkhead> bulkheads;
+  @Autowired
+  private MongoPoolStats mongoPoolStats;
+
+  // Concurrency, queue depth and rejections for each downstream limit
+  @GetMapping("/bulkheads")
+  public ResponseEntity<?> bulkheads() {
+    List<BulkheadStats> stats = new ArrayList<>();
+    stats.add(mongoPoolStats.stats());
+    for (Bulkhead bulkhead : bulkheads) {
+      stats.add(bulkhead.stats());
+    }
+    return ResponseEntity.ok(stats);
+  }
+}
@@ -1,17 +1,29 @@
 package com.ResearchHub.backend.controller;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import com.ResearchHub.backend.model.UserModel;
 import com.ResearchHub.backend.Repository.UserRepository;
 import com.ResearchHub.backend.util.JwtUtil;
-import com.ResearchHub.backend.security.SecurityUtils;
+import com.ResearchHub.backend.security.PrincipalCache;
+import com.ResearchHub.backend.service.PasswordHashingService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
+// Shared by the servlet and reactive profiles. BCrypt runs on the bounded
+// PasswordHashingService pool and Mongo calls on boundedElastic; the result is
+// returned as a Mono (Spring MVC treats it as an async result). Only the
+// public endpoints (register, login) do this, since their async dispatch is
+// permitted by path without the JWT filter.
 @RestController
 @RequestMapping("/auth") // Base URL for authentication APIs
 public class UserController {
@@ -19,23 +31,36 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
-    // BCrypt for password hashing and verification
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PrincipalCache principalCache;
+
+    // BCrypt hashing and verification off the request threads
+    @Autowired
+    private PasswordHashingService passwordHashing;
 
     // ===================== REGISTER =====================
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody UserModel user) {
-        // Check if user already exists
-        if (userRepository.findByEmail(user.getEmail()) != null) {
-            return ResponseEntity.badRequest().body("Email already registered!");
+    public Mono<ResponseEntity<?>> registerUser(@RequestBody UserModel user) {
+        if (user.getEmail() == null || user.getPassword() == null) {
+            return Mono.just(ResponseEntity.badRequest().body("Email and password are required"));
         }
+        // Hash the password, then save the user on boundedElastic
+        return Mono.fromFuture(() -> passwordHashing.encode(user.getPassword()))
+                .publishOn(Schedulers.boundedElastic())
+                .<ResponseEntity<?>>map(hashedPassword -> register(user, hashedPassword))
+                .onErrorResume(RejectedExecutionException.class, e -> Mono.just(hashingBusy()));
+    }
 
-        // Hash the password before saving
-        String hashedPassword = passwordEncoder.encode(user.getPassword());
+    private ResponseEntity<?> register(UserModel user, String hashedPassword) {
         user.setPassword(hashedPassword);
 
-        // Save user to MongoDB
-        UserModel savedUser = userRepository.save(user);
+        // Single insert; the unique index on email rejects existing accounts
+        UserModel savedUser;
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.badRequest().body("Email already registered!");
+        }
 
         // Generate JWT token
         String jwt = JwtUtil.generateToken(savedUser.getUsername(), savedUser.getEmail());
@@ -57,19 +82,29 @@ public class UserController {
 
     // ===================== LOGIN =====================
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody UserModel user) {
-        // Find user by email
-        UserModel existingUser = userRepository.findByEmail(user.getEmail());
-        if (existingUser == null) {
-            return ResponseEntity.status(404).body("User not found!");
-        }
+    public Mono<ResponseEntity<?>> loginUser(@RequestBody UserModel user) {
+        // Find user by email, then compare the password using BCrypt
+        return Mono.fromCallable(() -> userRepository.findByEmail(user.getEmail()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(existingUser -> Mono
+                        .fromFuture(() -> passwordHashing.verify(user.getPassword(), existingUser.getPassword()))
+                        .publishOn(Schedulers.boundedElastic())
+                        .<ResponseEntity<?>>map(verification -> login(existingUser, verification)))
+                .defaultIfEmpty(ResponseEntity.status(404).body("User not found!"))
+                .onErrorResume(RejectedExecutionException.class, e -> Mono.just(hashingBusy()));
+    }
 
-        // Compare password using BCrypt
-        boolean passwordMatches = passwordEncoder.matches(user.getPassword(), existingUser.getPassword());
-        if (!passwordMatches) {
+    private ResponseEntity<?> login(UserModel existingUser, PasswordHashingService.Verification verification) {
+        if (!verification.matches()) {
             return ResponseEntity.badRequest().body("Invalid password!");
         }
 
+        // Stored with a different BCrypt cost than configured: keep the new hash
+        if (verification.upgradedHash() != null) {
+            userRepository.updatePasswordHash(existingUser.getId(), existingUser.getPassword(),
+                    verification.upgradedHash());
+        }
+
         // Generate JWT token
         String jwt = JwtUtil.generateToken(existingUser.getUsername(), existingUser.getEmail());
         ResponseCookie cookie = ResponseCookie.from("jwt", jwt)
@@ -85,9 +120,19 @@ public class UserController {
                 .body("Login successful! Welcome, " + existingUser.getUsername());
     }
 
+    // Password hashing queue is full (login storm)
+    private static ResponseEntity<?> hashingBusy() {
+        return ResponseEntity.status(503)
+                .header("Retry-After", "1")
+                .body("Server busy, please retry shortly");
+    }
+
     // ===================== LOGOUT =====================
     @PostMapping("/logout")
-    public ResponseEntity<?> logoutUser() {
+    public ResponseEntity<?> logoutUser(@CookieValue(value = "jwt", required = false) String token) {
+        // Forget the cached principal so the token is re-verified if presented again
+        principalCache.invalidate(token);
+
         // Invalidate the JWT cookie by setting maxAge to 0
         ResponseCookie cookie = ResponseCookie.from("jwt", "")
                 .httpOnly(true)
@@ -103,20 +148,18 @@ public class UserController {
     }
 
     // ===================== GET CURRENT USER =====================
+    // Answered from the principal the JWT filter loaded (or its cache), so the
+    // handler stays synchronous: on the servlet stack a Mono here would finish in
+    // an async dispatch, which the JWT filter does not run for, and /auth/me
+    // is not public. The cached principal is shared, so it is copied rather
+    // than having its password cleared.
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser() {
-        String email = SecurityUtils.getCurrentUserEmail();
-        if (email == null) {
+    public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal UserModel principal) {
+        if (principal == null) {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
-        UserModel user = userRepository.findByEmail(email);
-        if (user == null) {
-            return ResponseEntity.status(404).body("User not found");
-        }
-
         // Don't send password
-        user.setPassword(null);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(principal.withoutPassword());
     }
 }
@@ -0,0 +1,6 @@
+package com.ResearchHub.backend.event;
+
+// Published after a paper document has been deleted
+public record PaperDeletedEvent(String paperId, String repoId, String paperTitle, String ownerEmail,
+    int currentVersion) {
+}
@@ -0,0 +1,8 @@
+package com.ResearchHub.backend.event;
+
+import com.ResearchHub.backend.model.PaperModel;
+
+// Published once a new version has been stored and written to its paper
+public record PaperVersionUploadedEvent(String paperId, String repoId, PaperModel.Version version,
+    String paperTitle, String ownerEmail) {
+}
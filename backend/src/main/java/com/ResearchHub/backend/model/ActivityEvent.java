@@ -0,0 +1,16 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+
+// One version upload in a repo's activity feed
+public record ActivityEvent(
+    String paperId,
+    String paperTitle,
+    String ownerEmail,
+    int versionNumber,
+    String fileName,
+    String fileType,
+    Instant uploadedAt,
+    String url,
+    String actionType) {
+}
@@ -0,0 +1,18 @@
+package com.ResearchHub.backend.model;
+
+// Outcome of one file of /papers/upload-batch: either the upload job to poll
+// through /papers/uploads/{jobId}, or why the file was rejected up front
+public record BatchUploadResult(
+    String fileName,
+    String title,
+    String jobId,
+    String error) {
+
+  public static BatchUploadResult accepted(String fileName, String title, UploadJob job) {
+    return new BatchUploadResult(fileName, title, job.getJobId(), null);
+  }
+
+  public static BatchUploadResult rejected(String fileName, String title, String error) {
+    return new BatchUploadResult(fileName, title, null, error);
+  }
+}
@@ -0,0 +1,54 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One stored file, keyed by the SHA-256 of its bytes. refCount is the number of
+// paper versions pointing at the asset; it is deleted when that reaches zero.
+@Document(collection = "blobs")
+public class BlobModel {
+  @Id
+  private String id;
+  private String url;
+  private String publicId;
+  private long size;
+  private int refCount;
+  private Instant createdAt = Instant.now();
+
+  public BlobModel() {
+  }
+
+  public BlobModel(String sha256, String url, String publicId, long size) {
+    this.id = sha256;
+    this.url = url;
+    this.publicId = publicId;
+    this.size = size;
+    this.refCount = 1;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public String getPublicId() {
+    return publicId;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public int getRefCount() {
+    return refCount;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+}
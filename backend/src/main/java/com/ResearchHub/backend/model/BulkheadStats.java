@@ -0,0 +1,11 @@
+package com.ResearchHub.backend.model;
+
+// Point-in-time view of one downstream concurrency limit. "waiting" is the
+// current queue depth; "rejected" counts calls turned away since startup.
+public record BulkheadStats(
+    String name,
+    int maxConcurrent,
+    int active,
+    int waiting,
+    long rejected) {
+}
@@ -0,0 +1,56 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Monotonic change counter for one listing scope, bumped after every write
+// that can change what the listing returns. Listings derive their ETag and
+// Last-Modified from it, so a conditional GET is answered from this small
+// document alone. Ids: "repos" (global repo listing), "repo:<repoId>" (papers
+// and activity of a repo) and "paper:<paperId>" (versions of a paper).
+@Document(collection = "change_counters")
+public class ChangeCounterModel {
+  public static final String REPOS = "repos";
+
+  @Id
+  private String id;
+  private long version;
+  private Instant modifiedAt;
+
+  public ChangeCounterModel() {
+  }
+
+  // State of a scope that has not been written to since counters were added
+  public ChangeCounterModel(String id) {
+    this.id = id;
+  }
+
+  public static String repo(String repoId) {
+    return "repo:" + repoId;
+  }
+
+  public static String paper(String paperId) {
+    return "paper:" + paperId;
+  }
+
+  // Weak: the same version may be served with different encodings. The
+  // timestamp keeps tags unique if counters are ever reset.
+  public String etag() {
+    return "W/\"" + version + "-" + (modifiedAt == null ? 0 : modifiedAt.toEpochMilli()) + "\"";
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  // Null until the first bump
+  public Instant getModifiedAt() {
+    return modifiedAt;
+  }
+}
@@ -0,0 +1,5 @@
+package com.ResearchHub.backend.model;
+
+// One ranked /search/content result: a paper version whose text matched
+public record ContentHit(String paperId, String repoId, int versionNumber, double score) {
+}
@@ -0,0 +1,62 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// A paper deletion in progress: written before the paper document is removed
+// and deleted once the paper's stored files and extracted text are released.
+// "versions" shrinks as each version's file reference is given back.
+@Document(collection = "paper_deletions")
+public class PaperDeletionModel {
+  @Id
+  private String id; // the paper id
+  private String repoId;
+  private List<PaperModel.Version> versions = new ArrayList<>();
+  @Indexed
+  private Instant retryAfter;
+  private Instant createdAt = Instant.now();
+
+  public PaperDeletionModel() {
+  }
+
+  public PaperDeletionModel(PaperModel paper, Instant retryAfter) {
+    this.id = paper.getId();
+    this.repoId = paper.getRepoId();
+    if (paper.getVersions() != null)
+      this.versions = new ArrayList<>(paper.getVersions());
+    this.retryAfter = retryAfter;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getRepoId() {
+    return repoId;
+  }
+
+  public List<PaperModel.Version> getVersions() {
+    return versions;
+  }
+
+  public Instant getRetryAfter() {
+    return retryAfter;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setVersions(List<PaperModel.Version> versions) {
+    this.versions = versions;
+  }
+
+  public void setRetryAfter(Instant retryAfter) {
+    this.retryAfter = retryAfter;
+  }
+}
@@ -5,9 +5,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+// Indexes back the per-repo summary listing (both sort orders), per-owner
+// lookups and the repo activity feed
 @Document(collection = "papers")
+@CompoundIndexes({
+    @CompoundIndex(name = "repo_id", def = "{'repoId': 1, '_id': 1}"),
+    @CompoundIndex(name = "repo_last_uploaded", def = "{'repoId': 1, 'lastUploadedAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "owner_repo", def = "{'ownerEmail': 1, 'repoId': 1}"),
+    @CompoundIndex(name = "repo_version_uploaded", def = "{'repoId': 1, 'versions.uploadedAt': -1}")
+})
 public class PaperModel {
   @Id
   private String id;
@@ -16,6 +26,8 @@ public class PaperModel {
   private String title;
   private int currentVersion = 0;
   private List<Version> versions = new ArrayList<>();
+  // uploadedAt of the newest version, kept on the document so listings can sort on it
+  private Instant lastUploadedAt;
 
   public static class Version {
     private int versionNumber;
@@ -23,6 +35,9 @@ public class PaperModel {
     private String fileType;
     private String url;
     private String publicId;
+    // SHA-256 of the file bytes (hex); null for versions stored before dedup
+    private String sha256;
+    private long size;
     private Instant uploadedAt = Instant.now();
 
     public int getVersionNumber() {
@@ -45,6 +60,14 @@ public class PaperModel {
       return publicId;
     }
 
+    public String getSha256() {
+      return sha256;
+    }
+
+    public long getSize() {
+      return size;
+    }
+
     public Instant getUploadedAt() {
       return uploadedAt;
     }
@@ -69,6 +92,14 @@ public class PaperModel {
       this.publicId = publicId;
     }
 
+    public void setSha256(String sha256) {
+      this.sha256 = sha256;
+    }
+
+    public void setSize(long size) {
+      this.size = size;
+    }
+
     public void setUploadedAt(Instant uploadedAt) {
       this.uploadedAt = uploadedAt;
     }
@@ -98,6 +129,10 @@ public class PaperModel {
     return versions;
   }
 
+  public Instant getLastUploadedAt() {
+    return lastUploadedAt;
+  }
+
   public void setRepoId(String repoId) {
     this.repoId = repoId;
   }
@@ -117,4 +152,8 @@ public class PaperModel {
   public void setVersions(List<Version> versions) {
     this.versions = versions;
   }
+
+  public void setLastUploadedAt(Instant lastUploadedAt) {
+    this.lastUploadedAt = lastUploadedAt;
+  }
 }
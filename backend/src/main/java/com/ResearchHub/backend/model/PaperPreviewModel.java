@@ -0,0 +1,76 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// First-page image of a stored file. Keyed by the file's storage publicId
+// digest, so versions sharing a file share one preview. Written once.
+@Document(collection = "paper_previews")
+public class PaperPreviewModel {
+  @Id
+  private String id;
+  private byte[] image;
+  private String contentType;
+  private int width;
+  private int height;
+  // Set instead of the image when no preview can be rendered
+  private String error;
+  private Instant renderedAt = Instant.now();
+
+  public PaperPreviewModel() {
+  }
+
+  public PaperPreviewModel(String id) {
+    this.id = id;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public byte[] getImage() {
+    return image;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public Instant getRenderedAt() {
+    return renderedAt;
+  }
+
+  public void setImage(byte[] image) {
+    this.image = image;
+  }
+
+  public void setContentType(String contentType) {
+    this.contentType = contentType;
+  }
+
+  public void setWidth(int width) {
+    this.width = width;
+  }
+
+  public void setHeight(int height) {
+    this.height = height;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+}
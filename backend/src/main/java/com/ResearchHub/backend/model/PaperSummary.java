@@ -0,0 +1,15 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+
+// Latest-version summary of a paper, projected by Mongo for repo listings
+public record PaperSummary(
+    String paperId,
+    String title,
+    int currentVersion,
+    String ownerEmail,
+    Instant uploadedAt,
+    String url,
+    String fileName,
+    String fileType) {
+}
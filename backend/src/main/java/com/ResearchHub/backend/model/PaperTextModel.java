@@ -0,0 +1,83 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Extracted text of one paper version: the deflated plain text (for snippets)
+// and its most frequent terms (for the content index). Written once per version.
+@Document(collection = "paper_texts")
+public class PaperTextModel {
+  @Id
+  private String id; // "<paperId>:<versionNumber>"
+  @Indexed
+  private String paperId;
+  private String repoId;
+  private int versionNumber;
+  private byte[] compressedText;
+  private Map<String, Integer> terms;
+  // Set instead of text/terms when the file could not be read
+  private String error;
+  private Instant extractedAt = Instant.now();
+
+  public PaperTextModel() {
+  }
+
+  public PaperTextModel(String paperId, String repoId, int versionNumber) {
+    this.id = idFor(paperId, versionNumber);
+    this.paperId = paperId;
+    this.repoId = repoId;
+    this.versionNumber = versionNumber;
+  }
+
+  public static String idFor(String paperId, int versionNumber) {
+    return paperId + ":" + versionNumber;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public String getPaperId() {
+    return paperId;
+  }
+
+  public String getRepoId() {
+    return repoId;
+  }
+
+  public int getVersionNumber() {
+    return versionNumber;
+  }
+
+  public byte[] getCompressedText() {
+    return compressedText;
+  }
+
+  public Map<String, Integer> getTerms() {
+    return terms;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public Instant getExtractedAt() {
+    return extractedAt;
+  }
+
+  public void setCompressedText(byte[] compressedText) {
+    this.compressedText = compressedText;
+  }
+
+  public void setTerms(Map<String, Integer> terms) {
+    this.terms = terms;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+}
@@ -0,0 +1,71 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Storage assets still waiting to be deleted; a record is removed once every
+// publicId in it is gone from storage
+@Document(collection = "pending_deletions")
+public class PendingDeletionModel {
+  @Id
+  private String id;
+  private List<String> publicIds = new ArrayList<>();
+  private int attempts = 0;
+  @Indexed
+  private Instant nextAttemptAt;
+  private String lastError;
+  private Instant createdAt = Instant.now();
+
+  public PendingDeletionModel() {
+  }
+
+  public PendingDeletionModel(List<String> publicIds, Instant nextAttemptAt) {
+    this.publicIds = new ArrayList<>(publicIds);
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public List<String> getPublicIds() {
+    return publicIds;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public Instant getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setPublicIds(List<String> publicIds) {
+    this.publicIds = publicIds;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public void setNextAttemptAt(Instant nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+}
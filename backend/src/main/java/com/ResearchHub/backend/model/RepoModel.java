@@ -3,9 +3,22 @@ package com.ResearchHub.backend.model;
 import java.time.Instant;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Indexes back the keyset-paginated global listing (by creation or by latest
+// upload) and its owner/name filters
 @Document(collection = "repos")
+@CompoundIndexes({
+    @CompoundIndex(name = "created_desc", def = "{'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "owner_created_desc", def = "{'ownerEmail': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "name_created_desc", def = "{'name': 1, 'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "activity_desc", def = "{'lastUploadedAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "owner_activity_desc", def = "{'ownerEmail': 1, 'lastUploadedAt': -1, '_id': -1}")
+})
 public class RepoModel {
   @Id
   private String id;
@@ -13,6 +26,16 @@ public class RepoModel {
   private String description;
   private String ownerEmail; // identify owner by email for simplicity
   private Instant createdAt = Instant.now();
+  // Denormalized from the repo's papers: kept current with $inc/$max on every
+  // upload, new version and delete, and recomputed by RepoStatsService.repair
+  private long paperCount;
+  private long versionCount;
+  private long totalBytes;
+  // Newest version upload in the repo; null until the first upload
+  private Instant lastUploadedAt;
+  // Incremented with every counter update, so the repair job only overwrites
+  // counters nothing has changed since it read them. Not sent to clients.
+  private long statsVersion;
 
   public RepoModel() {
   }
@@ -43,6 +66,28 @@ public class RepoModel {
     return createdAt;
   }
 
+  public long getPaperCount() {
+    return paperCount;
+  }
+
+  public long getVersionCount() {
+    return versionCount;
+  }
+
+  // Sum of the sizes of all versions (identical files count once per version)
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public Instant getLastUploadedAt() {
+    return lastUploadedAt;
+  }
+
+  @JsonIgnore
+  public long getStatsVersion() {
+    return statsVersion;
+  }
+
   public void setName(String name) {
     this.name = name;
   }
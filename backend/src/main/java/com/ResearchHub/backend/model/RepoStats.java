@@ -0,0 +1,12 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+
+// Totals of one repo's papers, computed by Mongo for the statistics repair job
+public record RepoStats(
+    String repoId,
+    long paperCount,
+    long versionCount,
+    long totalBytes,
+    Instant lastUploadedAt) {
+}
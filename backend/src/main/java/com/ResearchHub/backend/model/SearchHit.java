@@ -0,0 +1,13 @@
+package com.ResearchHub.backend.model;
+
+// One ranked /search result; "type" is "repo" or "paper". For repos "text" is
+// the description, for papers it is the latest file name.
+public record SearchHit(
+    String type,
+    String id,
+    String repoId,
+    String title,
+    String text,
+    String ownerEmail,
+    double score) {
+}
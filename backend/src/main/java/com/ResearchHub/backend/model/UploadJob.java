@@ -0,0 +1,85 @@
+package com.ResearchHub.backend.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// In-memory status of a background upload, polled through /papers/uploads/{jobId}
+public class UploadJob {
+  public enum Status {
+    QUEUED, UPLOADING, COMPLETED, FAILED
+  }
+
+  private final String jobId = UUID.randomUUID().toString();
+  private final String ownerEmail;
+  private final String fileName;
+  private final Instant createdAt = Instant.now();
+  private volatile Status status = Status.QUEUED;
+  private volatile String paperId;
+  private volatile int versionNumber;
+  private volatile String error;
+  private volatile Instant updatedAt = createdAt;
+
+  public UploadJob(String ownerEmail, String fileName, String paperId) {
+    this.ownerEmail = ownerEmail;
+    this.fileName = fileName;
+    this.paperId = paperId;
+  }
+
+  public String getJobId() {
+    return jobId;
+  }
+
+  public String getOwnerEmail() {
+    return ownerEmail;
+  }
+
+  public String getFileName() {
+    return fileName;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public String getPaperId() {
+    return paperId;
+  }
+
+  public int getVersionNumber() {
+    return versionNumber;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public boolean isFinished() {
+    return status == Status.COMPLETED || status == Status.FAILED;
+  }
+
+  public void markUploading() {
+    this.status = Status.UPLOADING;
+    this.updatedAt = Instant.now();
+  }
+
+  public void markCompleted(PaperModel paper) {
+    this.paperId = paper.getId();
+    this.versionNumber = paper.getCurrentVersion();
+    this.status = Status.COMPLETED;
+    this.updatedAt = Instant.now();
+  }
+
+  public void markFailed(String error) {
+    this.error = error;
+    this.status = Status.FAILED;
+    this.updatedAt = Instant.now();
+  }
+}
@@ -1,6 +1,7 @@
 package com.ResearchHub.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 // This class maps to the "users" collection in MongoDB
@@ -9,6 +10,8 @@ public class UserModel {
   @Id
   private String id;
   private String username;
+  // Unique, so registration is a single insert that fails on duplicates
+  @Indexed(unique = true)
   private String email;
   private String password;
 
@@ -22,6 +25,13 @@ public class UserModel {
     this.password = password;
   }
 
+  // Copy for responses: same id, username and email, no password hash
+  public UserModel withoutPassword() {
+    UserModel copy = new UserModel(username, email, null);
+    copy.id = id;
+    return copy;
+  }
+
   // Getter for ID (auto-generated by MongoDB)
   public String getId() {
     return id;
@@ -11,6 +11,8 @@ import com.ResearchHub.backend.Repository.UserRepository;
 import com.ResearchHub.backend.model.UserModel;
 import com.ResearchHub.backend.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+
 import org.springframework.lang.NonNull;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,9 +22,11 @@ import jakarta.servlet.http.HttpServletResponse;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
   private final UserRepository userRepository;
+  private final PrincipalCache principalCache;
 
-  public JwtAuthenticationFilter(UserRepository userRepository) {
+  public JwtAuthenticationFilter(UserRepository userRepository, PrincipalCache principalCache) {
     this.userRepository = userRepository;
+    this.principalCache = principalCache;
   }
 
   @Override
@@ -34,15 +38,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       String token = extractJwtFromCookie(request);
       if (token != null && !token.isEmpty()) {
         try {
-          String email = JwtUtil.getEmailFromToken(token);
-          if (email != null) {
-            UserModel user = userRepository.findByEmail(email);
-            if (user != null) {
-              UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                  user, null, Collections.emptyList());
-              SecurityContextHolder.getContext().setAuthentication(auth);
+          UserModel user = principalCache.get(token);
+          if (user == null) {
+            // Cache miss: verify the token and load the user once
+            Claims claims = JwtUtil.parseClaims(token);
+            String email = claims.get("email", String.class);
+            if (email != null) {
+              user = userRepository.findByEmail(email);
+              if (user != null)
+                principalCache.put(token, user, claims.getExpiration());
             }
           }
+          if (user != null) {
+            UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                user, null, Collections.emptyList());
+            SecurityContextHolder.getContext().setAuthentication(auth);
+          }
         } catch (Exception ex) {
           // Invalid/expired token -> ignore and continue without auth
         }
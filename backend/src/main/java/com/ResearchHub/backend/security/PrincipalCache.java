@@ -0,0 +1,121 @@
+package com.ResearchHub.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ResearchHub.backend.model.UserModel;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Bounded cache of authenticated users keyed by a hash of their JWT, so the
+// auth filter skips parsing and the user lookup for tokens it has already seen.
+// Entries never outlive the token they were created from. Hit rate, size and
+// evictions are published as cache.gets / cache.size / cache.evictions
+// tagged cache=principal.
+@Component
+public class PrincipalCache {
+
+  private record Entry(UserModel user, long expiresAtMillis) {
+  }
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+  private final int maxEntries;
+  private final long ttlMillis;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  public PrincipalCache(
+      MeterRegistry registry,
+      @Value("${security.principal-cache.max-entries:10000}") int maxEntries,
+      @Value("${security.principal-cache.ttl-ms:300000}") long ttlMillis) {
+    this.maxEntries = maxEntries;
+    this.ttlMillis = ttlMillis;
+    this.hits = gets(registry, "hit");
+    this.misses = gets(registry, "miss");
+    this.evictions = Counter.builder("cache.evictions")
+        .description("Principals removed to make room for new entries")
+        .tag("cache", "principal")
+        .register(registry);
+    Gauge.builder("cache.size", entries, Map::size)
+        .description("Number of cached principals")
+        .tag("cache", "principal")
+        .register(registry);
+  }
+
+  public UserModel get(String token) {
+    String key = hash(token);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      misses.increment();
+      return null;
+    }
+    if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+      entries.remove(key, entry);
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    return entry.user();
+  }
+
+  public void put(String token, UserModel user, Date tokenExpiry) {
+    long now = System.currentTimeMillis();
+    long expiresAt = now + ttlMillis;
+    if (tokenExpiry != null)
+      expiresAt = Math.min(expiresAt, tokenExpiry.getTime());
+    if (expiresAt <= now)
+      return;
+    if (entries.size() >= maxEntries)
+      evict(now);
+    entries.put(hash(token), new Entry(user, expiresAt));
+  }
+
+  public void invalidate(String token) {
+    if (token == null || token.isEmpty())
+      return;
+    entries.remove(hash(token));
+  }
+
+  // Drops expired entries first; if the cache is still full, arbitrary entries
+  // are removed until there is room again
+  private void evict(long now) {
+    entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    Iterator<String> it = entries.keySet().iterator();
+    while (entries.size() >= maxEntries && it.hasNext()) {
+      it.next();
+      it.remove();
+      evictions.increment();
+    }
+  }
+
+  private static Counter gets(MeterRegistry registry, String result) {
+    return Counter.builder("cache.gets")
+        .description("Principal lookups by the JWT filters")
+        .tag("cache", "principal")
+        .tag("result", result)
+        .register(registry);
+  }
+
+  // Tokens are bearer credentials, so only their digest is kept as the key
+  private static String hash(String token) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
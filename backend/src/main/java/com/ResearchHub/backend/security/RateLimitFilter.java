@@ -0,0 +1,57 @@
+package com.ResearchHub.backend.security;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.ResearchHub.backend.util.RateLimitExceededException;
+import com.ResearchHub.backend.util.RateLimiter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Runs after JwtAuthenticationFilter so uploads and downloads are limited per
+// signed-in user; rejected requests get 429 before any multipart parsing or
+// storage call. The concurrency slot is held until the response is written.
+public class RateLimitFilter extends OncePerRequestFilter {
+  private final RateLimits rateLimits;
+
+  public RateLimitFilter(RateLimits rateLimits) {
+    this.rateLimits = rateLimits;
+  }
+
+  @Override
+  protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain) throws ServletException, IOException {
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    RateLimiter limiter = rateLimits.limiterFor(HttpMethod.valueOf(request.getMethod()), path);
+    if (limiter == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    String client = RateLimits.clientKey(auth == null ? null : auth.getPrincipal(), request.getRemoteAddr());
+    RateLimiter.Permit permit;
+    try {
+      permit = limiter.tryAcquire(client);
+    } catch (RateLimitExceededException ex) {
+      rateLimits.rejected(limiter, ex);
+      response.setStatus(429);
+      response.setHeader("Retry-After", String.valueOf(ex.getRetryAfterSeconds()));
+      response.setHeader("Cache-Control", "no-store");
+      response.setContentType("text/plain;charset=UTF-8");
+      response.getWriter().write("Too many requests: " + ex.getMessage());
+      return;
+    }
+    try (permit) {
+      filterChain.doFilter(request, response);
+    }
+  }
+}
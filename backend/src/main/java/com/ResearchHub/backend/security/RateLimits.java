@@ -0,0 +1,88 @@
+package com.ResearchHub.backend.security;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.ResearchHub.backend.model.UserModel;
+import com.ResearchHub.backend.util.RateLimitExceededException;
+import com.ResearchHub.backend.util.RateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Route groups that move whole files, each with its own per-client limiter.
+// Shared by RateLimitFilter and ReactiveRateLimitFilter so both stacks match
+// the same requests and count rejections the same way (rate_limit.rejections,
+// by group and reason).
+@Component
+public class RateLimits {
+
+  private record Route(HttpMethod method, PathPattern pattern, RateLimiter limiter) {
+  }
+
+  private final List<Route> routes;
+  private final List<RateLimiter> limiters;
+  private final MeterRegistry registry;
+
+  public RateLimits(MeterRegistry registry,
+      @Value("${rate-limits.upload.capacity:10}") int uploadCapacity,
+      @Value("${rate-limits.upload.refill-per-minute:10}") int uploadRefill,
+      @Value("${rate-limits.upload.max-concurrent:2}") int uploadConcurrent,
+      @Value("${rate-limits.download.capacity:60}") int downloadCapacity,
+      @Value("${rate-limits.download.refill-per-minute:120}") int downloadRefill,
+      @Value("${rate-limits.download.max-concurrent:4}") int downloadConcurrent) {
+    this.registry = registry;
+    RateLimiter upload = new RateLimiter("upload", uploadCapacity, uploadRefill, uploadConcurrent);
+    RateLimiter download = new RateLimiter("download", downloadCapacity, downloadRefill, downloadConcurrent);
+    this.limiters = List.of(upload, download);
+    PathPatternParser parser = PathPatternParser.defaultInstance;
+    this.routes = List.of(
+        new Route(HttpMethod.POST, parser.parse("/papers/upload"), upload),
+        // A batch takes one token; its files are paced by papers.upload.batch.*
+        new Route(HttpMethod.POST, parser.parse("/papers/upload-batch"), upload),
+        new Route(HttpMethod.POST, parser.parse("/papers/{paperId}/update"), upload),
+        new Route(HttpMethod.GET, parser.parse("/papers/{paperId}/download"), download),
+        new Route(HttpMethod.GET, parser.parse("/papers/{paperId}/download/{versionNumber}"), download));
+  }
+
+  // Limiter for the request, or null if the route is not limited
+  public RateLimiter limiterFor(HttpMethod method, String path) {
+    PathContainer container = PathContainer.parsePath(path);
+    for (Route route : routes) {
+      if (route.method().equals(method) && route.pattern().matches(container))
+        return route.limiter();
+    }
+    return null;
+  }
+
+  // Drops clients whose buckets are full again with nothing in flight, off
+  // the request path; between sweeps the maps hold the clients seen since
+  @Scheduled(fixedDelayString = "${rate-limits.sweep-interval-ms:60000}")
+  public void sweep() {
+    for (RateLimiter limiter : limiters)
+      limiter.evictIdle();
+  }
+
+  // Signed-in users are limited per account, anonymous downloads per address
+  public static String clientKey(Object principal, String remoteAddress) {
+    if (principal instanceof UserModel user && user.getEmail() != null)
+      return "user:" + user.getEmail();
+    return "ip:" + remoteAddress;
+  }
+
+  public void rejected(RateLimiter limiter, RateLimitExceededException ex) {
+    Counter.builder("rate_limit.rejections")
+        .description("Requests rejected with 429 by the per-client limits")
+        .tag("group", limiter.getName())
+        .tag("reason", ex.getReason())
+        .register(registry)
+        .increment();
+  }
+}
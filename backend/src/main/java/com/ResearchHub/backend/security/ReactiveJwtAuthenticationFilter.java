@@ -0,0 +1,62 @@
+package com.ResearchHub.backend.security;
+
+import java.util.Collections;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.ResearchHub.backend.Repository.ReactiveUserRepository;
+import com.ResearchHub.backend.model.UserModel;
+import com.ResearchHub.backend.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+// WebFlux version of JwtAuthenticationFilter: same cookie, same principal
+// cache, but the user is loaded without blocking the event loop
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+  private final ReactiveUserRepository userRepository;
+  private final PrincipalCache principalCache;
+
+  public ReactiveJwtAuthenticationFilter(ReactiveUserRepository userRepository, PrincipalCache principalCache) {
+    this.userRepository = userRepository;
+    this.principalCache = principalCache;
+  }
+
+  @Override
+  public @NonNull Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+    HttpCookie cookie = exchange.getRequest().getCookies().getFirst("jwt");
+    if (cookie == null || cookie.getValue().isEmpty())
+      return chain.filter(exchange);
+    String token = cookie.getValue();
+
+    return resolveUser(token)
+        .map(user -> new UsernamePasswordAuthenticationToken(user, null, Collections.emptyList()))
+        .flatMap(auth -> chain.filter(exchange)
+            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
+        .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+  }
+
+  private Mono<UserModel> resolveUser(String token) {
+    UserModel cached = principalCache.get(token);
+    if (cached != null)
+      return Mono.just(cached);
+    Claims claims;
+    try {
+      claims = JwtUtil.parseClaims(token);
+    } catch (Exception ex) {
+      // Invalid/expired token -> continue without auth
+      return Mono.empty();
+    }
+    String email = claims.get("email", String.class);
+    if (email == null)
+      return Mono.empty();
+    return userRepository.findByEmail(email)
+        .doOnNext(user -> principalCache.put(token, user, claims.getExpiration()));
+  }
+}
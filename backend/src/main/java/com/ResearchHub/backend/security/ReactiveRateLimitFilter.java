@@ -0,0 +1,67 @@
+package com.ResearchHub.backend.security;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.ResearchHub.backend.util.RateLimitExceededException;
+import com.ResearchHub.backend.util.RateLimiter;
+
+import reactor.core.publisher.Mono;
+
+// WebFlux version of RateLimitFilter; the permit is released when the exchange
+// completes, errors or is cancelled by the client
+public class ReactiveRateLimitFilter implements WebFilter {
+  private final RateLimits rateLimits;
+
+  public ReactiveRateLimitFilter(RateLimits rateLimits) {
+    this.rateLimits = rateLimits;
+  }
+
+  @Override
+  public @NonNull Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+    ServerHttpRequest request = exchange.getRequest();
+    RateLimiter limiter = rateLimits.limiterFor(request.getMethod(), request.getPath().pathWithinApplication().value());
+    if (limiter == null)
+      return chain.filter(exchange);
+
+    String remoteAddress = request.getRemoteAddress() == null ? "unknown"
+        : request.getRemoteAddress().getAddress().getHostAddress();
+    return ReactiveSecurityContextHolder.getContext()
+        .map(SecurityContext::getAuthentication)
+        .map(Authentication::getPrincipal)
+        .map(principal -> RateLimits.clientKey(principal, remoteAddress))
+        .defaultIfEmpty(RateLimits.clientKey(null, remoteAddress))
+        .flatMap(client -> {
+          RateLimiter.Permit permit;
+          try {
+            permit = limiter.tryAcquire(client);
+          } catch (RateLimitExceededException ex) {
+            rateLimits.rejected(limiter, ex);
+            return reject(exchange.getResponse(), ex);
+          }
+          return chain.filter(exchange).doFinally(signal -> permit.close());
+        });
+  }
+
+  private static Mono<Void> reject(ServerHttpResponse response, RateLimitExceededException ex) {
+    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+    response.getHeaders().set("Retry-After", String.valueOf(ex.getRetryAfterSeconds()));
+    response.getHeaders().setCacheControl("no-store");
+    response.getHeaders().setContentType(MediaType.parseMediaType("text/plain;charset=UTF-8"));
+    DataBuffer body = response.bufferFactory()
+        .wrap(("Too many requests: " + ex.getMessage()).getBytes(StandardCharsets.UTF_8));
+    return response.writeWith(Mono.just(body));
+  }
+}
@@ -0,0 +1,137 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+
+// Servlet delivery for ActivityStreamService. An open stream is an async
+// request with no thread attached; each has a bounded queue drained on a
+// virtual thread, so a slow client never holds up the upload worker that
+// published the event or the other streams: a blocked write parks only its
+// own drain. A client that stops reading fills its queue and is dropped.
+// Streams end after a timeout and browsers reconnect with Last-Event-ID.
+@Service
+@Profile("!reactive")
+public class ActivitySseService {
+
+  private final ActivityStreamService bus;
+  private final ExecutorService senders;
+  private final int bufferSize;
+  private final long timeoutMs;
+  private final Set<EmitterSubscriber> open = ConcurrentHashMap.newKeySet();
+
+  public ActivitySseService(ActivityStreamService bus,
+      @Value("${papers.activity.stream.buffer-size:256}") int bufferSize,
+      @Value("${papers.activity.stream.timeout-ms:1800000}") long timeoutMs) {
+    this.bus = bus;
+    this.bufferSize = bufferSize;
+    this.timeoutMs = timeoutMs;
+    this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("activity-sse-", 1).factory());
+  }
+
+  public SseEmitter open(String repoId, String lastEventId) {
+    SseEmitter emitter = new SseEmitter(timeoutMs);
+    EmitterSubscriber subscriber = new EmitterSubscriber(emitter);
+    open.add(subscriber);
+    Runnable unsubscribe = bus.subscribe(repoId, lastEventId, subscriber);
+    Runnable cleanup = () -> {
+      subscriber.closed = true;
+      open.remove(subscriber);
+      unsubscribe.run();
+    };
+    emitter.onCompletion(cleanup);
+    emitter.onTimeout(cleanup);
+    emitter.onError(e -> cleanup.run());
+    return emitter;
+  }
+
+  // Comment lines keep idle connections from being cut by proxies
+  @Scheduled(fixedDelayString = "${papers.activity.stream.heartbeat-ms:25000}")
+  public void heartbeat() {
+    for (EmitterSubscriber subscriber : open) {
+      // Even the heartbeats are backed up: the client has stopped reading
+      if (!subscriber.closed && !subscriber.enqueue(SseEmitter.event().comment("keep-alive")))
+        subscriber.close();
+    }
+  }
+
+  private final class EmitterSubscriber implements ActivityStreamService.Subscriber {
+    private final SseEmitter emitter;
+    private final ArrayBlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(bufferSize);
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    volatile boolean closed;
+
+    EmitterSubscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    @Override
+    public boolean offer(ActivityStreamService.Entry entry) {
+      SseEmitter.SseEventBuilder event = SseEmitter.event().name(entry.type());
+      if (entry.id() != null)
+        event.id(entry.id());
+      event.data(entry.event() != null ? entry.event() : ActivityStreamService.EMPTY_DATA);
+      return enqueue(event);
+    }
+
+    boolean enqueue(SseEmitter.SseEventBuilder event) {
+      if (closed || !queue.offer(event))
+        return false;
+      schedule();
+      return true;
+    }
+
+    // Called by the bus and the heartbeat. complete() waits for a send in
+    // progress, so it runs on a virtual thread rather than the caller's.
+    @Override
+    public void close() {
+      closed = true;
+      if (!completed.compareAndSet(false, true))
+        return;
+      try {
+        senders.execute(emitter::complete);
+      } catch (RejectedExecutionException e) {
+        // Shutting down; the container ends the request
+      }
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true))
+        senders.execute(this::drain);
+    }
+
+    private void drain() {
+      try {
+        SseEmitter.SseEventBuilder event;
+        while (!closed && (event = queue.poll()) != null)
+          emitter.send(event);
+      } catch (IOException | IllegalStateException e) {
+        // Client went away; the emitter callbacks unsubscribe it
+        closed = true;
+      } finally {
+        scheduled.set(false);
+        if (!closed && !queue.isEmpty())
+          schedule();
+      }
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    senders.shutdownNow();
+  }
+}
@@ -0,0 +1,201 @@
+package com.ResearchHub.backend.service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.event.PaperDeletedEvent;
+import com.ResearchHub.backend.event.PaperVersionUploadedEvent;
+import com.ResearchHub.backend.model.ActivityEvent;
+import com.ResearchHub.backend.model.PaperModel;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// In-process bus behind /papers/activity/{repoId}/stream. Paper events are
+// turned into ActivityEvents and fanned out to the subscribers of their repo.
+// Each repo keeps a small ring of recent events so a reconnecting client can
+// resume from its Last-Event-ID; if that is no longer possible it is sent a
+// "reset" entry and reloads /papers/activity instead. Subscribers must accept
+// events without blocking; one whose buffer is full is dropped and resumes on
+// reconnect. Stack-specific delivery is in ActivitySseService and
+// ReactiveActivitySseService.
+@Service
+public class ActivityStreamService {
+
+  public static final String TYPE_ACTIVITY = "activity";
+  public static final String TYPE_RESET = "reset";
+
+  // One message for a client. Activity entries have an id of the form
+  // "<process epoch>-<sequence>"; reset entries have neither id nor event.
+  public record Entry(String id, String type, ActivityEvent event) {
+  }
+
+  public interface Subscriber {
+    // Must not block; false means the subscriber cannot keep up
+    boolean offer(Entry entry);
+
+    // Called once when the bus drops the subscriber
+    void close();
+  }
+
+  // Payload of reset entries; browsers ignore SSE events without data
+  public static final String EMPTY_DATA = "{}";
+
+  private static final Entry RESET = new Entry(null, TYPE_RESET, null);
+
+  // Ids from another process (before a restart) can never be resumed
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong sequence = new AtomicLong();
+  private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+  private final int replaySize;
+  private final long retentionNanos;
+
+  private final class Channel {
+    final ArrayDeque<Sequenced> recent = new ArrayDeque<>();
+    final List<Subscriber> subscribers = new ArrayList<>();
+    // Events up to this sequence are not (or no longer) in "recent"
+    long floor = sequence.get();
+    long lastUsedNanos = System.nanoTime();
+  }
+
+  private record Sequenced(long sequence, Entry entry) {
+  }
+
+  public ActivityStreamService(MeterRegistry registry,
+      @Value("${papers.activity.stream.replay-size:100}") int replaySize,
+      @Value("${papers.activity.stream.retention-minutes:10}") long retentionMinutes) {
+    this.replaySize = replaySize;
+    this.retentionNanos = TimeUnit.MINUTES.toNanos(retentionMinutes);
+    Gauge.builder("activity.stream.subscribers", this, ActivityStreamService::subscriberCount)
+        .description("Open activity streams")
+        .register(registry);
+  }
+
+  // Registers the subscriber for a repo. Events after lastEventId (or a reset
+  // entry) are offered first, under the same lock as live events, so nothing
+  // is missed or sent twice. The returned Runnable unsubscribes.
+  public Runnable subscribe(String repoId, String lastEventId, Subscriber subscriber) {
+    channels.compute(repoId, (key, existing) -> {
+      Channel channel = existing != null ? existing : new Channel();
+      synchronized (channel) {
+        channel.lastUsedNanos = System.nanoTime();
+        boolean caughtUp = lastEventId == null || lastEventId.isBlank() || replay(channel, lastEventId, subscriber);
+        if (caughtUp)
+          channel.subscribers.add(subscriber);
+        else
+          subscriber.close();
+      }
+      return channel;
+    });
+    return () -> unsubscribe(repoId, subscriber);
+  }
+
+  public void unsubscribe(String repoId, Subscriber subscriber) {
+    Channel channel = channels.get(repoId);
+    if (channel == null)
+      return;
+    synchronized (channel) {
+      channel.subscribers.remove(subscriber);
+      channel.lastUsedNanos = System.nanoTime();
+    }
+  }
+
+  @EventListener
+  public void onVersionUploaded(PaperVersionUploadedEvent event) {
+    PaperModel.Version version = event.version();
+    publish(event.repoId(), new ActivityEvent(event.paperId(), event.paperTitle(), event.ownerEmail(),
+        version.getVersionNumber(), version.getFileName(), version.getFileType(), version.getUploadedAt(),
+        version.getUrl(), version.getVersionNumber() == 1 ? "uploaded" : "updated"));
+  }
+
+  @EventListener
+  public void onPaperDeleted(PaperDeletedEvent event) {
+    publish(event.repoId(), new ActivityEvent(event.paperId(), event.paperTitle(), event.ownerEmail(),
+        event.currentVersion(), null, null, Instant.now(), null, "deleted"));
+  }
+
+  // Repos nobody has listened to recently need no replay ring either
+  void publish(String repoId, ActivityEvent event) {
+    Channel channel = channels.get(repoId);
+    if (channel == null)
+      return;
+    synchronized (channel) {
+      long seq = sequence.incrementAndGet();
+      Entry entry = new Entry(epoch + "-" + seq, TYPE_ACTIVITY, event);
+      channel.recent.addLast(new Sequenced(seq, entry));
+      while (channel.recent.size() > replaySize)
+        channel.floor = channel.recent.removeFirst().sequence();
+
+      Iterator<Subscriber> it = channel.subscribers.iterator();
+      while (it.hasNext()) {
+        Subscriber subscriber = it.next();
+        if (!subscriber.offer(entry)) {
+          it.remove();
+          subscriber.close();
+        }
+      }
+    }
+  }
+
+  // Forgets repos without subscribers once their ring is too old to be
+  // useful for a reconnect
+  @Scheduled(fixedDelayString = "${papers.activity.stream.sweep-interval-ms:60000}")
+  public void sweep() {
+    long now = System.nanoTime();
+    for (String repoId : channels.keySet()) {
+      channels.computeIfPresent(repoId, (key, channel) -> {
+        synchronized (channel) {
+          boolean idle = channel.subscribers.isEmpty() && now - channel.lastUsedNanos > retentionNanos;
+          return idle ? null : channel;
+        }
+      });
+    }
+  }
+
+  public int subscriberCount() {
+    int count = 0;
+    for (Channel channel : channels.values()) {
+      synchronized (channel) {
+        count += channel.subscribers.size();
+      }
+    }
+    return count;
+  }
+
+  // Offers what the client missed, or a reset entry when the gap is not in
+  // the ring. Returns false if the subscriber could not take the backlog.
+  private boolean replay(Channel channel, String lastEventId, Subscriber subscriber) {
+    long last = parseSequence(lastEventId);
+    if (last < channel.floor || last > sequence.get())
+      return subscriber.offer(RESET);
+    for (Sequenced sequenced : channel.recent) {
+      if (sequenced.sequence() > last && !subscriber.offer(sequenced.entry()))
+        return false;
+    }
+    return true;
+  }
+
+  // -1 for ids of another process or malformed ids, which forces a reset
+  private long parseSequence(String id) {
+    int sep = id.lastIndexOf('-');
+    if (sep < 0 || !id.substring(0, sep).equals(epoch))
+      return -1;
+    try {
+      return Long.parseLong(id.substring(sep + 1));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+}
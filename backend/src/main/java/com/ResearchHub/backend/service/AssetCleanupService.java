@@ -0,0 +1,113 @@
+package com.ResearchHub.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.PendingDeletionRepository;
+import com.ResearchHub.backend.model.PendingDeletionModel;
+
+import jakarta.annotation.PreDestroy;
+
+// Removes storage assets after their Mongo documents are gone. Every request is
+// first recorded in pending_deletions, then attempted in the background; failed
+// ids stay recorded and are retried with exponential backoff.
+@Service
+public class AssetCleanupService {
+
+  private static final Logger log = LoggerFactory.getLogger(AssetCleanupService.class);
+
+  private final CloudinaryService cloudinaryService;
+  private final PendingDeletionRepository pendingDeletionRepository;
+  private final ThreadPoolExecutor executor;
+  // How long a freshly recorded deletion is left to its immediate attempt
+  // before the scheduled sweep may pick it up as well
+  private final Duration attemptLease;
+  private final Duration baseBackoff;
+  private final Duration maxBackoff;
+
+  public AssetCleanupService(
+      CloudinaryService cloudinaryService,
+      PendingDeletionRepository pendingDeletionRepository,
+      @Value("${papers.cleanup.workers:2}") int workers,
+      @Value("${papers.cleanup.queue-capacity:100}") int queueCapacity,
+      @Value("${papers.cleanup.attempt-lease-ms:300000}") long attemptLeaseMs,
+      @Value("${papers.cleanup.base-backoff-ms:60000}") long baseBackoffMs,
+      @Value("${papers.cleanup.max-backoff-ms:3600000}") long maxBackoffMs) {
+    this.cloudinaryService = cloudinaryService;
+    this.pendingDeletionRepository = pendingDeletionRepository;
+    this.attemptLease = Duration.ofMillis(attemptLeaseMs);
+    this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+    this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+    this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "asset-cleanup");
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  // Records the ids durably and schedules an immediate background attempt
+  public void deleteAssets(List<String> publicIds) {
+    if (publicIds.isEmpty())
+      return;
+    PendingDeletionModel pending = pendingDeletionRepository.save(
+        new PendingDeletionModel(publicIds, Instant.now().plus(attemptLease)));
+    try {
+      executor.execute(() -> attempt(pending));
+    } catch (RejectedExecutionException e) {
+      // Busy: the retry sweep will pick the record up once the lease runs out
+      log.debug("Cleanup queue full, deferring pending deletion {}", pending.getId());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${papers.cleanup.retry-interval-ms:60000}")
+  public void retryDue() {
+    List<PendingDeletionModel> due = pendingDeletionRepository
+        .findTop50ByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(Instant.now());
+    for (PendingDeletionModel pending : due) {
+      attempt(pending);
+    }
+  }
+
+  private void attempt(PendingDeletionModel pending) {
+    List<String> failed;
+    try {
+      failed = cloudinaryService.deleteFiles(pending.getPublicIds());
+    } catch (RuntimeException e) {
+      failed = pending.getPublicIds();
+    }
+    if (failed.isEmpty()) {
+      pendingDeletionRepository.deleteById(pending.getId());
+      return;
+    }
+
+    int attempts = pending.getAttempts() + 1;
+    long backoffMs = Math.min(maxBackoff.toMillis(),
+        baseBackoff.toMillis() * (1L << Math.min(attempts - 1, 20)));
+    pending.setPublicIds(List.copyOf(failed));
+    pending.setAttempts(attempts);
+    pending.setNextAttemptAt(Instant.now().plusMillis(backoffMs));
+    pending.setLastError(failed.size() + " asset(s) could not be deleted");
+    pendingDeletionRepository.save(pending);
+    log.warn("Failed to delete {} storage asset(s), attempt {}; retrying in {} ms",
+        failed.size(), attempts, backoffMs);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,107 @@
+package com.ResearchHub.backend.service;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.BlobRepository;
+import com.ResearchHub.backend.model.BlobModel;
+import com.ResearchHub.backend.model.PaperModel;
+
+// Content-addressed storage in front of Cloudinary: identical bytes are
+// uploaded once and shared by every version that contains them. Each version
+// holds one reference on its blob; the asset is deleted with the last one.
+@Service
+public class BlobStoreService {
+
+  private static final Logger log = LoggerFactory.getLogger(BlobStoreService.class);
+
+  // Where a version's file lives; "reused" is true when no upload was needed
+  public record StoredBlob(String url, String publicId, String sha256, long size, boolean reused) {
+  }
+
+  private final CloudinaryService cloudinaryService;
+  private final AssetCleanupService assetCleanupService;
+  private final BlobRepository blobRepository;
+  private final PreviewService previewService;
+
+  public BlobStoreService(CloudinaryService cloudinaryService, AssetCleanupService assetCleanupService,
+      BlobRepository blobRepository, PreviewService previewService) {
+    this.cloudinaryService = cloudinaryService;
+    this.assetCleanupService = assetCleanupService;
+    this.blobRepository = blobRepository;
+    this.previewService = previewService;
+  }
+
+  // Returns a reference to the stored copy of "file", uploading it only when
+  // no blob with the same digest exists yet
+  public StoredBlob store(Path file, String sha256, long size, String folder) throws Exception {
+    BlobModel existing = blobRepository.acquire(sha256);
+    if (existing != null)
+      return new StoredBlob(existing.getUrl(), existing.getPublicId(), sha256, size, true);
+
+    Map<String, Object> upload = cloudinaryService.uploadFile(file, folder);
+    String url = (String) upload.get("secure_url");
+    String publicId = (String) upload.get("public_id");
+    try {
+      blobRepository.insert(new BlobModel(sha256, url, publicId, size));
+      return new StoredBlob(url, publicId, sha256, size, false);
+    } catch (DuplicateKeyException e) {
+      // A concurrent upload of the same bytes registered first: use its copy
+      BlobModel winner = blobRepository.acquire(sha256);
+      if (winner != null) {
+        assetCleanupService.deleteAssets(List.of(publicId));
+        return new StoredBlob(winner.getUrl(), winner.getPublicId(), sha256, size, true);
+      }
+      // The registered blob is on its way out; this copy stays unshared and
+      // is deleted directly, since no blob record names its publicId
+      log.debug("Blob {} is being released, storing {} unshared", sha256, publicId);
+      return new StoredBlob(url, publicId, sha256, size, false);
+    }
+  }
+
+  // Gives back the reference taken by store(), e.g. when the paper could not be written
+  public void release(StoredBlob stored) {
+    List<String> unreferenced = new ArrayList<>();
+    release(stored.sha256(), stored.publicId(), unreferenced);
+    deleteUnreferenced(unreferenced);
+  }
+
+  // Drops the references held by the given versions and queues deletion of
+  // every asset nobody points at any more
+  public void release(List<PaperModel.Version> versions) {
+    List<String> unreferenced = new ArrayList<>();
+    for (PaperModel.Version version : versions) {
+      release(version.getSha256(), version.getPublicId(), unreferenced);
+    }
+    deleteUnreferenced(unreferenced);
+  }
+
+  private void deleteUnreferenced(List<String> publicIds) {
+    assetCleanupService.deleteAssets(publicIds);
+    previewService.remove(publicIds);
+  }
+
+  private void release(String sha256, String publicId, List<String> unreferenced) {
+    if (publicId == null || publicId.isBlank())
+      return;
+    if (sha256 == null) {
+      // Stored before dedup: the asset is not shared
+      unreferenced.add(publicId);
+      return;
+    }
+    BlobModel blob = blobRepository.release(sha256, publicId);
+    if (blob == null) {
+      // An unshared copy: no blob record names this publicId
+      unreferenced.add(publicId);
+    } else if (blob.getRefCount() <= 0 && blobRepository.deleteIfUnreferenced(sha256)) {
+      unreferenced.add(publicId);
+    }
+  }
+}
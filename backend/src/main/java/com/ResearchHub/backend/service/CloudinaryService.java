@@ -1,44 +1,115 @@
 package com.ResearchHub.backend.service;
 
+import com.ResearchHub.backend.util.Bulkhead;
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class CloudinaryService {
 
+  // Maximum number of public ids accepted by one Admin API delete call
+  private static final int DELETE_BATCH_SIZE = 100;
+
   private final Cloudinary cloudinary;
+  // Files above this size are sent with the chunked upload API
+  private final long chunkedThresholdBytes;
+  private final int chunkSizeBytes;
+  // Every Cloudinary API call holds a permit for its whole duration
+  private final Bulkhead storageBulkhead;
+  private final StorageMetrics metrics;
 
   public CloudinaryService(
+      @Qualifier("storageBulkhead") Bulkhead storageBulkhead,
+      StorageMetrics metrics,
       @Value("${cloudinary.cloud_name}") String cloudName,
       @Value("${cloudinary.api_key}") String apiKey,
-      @Value("${cloudinary.api_secret}") String apiSecret) {
+      @Value("${cloudinary.api_secret}") String apiSecret,
+      @Value("${cloudinary.upload_prefix:https://api.cloudinary.com}") String uploadPrefix,
+      @Value("${cloudinary.chunked-threshold-bytes:10485760}") long chunkedThresholdBytes,
+      @Value("${cloudinary.chunk-size-bytes:6291456}") int chunkSizeBytes) {
     this.cloudinary = new Cloudinary(ObjectUtils.asMap(
         "cloud_name", cloudName,
         "api_key", apiKey,
-        "api_secret", apiSecret));
+        "api_secret", apiSecret,
+        "upload_prefix", uploadPrefix));
+    this.chunkedThresholdBytes = chunkedThresholdBytes;
+    this.chunkSizeBytes = chunkSizeBytes;
+    this.storageBulkhead = storageBulkhead;
+    this.metrics = metrics;
   }
 
+  // Uploads a spooled file; the SDK streams it from disk instead of a byte[]
   @SuppressWarnings("unchecked")
-  public Map<String, Object> uploadFile(MultipartFile file, String folder) throws IOException {
-    Map<?, ?> raw = cloudinary.uploader().upload(
-        file.getBytes(),
-        ObjectUtils.asMap(
-            "folder", folder,
-            "resource_type", "raw"));
+  public Map<String, Object> uploadFile(Path path, String folder) throws IOException {
+    File file = path.toFile();
+    Map<?, ?> raw;
+    try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+      raw = metrics.observation("upload").observeChecked(() -> upload(file, folder));
+    }
+    metrics.uploaded(file.length());
     return (Map<String, Object>) raw;
   }
 
+  private Map<?, ?> upload(File file, String folder) throws IOException {
+    Map<?, ?> raw;
+    if (file.length() > chunkedThresholdBytes) {
+      raw = cloudinary.uploader().uploadLarge(
+          file,
+          ObjectUtils.asMap(
+              "folder", folder,
+              "resource_type", "raw",
+              "chunk_size", chunkSizeBytes));
+    } else {
+      raw = cloudinary.uploader().upload(
+          file,
+          ObjectUtils.asMap(
+              "folder", folder,
+              "resource_type", "raw"));
+    }
+    return raw;
+  }
+
   @SuppressWarnings("unchecked")
   public Map<String, Object> deleteFile(String publicId) throws IOException {
-    Map<?, ?> raw = cloudinary.uploader().destroy(
-        publicId,
-        ObjectUtils.asMap("resource_type", "raw"));
+    Map<?, ?> raw;
+    try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+      raw = metrics.observation("destroy").observeChecked(() -> cloudinary.uploader().destroy(
+          publicId,
+          ObjectUtils.asMap("resource_type", "raw")));
+    }
     return (Map<String, Object>) raw;
   }
+
+  // Deletes many assets through the Admin API's multi-id delete, 100 ids per
+  // call. Returns the ids that could not be confirmed as deleted; ids the
+  // provider reports as already missing count as deleted.
+  public List<String> deleteFiles(List<String> publicIds) {
+    List<String> failed = new ArrayList<>();
+    for (int from = 0; from < publicIds.size(); from += DELETE_BATCH_SIZE) {
+      List<String> batch = publicIds.subList(from, Math.min(from + DELETE_BATCH_SIZE, publicIds.size()));
+      try (Bulkhead.Permit permit = storageBulkhead.acquire()) {
+        Map<?, ?> raw = metrics.observation("delete_resources").observeChecked(
+            () -> cloudinary.api().deleteResources(batch, ObjectUtils.asMap("resource_type", "raw")));
+        Map<?, ?> deleted = raw.get("deleted") instanceof Map<?, ?> map ? map : Map.of();
+        for (String publicId : batch) {
+          Object status = deleted.get(publicId);
+          if (!"deleted".equals(status) && !"not_found".equals(status))
+            failed.add(publicId);
+        }
+      } catch (Exception e) {
+        failed.addAll(batch);
+      }
+    }
+    return failed;
+  }
 }
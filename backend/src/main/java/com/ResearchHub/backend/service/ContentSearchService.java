@@ -0,0 +1,108 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.PaperTextRepository;
+import com.ResearchHub.backend.model.ContentHit;
+import com.ResearchHub.backend.model.PaperTextModel;
+import com.ResearchHub.backend.util.TextCompression;
+
+// Search over the text extracted from paper files. The term records in
+// paper_texts are loaded into an in-memory SearchIndex at startup and added to
+// as extraction finishes; snippets are cut from the stored compressed text.
+@Service
+public class ContentSearchService {
+
+  private static final Logger log = LoggerFactory.getLogger(ContentSearchService.class);
+  private static final int SNIPPET_CONTEXT = 100;
+
+  private final MongoTemplate mongoTemplate;
+  private final PaperTextRepository paperTextRepository;
+  private final SearchIndex index = new SearchIndex();
+  private final Map<String, ContentHit> entries = new ConcurrentHashMap<>();
+
+  public ContentSearchService(MongoTemplate mongoTemplate, PaperTextRepository paperTextRepository) {
+    this.mongoTemplate = mongoTemplate;
+    this.paperTextRepository = paperTextRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    Query query = Query.query(Criteria.where("error").is(null));
+    query.fields().include("id", "paperId", "repoId", "versionNumber", "terms");
+    try (Stream<PaperTextModel> records = mongoTemplate.stream(query, PaperTextModel.class)) {
+      records.forEach(this::index);
+    }
+    log.info("Content index loaded with {} paper versions", index.size());
+  }
+
+  public void index(PaperTextModel record) {
+    if (record.getTerms() == null || record.getTerms().isEmpty())
+      return;
+    entries.put(record.getId(), new ContentHit(record.getPaperId(), record.getRepoId(),
+        record.getVersionNumber(), 0));
+    index.putTerms(record.getId(), record.getTerms());
+  }
+
+  public void removePaper(String paperId, List<Integer> versionNumbers) {
+    for (int versionNumber : versionNumbers) {
+      String docId = PaperTextModel.idFor(paperId, versionNumber);
+      index.remove(docId);
+      entries.remove(docId);
+    }
+    paperTextRepository.deleteByPaperId(paperId);
+  }
+
+  public List<ContentHit> search(String query, int limit) {
+    List<ContentHit> hits = new ArrayList<>();
+    for (SearchIndex.Hit hit : index.search(query, limit, docId -> true)) {
+      ContentHit entry = entries.get(hit.docId());
+      if (entry != null)
+        hits.add(new ContentHit(entry.paperId(), entry.repoId(), entry.versionNumber(), hit.score()));
+    }
+    return hits;
+  }
+
+  // Text around the first occurrence of any query term, or null when the
+  // version has no extracted text or no term occurs in it
+  public String snippet(String paperId, int versionNumber, String query) throws IOException {
+    PaperTextModel record = paperTextRepository.findById(PaperTextModel.idFor(paperId, versionNumber)).orElse(null);
+    if (record == null || record.getCompressedText() == null)
+      return null;
+    String text = TextCompression.decompress(record.getCompressedText());
+
+    int best = -1;
+    int bestLength = 0;
+    for (String token : SearchIndex.tokenize(query)) {
+      Matcher matcher = Pattern.compile(Pattern.quote(token), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+          .matcher(text);
+      if (matcher.find() && (best < 0 || matcher.start() < best)) {
+        best = matcher.start();
+        bestLength = matcher.end() - matcher.start();
+      }
+    }
+    if (best < 0)
+      return null;
+
+    int from = Math.max(0, best - SNIPPET_CONTEXT);
+    int to = Math.min(text.length(), best + bestLength + SNIPPET_CONTEXT);
+    String window = text.substring(from, to).replaceAll("\\s+", " ").trim();
+    return (from > 0 ? "…" : "") + window + (to < text.length() ? "…" : "");
+  }
+}
@@ -0,0 +1,57 @@
+package com.ResearchHub.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Meters for paper downloads, shared by both download services:
+//   papers.download.origin.ttfb  time until the origin answered with headers, by status
+//   papers.download.bytes        bytes sent per download, by source (cache, origin)
+//   papers.download.failures     downloads that could not be completed, by reason
+@Component
+public class DownloadMetrics {
+
+  public static final String SOURCE_CACHE = "cache";
+  public static final String SOURCE_ORIGIN = "origin";
+  public static final String FAILURE_ORIGIN_STATUS = "origin_status";
+  public static final String FAILURE_IO = "io";
+
+  private final MeterRegistry registry;
+
+  public DownloadMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  public Timer.Sample startOriginRequest() {
+    return Timer.start(registry);
+  }
+
+  // "status" is the origin's HTTP status, or 0 if it could not be reached
+  public void originResponded(Timer.Sample sample, int status) {
+    sample.stop(Timer.builder("papers.download.origin.ttfb")
+        .description("Time until the storage origin returned response headers")
+        .tag("status", status == 0 ? "none" : String.valueOf(status))
+        .register(registry));
+  }
+
+  public void streamed(String source, long bytes) {
+    DistributionSummary.builder("papers.download.bytes")
+        .description("Bytes sent to the client per download")
+        .baseUnit("bytes")
+        .tag("source", source)
+        .serviceLevelObjectives(64 * 1024, 1024 * 1024, 5 * 1024 * 1024, 10 * 1024 * 1024, 20 * 1024 * 1024)
+        .register(registry)
+        .record(bytes);
+  }
+
+  public void failed(String reason) {
+    Counter.builder("papers.download.failures")
+        .description("Downloads that failed before the whole body was sent")
+        .tag("reason", reason)
+        .register(registry)
+        .increment();
+  }
+}
@@ -0,0 +1,48 @@
+package com.ResearchHub.backend.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.ChangeCounterRepository;
+import com.ResearchHub.backend.Repository.PaperRepository;
+import com.ResearchHub.backend.model.ChangeCounterModel;
+
+// Fills in fields that papers written by older releases lack. Runs once at
+// startup, before the other startup jobs (the repo statistics repair reads
+// lastUploadedAt), and finds nothing to do once every paper has been updated.
+@Service
+public class PaperBackfillService {
+
+  private static final Logger log = LoggerFactory.getLogger(PaperBackfillService.class);
+
+  private final PaperRepository paperRepository;
+  private final ChangeCounterRepository changeCounters;
+
+  public PaperBackfillService(PaperRepository paperRepository, ChangeCounterRepository changeCounters) {
+    this.paperRepository = paperRepository;
+    this.changeCounters = changeCounters;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void backfill() {
+    try {
+      List<String> repoIds = paperRepository.backfillLastUploadedAt();
+      if (repoIds.isEmpty())
+        return;
+      // sort=recent listings of these repos change order, so cached copies
+      // must not be revalidated
+      changeCounters.bump(repoIds.stream().map(ChangeCounterModel::repo).toArray(String[]::new));
+      log.info("Backfilled lastUploadedAt on papers of {} repo(s)", repoIds.size());
+    } catch (RuntimeException e) {
+      log.warn("lastUploadedAt backfill failed, will retry on next startup", e);
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.ResearchHub.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.PaperDeletionRepository;
+import com.ResearchHub.backend.Repository.PaperRepository;
+import com.ResearchHub.backend.model.PaperDeletionModel;
+import com.ResearchHub.backend.model.PaperModel;
+
+// Makes paper deletion safe against crashes. The paper's versions are
+// recorded in paper_deletions before the document is removed, and the record
+// is worked off afterwards: extracted text is dropped and each version's blob
+// reference released (which queues unreferenced assets in pending_deletions).
+// A record left behind by a crash or an error is resumed by the sweep once its
+// lease runs out; if the paper still exists the delete never happened and the
+// record is dropped instead.
+@Service
+public class PaperDeletionService {
+
+  private static final Logger log = LoggerFactory.getLogger(PaperDeletionService.class);
+
+  private final PaperDeletionRepository paperDeletionRepository;
+  private final PaperRepository paperRepository;
+  private final BlobStoreService blobStoreService;
+  private final ContentSearchService contentSearchService;
+  // How long a record is left to the request that wrote it before the sweep
+  // may resume it
+  private final Duration lease;
+
+  public PaperDeletionService(
+      PaperDeletionRepository paperDeletionRepository,
+      PaperRepository paperRepository,
+      BlobStoreService blobStoreService,
+      ContentSearchService contentSearchService,
+      @Value("${papers.deletion.lease-ms:300000}") long leaseMs) {
+    this.paperDeletionRepository = paperDeletionRepository;
+    this.paperRepository = paperRepository;
+    this.blobStoreService = blobStoreService;
+    this.contentSearchService = contentSearchService;
+    this.lease = Duration.ofMillis(leaseMs);
+  }
+
+  // Records the deletion; call before removing the paper document. Returns
+  // null when a deletion of the paper is already recorded, so concurrent
+  // deletes of one paper never share (and release through) the same record.
+  public PaperDeletionModel begin(PaperModel paper) {
+    try {
+      return paperDeletionRepository.insert(new PaperDeletionModel(paper, Instant.now().plus(lease)));
+    } catch (DuplicateKeyException e) {
+      return null;
+    }
+  }
+
+  // Drops a record whose paper was not removed after all; nothing is released
+  public void abandon(PaperDeletionModel record) {
+    paperDeletionRepository.deleteById(record.getId());
+  }
+
+  // Releases what the deleted paper held and removes the record. Failures are
+  // logged and left to the sweep, since the paper itself is already gone.
+  public void finish(PaperDeletionModel record) {
+    try {
+      release(record);
+    } catch (RuntimeException e) {
+      log.warn("Deletion of paper {} left for retry: {}", record.getId(), e.getMessage());
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${papers.deletion.retry-interval-ms:60000}")
+  public void resumeAbandoned() {
+    List<PaperDeletionModel> due = paperDeletionRepository
+        .findTop50ByRetryAfterLessThanEqualOrderByRetryAfterAsc(Instant.now());
+    for (PaperDeletionModel record : due) {
+      try {
+        if (paperRepository.existsById(record.getId())) {
+          paperDeletionRepository.deleteById(record.getId());
+          continue;
+        }
+        release(record);
+      } catch (RuntimeException e) {
+        record.setRetryAfter(Instant.now().plus(lease));
+        paperDeletionRepository.save(record);
+        log.warn("Deletion of paper {} failed again: {}", record.getId(), e.getMessage());
+      }
+    }
+  }
+
+  private void release(PaperDeletionModel record) {
+    List<Integer> versionNumbers = new ArrayList<>();
+    for (PaperModel.Version version : record.getVersions())
+      versionNumbers.add(version.getVersionNumber());
+    contentSearchService.removePaper(record.getId(), versionNumbers);
+
+    // Each version comes off the record before its reference is dropped: a
+    // crash in between keeps one file too many, never releases one twice
+    while (!record.getVersions().isEmpty()) {
+      PaperModel.Version version = record.getVersions().remove(record.getVersions().size() - 1);
+      paperDeletionRepository.save(record);
+      blobStoreService.release(List.of(version));
+    }
+    paperDeletionRepository.deleteById(record.getId());
+  }
+}
@@ -0,0 +1,408 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.util.Bulkhead;
+import com.ResearchHub.backend.util.BulkheadFullException;
+
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Streams stored paper files to the client without buffering whole files in
+// memory. Versions are immutable, so they are served from the local
+// PaperFileCache when possible and only fetched from the origin on a miss.
+@Service
+public class PaperDownloadService {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  // Origin headers relayed back to the client on a range pass-through
+  private static final List<String> RELAYED_RESPONSE_HEADERS = List.of(
+      "Content-Length", "Content-Range");
+
+  static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+  static final String REVALIDATE_CACHE_CONTROL = "no-cache";
+
+  // Shared client: connections are pooled and kept alive between downloads
+  private final HttpClient httpClient;
+  private final Duration responseTimeout;
+  private final PaperFileCache fileCache;
+  // Held for each origin fetch, including the time spent streaming the body
+  private final Bulkhead originBulkhead;
+  private final DownloadMetrics metrics;
+
+  public PaperDownloadService(
+      PaperFileCache fileCache,
+      @Qualifier("originBulkhead") Bulkhead originBulkhead,
+      DownloadMetrics metrics,
+      @Value("${papers.download.connect-timeout-ms:10000}") long connectTimeoutMs,
+      @Value("${papers.download.response-timeout-ms:30000}") long responseTimeoutMs) {
+    this.fileCache = fileCache;
+    this.originBulkhead = originBulkhead;
+    this.metrics = metrics;
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+        .build();
+    this.responseTimeout = Duration.ofMillis(responseTimeoutMs);
+  }
+
+  // Writes the given version into the servlet response, honouring
+  // If-None-Match, Range and If-Range. "immutable" marks URLs that always name
+  // the same version; URLs that follow the latest version must revalidate.
+  // Origin fetches take a permit from the origin bulkhead before any header is
+  // written, so a BulkheadFullException can still be answered with a 503.
+  public void stream(PaperModel.Version version, boolean inline, boolean immutable,
+      HttpServletRequest request, HttpServletResponse response) throws IOException {
+    try {
+      streamVersion(version, inline, immutable, request, response);
+    } catch (IOException e) {
+      // Origin failures and clients that disconnect mid-body
+      metrics.failed(DownloadMetrics.FAILURE_IO);
+      throw e;
+    }
+  }
+
+  private void streamVersion(PaperModel.Version version, boolean inline, boolean immutable,
+      HttpServletRequest request, HttpServletResponse response) throws IOException {
+    String publicId = version.getPublicId();
+    if (publicId == null || publicId.isBlank()) {
+      // Legacy rows without a publicId cannot be cached or validated
+      try (Bulkhead.Permit permit = originBulkhead.acquire()) {
+        streamFromOrigin(version, inline, request.getHeader("Range"), null, null, response);
+      }
+      return;
+    }
+
+    String etag = etagFor(publicId);
+    String cacheControl = immutable ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL;
+    if (matches(request.getHeader("If-None-Match"), etag)) {
+      response.setHeader("ETag", etag);
+      response.setHeader("Cache-Control", cacheControl);
+      response.setStatus(304);
+      return;
+    }
+
+    String range = rangeApplies(request.getHeader("If-Range"), etag) ? request.getHeader("Range") : null;
+
+    PaperFileCache.CachedFile cached = fileCache.get(publicId);
+    FileChannel channel = cached == null ? null : openCached(cached);
+    if (channel != null) {
+      try (channel) {
+        writeValidators(etag, cacheControl, response);
+        streamFromCache(channel, cached.size(), version, inline, range, response);
+      }
+      return;
+    }
+    // Validators are only sent with the file, not with a 502
+    try (Bulkhead.Permit permit = originBulkhead.acquire()) {
+      if (range == null)
+        streamFromOriginIntoCache(version, inline, etag, cacheControl, response);
+      else
+        streamFromOrigin(version, inline, range, etag, cacheControl, response);
+    }
+  }
+
+  // A private copy of a version's file for background readers of paper files
+  // (text extraction, previews), which they delete when done. A cache hit is
+  // pinned so an eviction cannot remove it mid-read; a miss is fetched into
+  // the copy without entering the cache, so scanning every stored paper never
+  // pushes out the files downloads are using. A full bulkhead is just another
+  // transient IOException here.
+  public Path fetchCopy(PaperModel.Version version) throws IOException {
+    String publicId = version.getPublicId();
+    if (publicId == null || publicId.isBlank())
+      throw new IOException("Version has no storage publicId");
+    Path pinned = fileCache.pin(publicId);
+    if (pinned != null)
+      return pinned;
+
+    Path copy = fileCache.newPartialFile();
+    try (Bulkhead.Permit permit = originBulkhead.acquire()) {
+      fetchInto(version, copy);
+      return copy;
+    } catch (BulkheadFullException e) {
+      Files.deleteIfExists(copy);
+      throw new IOException(e.getMessage(), e);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(copy);
+      throw e;
+    }
+  }
+
+  private void fetchInto(PaperModel.Version version, Path target) throws IOException {
+    HttpResponse<InputStream> origin = send(version.getUrl(), null);
+    try (InputStream in = origin.body()) {
+      if (origin.statusCode() != 200)
+        throw new IOException("Storage returned status " + origin.statusCode());
+      Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  // Opens a cache hit for reading. A concurrent put can evict the file between
+  // the lookup and the open; that is treated as a miss. Once open, the file
+  // stays readable even if it is evicted while the body is being sent.
+  private static FileChannel openCached(PaperFileCache.CachedFile cached) throws IOException {
+    try {
+      return FileChannel.open(cached.path(), StandardOpenOption.READ);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  // Serves an open cache file with FileChannel.transferTo. The servlet output
+  // stream is not a FileChannel, so the JDK copies through a small transfer
+  // buffer; no per-request buffer is allocated here.
+  private void streamFromCache(FileChannel channel, long size, PaperModel.Version version, boolean inline,
+      String rangeHeader, HttpServletResponse response) throws IOException {
+    ByteRange range = ByteRange.of(rangeHeader, size);
+    if (range == null) {
+      response.setStatus(416);
+      response.setHeader("Content-Range", "bytes */" + size);
+      return;
+    }
+
+    long length = range.length();
+    response.setStatus(range.partial() ? 206 : 200);
+    if (range.partial())
+      response.setHeader("Content-Range", "bytes " + range.start() + "-" + range.end() + "/" + size);
+    response.setContentLengthLong(length);
+    writeFileHeaders(version, inline, null, response);
+
+    WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+    long position = range.start();
+    long remaining = length;
+    while (remaining > 0) {
+      long sent = channel.transferTo(position, remaining, out);
+      if (sent <= 0)
+        break;
+      position += sent;
+      remaining -= sent;
+    }
+    response.getOutputStream().flush();
+    metrics.streamed(DownloadMetrics.SOURCE_CACHE, length - remaining);
+  }
+
+  // Part of a file of the given size to send: the single range asked for, or
+  // the whole file when there is no usable Range header. Malformed headers
+  // and multi-range requests get the whole file. of() returns null when the
+  // range cannot be satisfied (416).
+  record ByteRange(long start, long end, boolean partial) {
+
+    long length() {
+      return end - start + 1;
+    }
+
+    static ByteRange of(String rangeHeader, long size) {
+      ByteRange whole = new ByteRange(0, size - 1, false);
+      if (rangeHeader == null)
+        return whole;
+      List<HttpRange> ranges;
+      try {
+        ranges = HttpRange.parseRanges(rangeHeader);
+      } catch (IllegalArgumentException e) {
+        return whole;
+      }
+      if (ranges.size() != 1)
+        return whole;
+      long start;
+      long end;
+      try {
+        start = ranges.get(0).getRangeStart(size);
+        end = ranges.get(0).getRangeEnd(size);
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+      // HttpRange accepts a first byte at the very end of the file
+      return start < size && start <= end ? new ByteRange(start, end, true) : null;
+    }
+  }
+
+  // Full fetch on a cache miss: the body is written to the client and to a
+  // partial cache file at the same time, then promoted into the cache
+  private void streamFromOriginIntoCache(PaperModel.Version version, boolean inline, String etag,
+      String cacheControl, HttpServletResponse response) throws IOException {
+    HttpResponse<InputStream> origin = send(version.getUrl(), null);
+    try (InputStream in = origin.body()) {
+      if (origin.statusCode() != 200) {
+        metrics.failed(DownloadMetrics.FAILURE_ORIGIN_STATUS);
+        writeError(response, 502, "Failed to fetch file from storage (status " + origin.statusCode() + ")");
+        return;
+      }
+      response.setStatus(200);
+      writeValidators(etag, cacheControl, response);
+      origin.headers().firstValue("Content-Length").ifPresent(value -> response.setHeader("Content-Length", value));
+      writeFileHeaders(version, inline, origin, response);
+
+      Path partial = fileCache.newPartialFile();
+      boolean complete = false;
+      try {
+        long sent = 0;
+        try (OutputStream file = Files.newOutputStream(partial)) {
+          OutputStream client = response.getOutputStream();
+          byte[] buffer = new byte[BUFFER_SIZE];
+          int read;
+          while ((read = in.read(buffer)) != -1) {
+            file.write(buffer, 0, read);
+            client.write(buffer, 0, read);
+            sent += read;
+          }
+          client.flush();
+        }
+        metrics.streamed(DownloadMetrics.SOURCE_ORIGIN, sent);
+        fileCache.put(version.getPublicId(), partial);
+        complete = true;
+      } finally {
+        if (!complete)
+          Files.deleteIfExists(partial);
+      }
+    }
+  }
+
+  // Range request on a cache miss: forward the range to the origin and relay
+  // its partial response without caching
+  private void streamFromOrigin(PaperModel.Version version, boolean inline, String range, String etag,
+      String cacheControl, HttpServletResponse response) throws IOException {
+    HttpResponse<InputStream> origin = send(version.getUrl(), range);
+    try (InputStream in = origin.body()) {
+      int status = origin.statusCode();
+      if (status != 200 && status != 206 && status != 416) {
+        metrics.failed(DownloadMetrics.FAILURE_ORIGIN_STATUS);
+        writeError(response, 502, "Failed to fetch file from storage (status " + status + ")");
+        return;
+      }
+
+      response.setStatus(status);
+      writeValidators(etag, cacheControl, response);
+      for (String name : RELAYED_RESPONSE_HEADERS) {
+        origin.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+      }
+      if (status == 416)
+        return;
+
+      writeFileHeaders(version, inline, origin, response);
+      metrics.streamed(DownloadMetrics.SOURCE_ORIGIN, copy(in, response.getOutputStream()));
+    }
+  }
+
+  // Versions without a publicId have no validators (etag is null)
+  private static void writeValidators(String etag, String cacheControl, HttpServletResponse response) {
+    if (etag == null)
+      return;
+    response.setHeader("ETag", etag);
+    response.setHeader("Cache-Control", cacheControl);
+  }
+
+  private void writeFileHeaders(PaperModel.Version version, boolean inline, HttpResponse<?> origin,
+      HttpServletResponse response) {
+    String fileType = version.getFileType();
+    if ((fileType == null || fileType.isBlank()) && origin != null) {
+      fileType = origin.headers().firstValue("Content-Type").orElse(null);
+    }
+    if (fileType == null || fileType.isBlank())
+      fileType = "application/octet-stream";
+    response.setHeader("Content-Disposition", contentDisposition(version, inline));
+    response.setContentType(fileType);
+    response.setHeader("Accept-Ranges", "bytes");
+  }
+
+  // Use "inline" for preview, "attachment" for download
+  static String contentDisposition(PaperModel.Version version, boolean inline) {
+    String fileName = version.getFileName();
+    if (fileName == null || fileName.isBlank()) {
+      String path = URI.create(version.getUrl()).getPath();
+      fileName = path.substring(path.lastIndexOf('/') + 1);
+    }
+    return (inline ? "inline" : "attachment") + "; filename=\"" + fileName + "\"";
+  }
+
+  private HttpResponse<InputStream> send(String url, String range) throws IOException {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+        .timeout(responseTimeout)
+        .GET();
+    if (range != null)
+      builder.header("Range", range);
+    // send() returns once the status line and headers are in, so this is the
+    // origin's time to first byte
+    Timer.Sample sample = metrics.startOriginRequest();
+    try {
+      HttpResponse<InputStream> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+      metrics.originResponded(sample, response.statusCode());
+      return response;
+    } catch (IOException e) {
+      metrics.originResponded(sample, 0);
+      throw e;
+    } catch (InterruptedException e) {
+      metrics.originResponded(sample, 0);
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while contacting storage", e);
+    }
+  }
+
+  // Strong validator derived from the publicId, which names immutable content
+  static String etagFor(String publicId) {
+    return "\"" + PaperFileCache.keyFor(publicId) + "\"";
+  }
+
+  // If-Range needs a strong match (RFC 9110 13.1.5): a weak tag never
+  // matches, and a date cannot be checked because downloads carry no
+  // Last-Modified. Anything but our exact tag gets the whole file.
+  static boolean rangeApplies(String ifRange, String etag) {
+    return ifRange == null || ifRange.trim().equals(etag);
+  }
+
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null)
+      return false;
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag))
+        return true;
+    }
+    return false;
+  }
+
+  private static long copy(InputStream in, OutputStream out) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    long copied = 0;
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+      copied += read;
+    }
+    out.flush();
+    return copied;
+  }
+
+  private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+    response.setStatus(status);
+    response.setHeader("Cache-Control", "no-store");
+    response.setContentType("text/plain;charset=UTF-8");
+    response.getWriter().write(message);
+  }
+}
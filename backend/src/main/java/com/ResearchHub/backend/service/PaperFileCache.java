@@ -0,0 +1,186 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Bounded on-disk cache of paper files keyed by storage publicId. A stored
+// version never changes, so entries are only ever added or evicted (LRU by size).
+@Service
+public class PaperFileCache {
+
+  private static final String PARTIAL_SUFFIX = ".part";
+
+  public record CachedFile(Path path, long size) {
+  }
+
+  private final Path directory;
+  private final long maxBytes;
+  // Access-ordered: iteration starts at the least recently used entry
+  private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  public PaperFileCache(
+      @Value("${papers.cache.dir:${java.io.tmpdir}/researchhub-paper-cache}") String directory,
+      @Value("${papers.cache.max-bytes:1073741824}") long maxBytes) throws IOException {
+    this.directory = Paths.get(directory);
+    this.maxBytes = maxBytes;
+    Files.createDirectories(this.directory);
+    loadExisting();
+  }
+
+  // Returns the cached file for the given publicId, or null on a miss. The
+  // file check runs outside the lock so a slow disk does not serialise every
+  // download; the file can still be evicted after this returns, so callers
+  // treat a NoSuchFileException on open as a miss.
+  public CachedFile get(String publicId) {
+    String key = keyFor(publicId);
+    CachedFile cached;
+    synchronized (this) {
+      cached = entries.get(key);
+    }
+    if (cached == null || Files.exists(cached.path()))
+      return cached;
+    forget(key, cached);
+    return null;
+  }
+
+  // Drops an entry whose file has gone, unless it was replaced in the meantime
+  private synchronized void forget(String key, CachedFile cached) {
+    if (entries.remove(key, cached))
+      totalBytes -= cached.size();
+  }
+
+  // Scratch file inside the cache directory so a completed download can be
+  // moved into place atomically
+  public Path newPartialFile() throws IOException {
+    return Files.createTempFile(directory, "incoming-", PARTIAL_SUFFIX);
+  }
+
+  // Gives the caller its own name for a cached file, a hard link (or a copy
+  // where links are unsupported), so an eviction cannot remove it while it is
+  // read. Returns null on a miss; the caller deletes the returned file, which
+  // is a partial file and so also removed on the next start.
+  public Path pin(String publicId) throws IOException {
+    CachedFile cached = get(publicId);
+    if (cached == null)
+      return null;
+    Path pinned = newPartialFile();
+    try {
+      Files.delete(pinned);
+      try {
+        Files.createLink(pinned, cached.path());
+      } catch (UnsupportedOperationException e) {
+        Files.copy(cached.path(), pinned);
+      }
+      return pinned;
+    } catch (NoSuchFileException e) {
+      // Evicted since the lookup
+      forget(keyFor(publicId), cached);
+      Files.deleteIfExists(pinned);
+      return null;
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(pinned);
+      throw e;
+    }
+  }
+
+  // Moves a fully written partial file into the cache and evicts least recently
+  // used entries until the cache fits its budget again
+  public CachedFile put(String publicId, Path partialFile) throws IOException {
+    long size = Files.size(partialFile);
+    if (size > maxBytes) {
+      Files.deleteIfExists(partialFile);
+      return null;
+    }
+    String key = keyFor(publicId);
+    Path target = directory.resolve(key);
+    synchronized (this) {
+      CachedFile existing = entries.get(key);
+      if (existing != null) {
+        Files.deleteIfExists(partialFile);
+        return existing;
+      }
+      Files.move(partialFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      CachedFile cached = new CachedFile(target, size);
+      entries.put(key, cached);
+      totalBytes += size;
+      evictIfNeeded();
+      return cached;
+    }
+  }
+
+  private void evictIfNeeded() {
+    Iterator<Map.Entry<String, CachedFile>> it = entries.entrySet().iterator();
+    while (totalBytes > maxBytes && it.hasNext()) {
+      CachedFile eldest = it.next().getValue();
+      it.remove();
+      totalBytes -= eldest.size();
+      try {
+        Files.deleteIfExists(eldest.path());
+      } catch (IOException e) {
+        // File may be open by an in-flight download; it is no longer tracked either way
+      }
+    }
+  }
+
+  // Re-registers files left from a previous run, oldest first so they are
+  // evicted first; abandoned partial downloads are removed
+  private void loadExisting() throws IOException {
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(Files::isRegularFile).toList();
+    }
+    List<Path> complete = new ArrayList<>();
+    for (Path file : files) {
+      if (file.getFileName().toString().endsWith(PARTIAL_SUFFIX))
+        Files.deleteIfExists(file);
+      else
+        complete.add(file);
+    }
+    complete.sort(Comparator.comparingLong(PaperFileCache::lastModified));
+    synchronized (this) {
+      for (Path file : complete) {
+        long size = Files.size(file);
+        entries.put(file.getFileName().toString(), new CachedFile(file, size));
+        totalBytes += size;
+      }
+      evictIfNeeded();
+    }
+  }
+
+  private static long lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException e) {
+      return 0L;
+    }
+  }
+
+  // publicIds contain folder separators, so entries are stored under a digest
+  static String keyFor(String publicId) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(publicId.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.ResearchHub.backend.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+// BCrypt is deliberately slow (~100ms of CPU at the default cost), so hashing
+// and verification run on a small pool sized to the CPU count instead of on
+// request threads. The queue is bounded: during a login storm callers get a
+// RejectedExecutionException (answered with 503) rather than waiting behind
+// seconds of queued work while every other endpoint starves.
+@Service
+public class PasswordHashingService {
+
+  // Outcome of a login check; upgradedHash is set when the stored hash used a
+  // different cost than the configured one and the password matched
+  public record Verification(boolean matches, String upgradedHash) {
+  }
+
+  private final int strength;
+  private final BCryptPasswordEncoder encoder;
+  private final ThreadPoolExecutor executor;
+
+  public PasswordHashingService(
+      @Value("${security.password.bcrypt-strength:10}") int strength,
+      @Value("${security.password.workers:0}") int workers,
+      @Value("${security.password.queue-capacity:64}") int queueCapacity) {
+    this.strength = strength;
+    this.encoder = new BCryptPasswordEncoder(strength);
+    int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+
+    AtomicInteger threadIds = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "password-hash-" + threadIds.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  // Throws RejectedExecutionException when the queue is full
+  public CompletableFuture<String> encode(String rawPassword) {
+    return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), executor);
+  }
+
+  // Checks the password and, if it matches a hash of another cost, rehashes it
+  // in the same task so the caller can store the new hash. Throws
+  // RejectedExecutionException when the queue is full.
+  public CompletableFuture<Verification> verify(String rawPassword, String storedHash) {
+    return CompletableFuture.supplyAsync(() -> {
+      if (rawPassword == null || storedHash == null || !encoder.matches(rawPassword, storedHash))
+        return new Verification(false, null);
+      return new Verification(true, needsRehash(storedHash) ? encoder.encode(rawPassword) : null);
+    }, executor);
+  }
+
+  // Hashes look like $2a$10$<salt+hash>; the two digits are the log2 cost.
+  // Unlike BCryptPasswordEncoder.upgradeEncoding this also lowers the cost, so
+  // it can be tuned down to meet the login latency target.
+  boolean needsRehash(String hash) {
+    if (hash.length() < 7 || !hash.startsWith("$2") || hash.charAt(3) != '$' || hash.charAt(6) != '$')
+      return false;
+    try {
+      return Integer.parseInt(hash.substring(4, 6)) != strength;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+}
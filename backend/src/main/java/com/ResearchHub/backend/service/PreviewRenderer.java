@@ -0,0 +1,95 @@
+package com.ResearchHub.backend.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Locale;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Renders the first page of a PDF as a small JPEG. Word documents have no
+// renderer here and are reported as unsupported.
+@Component
+public class PreviewRenderer {
+
+  public static final String CONTENT_TYPE = "image/jpeg";
+
+  public record Rendered(byte[] image, int width, int height) {
+  }
+
+  private final float dpi;
+  private final int maxWidth;
+  private final float quality;
+
+  public PreviewRenderer(
+      @Value("${papers.preview.dpi:72}") float dpi,
+      @Value("${papers.preview.max-width:480}") int maxWidth,
+      @Value("${papers.preview.jpeg-quality:0.8}") float quality) {
+    this.dpi = dpi;
+    this.maxWidth = maxWidth;
+    this.quality = quality;
+  }
+
+  public Rendered render(Path file, String fileName, String fileType) throws IOException {
+    String lower = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+    if (!lower.endsWith(".pdf") && !"application/pdf".equals(fileType))
+      throw new IOException("No preview for file type: " + fileName);
+
+    BufferedImage page;
+    try (PDDocument document = Loader.loadPDF(file.toFile())) {
+      if (document.getNumberOfPages() == 0)
+        throw new IOException("Document has no pages");
+      page = new PDFRenderer(document).renderImageWithDPI(0, dpi, ImageType.RGB);
+    }
+    BufferedImage scaled = scaleToWidth(page);
+    return new Rendered(encodeJpeg(scaled), scaled.getWidth(), scaled.getHeight());
+  }
+
+  private BufferedImage scaleToWidth(BufferedImage image) {
+    if (image.getWidth() <= maxWidth)
+      return image;
+    int height = Math.max(1, Math.round(image.getHeight() * (maxWidth / (float) image.getWidth())));
+    BufferedImage scaled = new BufferedImage(maxWidth, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = scaled.createGraphics();
+    try {
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.drawImage(image, 0, 0, maxWidth, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    return scaled;
+  }
+
+  private byte[] encodeJpeg(BufferedImage image) throws IOException {
+    Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+    if (!writers.hasNext())
+      throw new IOException("No JPEG writer available");
+    ImageWriter writer = writers.next();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+      writer.setOutput(imageOut);
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(quality);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,189 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.PaperPreviewRepository;
+import com.ResearchHub.backend.event.PaperVersionUploadedEvent;
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.PaperPreviewModel;
+
+import jakarta.annotation.PreDestroy;
+
+// Renders a first-page image for each stored file once, in the background, so
+// list pages can show previews without downloading whole papers. New versions
+// are rendered as they are uploaded; older ones the first time a preview is asked for.
+@Service
+public class PreviewService {
+
+  private static final Logger log = LoggerFactory.getLogger(PreviewService.class);
+
+  private final PaperPreviewRepository paperPreviewRepository;
+  private final PaperDownloadService paperDownloadService;
+  private final PreviewRenderer previewRenderer;
+  private final BlockingQueue<PaperModel.Version> queue;
+  // Preview ids queued or being rendered, so repeated requests queue one render
+  private final Set<String> pending = ConcurrentHashMap.newKeySet();
+  private final ExecutorService workers;
+  private final long offerTimeoutMs;
+
+  public PreviewService(
+      PaperPreviewRepository paperPreviewRepository,
+      PaperDownloadService paperDownloadService,
+      PreviewRenderer previewRenderer,
+      @Value("${papers.preview.workers:1}") int workerCount,
+      @Value("${papers.preview.queue-capacity:200}") int queueCapacity,
+      @Value("${papers.preview.offer-timeout-ms:2000}") long offerTimeoutMs) {
+    this.paperPreviewRepository = paperPreviewRepository;
+    this.paperDownloadService = paperDownloadService;
+    this.previewRenderer = previewRenderer;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.offerTimeoutMs = offerTimeoutMs;
+
+    AtomicInteger threadIds = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+      Thread thread = new Thread(runnable, "preview-render-" + threadIds.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < workerCount; i++) {
+      workers.execute(this::drain);
+    }
+  }
+
+  // Previews are per stored file; versions sharing a file share the preview
+  public static String idFor(PaperModel.Version version) {
+    String publicId = version.getPublicId();
+    return publicId == null || publicId.isBlank() ? null : PaperFileCache.keyFor(publicId);
+  }
+
+  // Runs on the upload worker that wrote the version; waits briefly for room
+  // and otherwise leaves the render to the first preview request
+  @EventListener
+  public void onVersionUploaded(PaperVersionUploadedEvent event) {
+    try {
+      enqueue(event.version(), offerTimeoutMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // Returns the stored preview, or null when there is none yet (a render is
+  // queued) or the file cannot be previewed (the record carries an error)
+  public PaperPreviewModel find(PaperModel.Version version) {
+    String id = idFor(version);
+    if (id == null)
+      return null;
+    PaperPreviewModel preview = paperPreviewRepository.findById(id).orElse(null);
+    if (preview == null) {
+      try {
+        enqueue(version, 0);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    return preview;
+  }
+
+  // Drops the previews of files that were deleted from storage
+  public void remove(List<String> publicIds) {
+    if (publicIds.isEmpty())
+      return;
+    List<String> ids = new ArrayList<>();
+    for (String publicId : publicIds) {
+      ids.add(PaperFileCache.keyFor(publicId));
+    }
+    paperPreviewRepository.deleteAllById(ids);
+  }
+
+  private void enqueue(PaperModel.Version version, long timeoutMs) throws InterruptedException {
+    String id = idFor(version);
+    if (id == null || !pending.add(id))
+      return;
+    if (!queue.offer(version, timeoutMs, TimeUnit.MILLISECONDS)) {
+      pending.remove(id);
+      log.debug("Preview queue full, skipping {}", id);
+    }
+  }
+
+  private void drain() {
+    while (!Thread.currentThread().isInterrupted()) {
+      PaperModel.Version version;
+      try {
+        version = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      String id = idFor(version);
+      try {
+        process(id, version);
+      } catch (RuntimeException e) {
+        log.warn("Preview rendering failed for {}: {}", id, e.getMessage());
+      } finally {
+        pending.remove(id);
+      }
+    }
+  }
+
+  private void process(String id, PaperModel.Version version) {
+    if (paperPreviewRepository.existsById(id))
+      return;
+
+    Path file;
+    try {
+      file = paperDownloadService.fetchCopy(version);
+    } catch (IOException e) {
+      // Storage problems are transient: record nothing so a later request retries
+      log.warn("Could not fetch {} for preview: {}", id, e.getMessage());
+      return;
+    }
+
+    PaperPreviewModel preview = new PaperPreviewModel(id);
+    try {
+      PreviewRenderer.Rendered rendered = previewRenderer.render(file, version.getFileName(),
+          version.getFileType());
+      preview.setImage(rendered.image());
+      preview.setContentType(PreviewRenderer.CONTENT_TYPE);
+      preview.setWidth(rendered.width());
+      preview.setHeight(rendered.height());
+    } catch (IOException | RuntimeException e) {
+      // Unsupported or unreadable file: remember it so it is not retried. The
+      // copy is private to this render, so this is never a cache eviction.
+      preview.setError(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+    } finally {
+      deleteCopy(file);
+    }
+    paperPreviewRepository.save(preview);
+  }
+
+  private static void deleteCopy(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete {}: {}", file, e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    workers.shutdownNow();
+  }
+}
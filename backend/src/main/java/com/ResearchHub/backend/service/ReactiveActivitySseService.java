@@ -0,0 +1,74 @@
+package com.ResearchHub.backend.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+// WebFlux delivery for ActivityStreamService: each stream is a unicast sink
+// with a bounded buffer, written to the connection by Netty as demand allows.
+// Same buffer size, heartbeat and timeout settings as ActivitySseService.
+@Service
+@Profile("reactive")
+public class ReactiveActivitySseService {
+
+  private final ActivityStreamService bus;
+  private final int bufferSize;
+  private final Duration heartbeat;
+  private final Duration timeout;
+
+  public ReactiveActivitySseService(ActivityStreamService bus,
+      @Value("${papers.activity.stream.buffer-size:256}") int bufferSize,
+      @Value("${papers.activity.stream.heartbeat-ms:25000}") long heartbeatMs,
+      @Value("${papers.activity.stream.timeout-ms:1800000}") long timeoutMs) {
+    this.bus = bus;
+    this.bufferSize = bufferSize;
+    this.heartbeat = Duration.ofMillis(heartbeatMs);
+    this.timeout = Duration.ofMillis(timeoutMs);
+  }
+
+  public Flux<ServerSentEvent<Object>> open(String repoId, String lastEventId) {
+    return Flux.defer(() -> {
+      Sinks.Many<ActivityStreamService.Entry> sink = Sinks.many().unicast()
+          .onBackpressureBuffer(Queues.<ActivityStreamService.Entry>get(bufferSize).get());
+      // The bus calls these under its per-repo lock, so emissions are serialized
+      Runnable unsubscribe = bus.subscribe(repoId, lastEventId, new ActivityStreamService.Subscriber() {
+        @Override
+        public boolean offer(ActivityStreamService.Entry entry) {
+          return sink.tryEmitNext(entry).isSuccess();
+        }
+
+        @Override
+        public void close() {
+          sink.tryEmitComplete();
+        }
+      });
+
+      // Comment lines keep idle connections from being cut by proxies; they
+      // stop when the bus drops the stream. The first goes out at once so the
+      // response is committed and the client sees the stream open, as with
+      // SseEmitter.
+      return sink.asFlux()
+          .map(ReactiveActivitySseService::toEvent)
+          .publish(events -> Flux.merge(events, Flux.interval(Duration.ZERO, heartbeat)
+              .map(tick -> ServerSentEvent.builder().comment("keep-alive").build())
+              .takeUntilOther(events.then())))
+          .take(timeout)
+          .doFinally(signal -> unsubscribe.run());
+    });
+  }
+
+  private static ServerSentEvent<Object> toEvent(ActivityStreamService.Entry entry) {
+    return ServerSentEvent.builder()
+        .id(entry.id())
+        .event(entry.type())
+        .data(entry.event() != null ? entry.event() : ActivityStreamService.EMPTY_DATA)
+        .build();
+  }
+}
@@ -0,0 +1,169 @@
+package com.ResearchHub.backend.service;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.ResearchHub.backend.util.Bulkhead;
+
+import io.micrometer.observation.Observation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Non-blocking uploads to Cloudinary's REST upload API for the "reactive"
+// profile. The Java SDK used by CloudinaryService blocks a thread for the
+// whole transfer; here the spooled file is streamed from disk through
+// WebClient. Large files use the same chunked protocol as uploadLarge.
+@Service
+@Profile("reactive")
+public class ReactiveCloudinaryClient {
+
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+  private static final ParameterizedTypeReference<Map<String, Object>> RESULT_TYPE =
+      new ParameterizedTypeReference<>() {
+      };
+
+  private final WebClient webClient;
+  private final String cloudName;
+  private final String apiKey;
+  private final String apiSecret;
+  private final long chunkedThresholdBytes;
+  private final int chunkSizeBytes;
+  private final Bulkhead storageBulkhead;
+  private final StorageMetrics metrics;
+
+  public ReactiveCloudinaryClient(
+      WebClient.Builder webClientBuilder,
+      @Qualifier("storageBulkhead") Bulkhead storageBulkhead,
+      StorageMetrics metrics,
+      @Value("${cloudinary.upload_prefix:https://api.cloudinary.com}") String uploadPrefix,
+      @Value("${cloudinary.cloud_name}") String cloudName,
+      @Value("${cloudinary.api_key}") String apiKey,
+      @Value("${cloudinary.api_secret}") String apiSecret,
+      @Value("${cloudinary.chunked-threshold-bytes:10485760}") long chunkedThresholdBytes,
+      @Value("${cloudinary.chunk-size-bytes:6291456}") int chunkSizeBytes) {
+    this.webClient = webClientBuilder.baseUrl(uploadPrefix).build();
+    this.storageBulkhead = storageBulkhead;
+    this.metrics = metrics;
+    this.cloudName = cloudName;
+    this.apiKey = apiKey;
+    this.apiSecret = apiSecret;
+    this.chunkedThresholdBytes = chunkedThresholdBytes;
+    this.chunkSizeBytes = chunkSizeBytes;
+  }
+
+  // Uploads a spooled file as a raw asset and emits the API result
+  // (secure_url, public_id, ...), like CloudinaryService.uploadFile
+  public Mono<Map<String, Object>> uploadFile(Path path, String folder) {
+    return Mono.using(storageBulkhead::tryAcquire, permit -> observed(path, folder), Bulkhead.Permit::close);
+  }
+
+  // Same "storage.requests" observation as CloudinaryService, started once the
+  // permit is held
+  private Mono<Map<String, Object>> observed(Path path, String folder) {
+    return Mono.defer(() -> {
+      Observation observation = metrics.observation("upload").start();
+      return upload(path, folder)
+          .doOnNext(result -> metrics.uploaded(path.toFile().length()))
+          .doOnError(observation::error)
+          .doFinally(signal -> observation.stop());
+    });
+  }
+
+  private Mono<Map<String, Object>> upload(Path path, String folder) {
+    long size;
+    try {
+      size = Files.size(path);
+    } catch (Exception e) {
+      return Mono.error(e);
+    }
+    if (size <= chunkedThresholdBytes)
+      return sendPart(path, folder, 0, size, size, null);
+
+    // Chunks go out one after another; the response to the last one
+    // describes the complete asset
+    String uploadId = UUID.randomUUID().toString();
+    return Flux.range(0, (int) ((size + chunkSizeBytes - 1) / chunkSizeBytes))
+        .concatMap(index -> {
+          long start = (long) index * chunkSizeBytes;
+          long length = Math.min(chunkSizeBytes, size - start);
+          return sendPart(path, folder, start, length, size, uploadId);
+        })
+        .last();
+  }
+
+  private Mono<Map<String, Object>> sendPart(Path path, String folder, long start, long length, long total,
+      String uploadId) {
+    Map<String, String> params = new TreeMap<>();
+    params.put("folder", folder);
+    params.put("timestamp", String.valueOf(System.currentTimeMillis() / 1000));
+
+    MultipartBodyBuilder body = new MultipartBodyBuilder();
+    params.forEach(body::part);
+    body.part("api_key", apiKey);
+    body.part("signature", sign(params));
+    body.asyncPart("file", read(path, start, length), DataBuffer.class)
+        .filename(path.getFileName().toString());
+
+    WebClient.RequestBodySpec request = webClient.post()
+        .uri("/v1_1/{cloud}/raw/upload", cloudName);
+    if (uploadId != null) {
+      request = request
+          .header("X-Unique-Upload-Id", uploadId)
+          .header("Content-Range", "bytes " + start + "-" + (start + length - 1) + "/" + total);
+    }
+    return request
+        .body(BodyInserters.fromMultipartData(body.build()))
+        .retrieve()
+        .onStatus(status -> !status.is2xxSuccessful(), response -> response.bodyToMono(String.class)
+            .defaultIfEmpty("")
+            .map(message -> new IllegalStateException(
+                "Storage upload failed (status " + response.statusCode().value() + "): " + message)))
+        .bodyToMono(RESULT_TYPE);
+  }
+
+  private static Flux<DataBuffer> read(Path path, long start, long length) {
+    Flux<DataBuffer> buffers = DataBufferUtils.readAsynchronousFileChannel(
+        () -> AsynchronousFileChannel.open(path, StandardOpenOption.READ),
+        start, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
+    return DataBufferUtils.takeUntilByteCount(buffers, length);
+  }
+
+  // Cloudinary request signature: the sorted parameters joined as a query
+  // string, followed by the API secret, hashed with SHA-1
+  private String sign(Map<String, String> sortedParams) {
+    StringBuilder toSign = new StringBuilder();
+    sortedParams.forEach((key, value) -> {
+      if (toSign.length() > 0)
+        toSign.append('&');
+      toSign.append(key).append('=').append(value);
+    });
+    toSign.append(apiSecret);
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      return HexFormat.of().formatHex(digest.digest(toSign.toString().getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-1 not available", e);
+    }
+  }
+}
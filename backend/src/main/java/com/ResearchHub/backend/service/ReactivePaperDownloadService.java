@@ -0,0 +1,306 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.util.Bulkhead;
+
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+
+// Download path of the "reactive" profile, with the same caching contract as
+// PaperDownloadService. Bodies are Flux<DataBuffer>, read from the origin or
+// from an AsynchronousFileChannel on the cached file, so no thread is held
+// while bytes are in flight.
+@Service
+@Profile("reactive")
+public class ReactivePaperDownloadService {
+
+  private static final Logger log = LoggerFactory.getLogger(ReactivePaperDownloadService.class);
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final WebClient webClient;
+  private final PaperFileCache fileCache;
+  private final Bulkhead originBulkhead;
+  private final DownloadMetrics metrics;
+
+  public ReactivePaperDownloadService(
+      WebClient.Builder webClientBuilder,
+      PaperFileCache fileCache,
+      @Qualifier("originBulkhead") Bulkhead originBulkhead,
+      DownloadMetrics metrics,
+      @Value("${papers.download.connect-timeout-ms:10000}") int connectTimeoutMs,
+      @Value("${papers.download.response-timeout-ms:30000}") long responseTimeoutMs) {
+    HttpClient httpClient = HttpClient.create()
+        .followRedirect(true)
+        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+        .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+    this.webClient = webClientBuilder.clone()
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .build();
+    this.fileCache = fileCache;
+    this.originBulkhead = originBulkhead;
+    this.metrics = metrics;
+  }
+
+  // Same rules as PaperDownloadService.stream: If-None-Match, Range and
+  // If-Range are honoured, and "immutable" marks URLs naming a fixed version
+  public Mono<ResponseEntity<?>> stream(PaperModel.Version version, boolean inline, boolean immutable,
+      ServerHttpRequest request) {
+    HttpHeaders requestHeaders = request.getHeaders();
+    String range = requestHeaders.getFirst(HttpHeaders.RANGE);
+    String publicId = version.getPublicId();
+    if (publicId == null || publicId.isBlank())
+      // Legacy rows without a publicId cannot be cached or validated
+      return fromOrigin(version, inline, range, new HttpHeaders());
+
+    HttpHeaders validators = new HttpHeaders();
+    validators.setETag(PaperDownloadService.etagFor(publicId));
+    validators.setCacheControl(immutable
+        ? PaperDownloadService.IMMUTABLE_CACHE_CONTROL
+        : PaperDownloadService.REVALIDATE_CACHE_CONTROL);
+    if (PaperDownloadService.matches(requestHeaders.getFirst(HttpHeaders.IF_NONE_MATCH), validators.getETag()))
+      return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(validators).build());
+
+    String servedRange = PaperDownloadService.rangeApplies(requestHeaders.getFirst(HttpHeaders.IF_RANGE),
+        validators.getETag()) ? range : null;
+
+    // The lookup touches the disk, so it runs off the event loop
+    return Mono.fromCallable(() -> openCached(publicId))
+        .subscribeOn(Schedulers.boundedElastic())
+        .<ResponseEntity<?>>map(file -> fromCache(file, version, inline, servedRange, validators))
+        .switchIfEmpty(Mono.defer(() -> servedRange == null
+            ? fromOriginIntoCache(version, inline, validators)
+            : fromOrigin(version, inline, servedRange, validators)));
+  }
+
+  private record OpenFile(AsynchronousFileChannel channel, long size) {
+  }
+
+  // Opens a cache hit for reading, or returns null on a miss. A concurrent put
+  // can evict the file between the lookup and the open; that is a miss too.
+  // Once open, the file stays readable even if it is evicted mid-response.
+  private OpenFile openCached(String publicId) throws IOException {
+    PaperFileCache.CachedFile cached = fileCache.get(publicId);
+    if (cached == null)
+      return null;
+    try {
+      return new OpenFile(AsynchronousFileChannel.open(cached.path(), StandardOpenOption.READ), cached.size());
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  // Streams the requested part of an open cache file. The channel is closed by
+  // the read once the body completes or the client goes away.
+  private ResponseEntity<?> fromCache(OpenFile file, PaperModel.Version version, boolean inline,
+      String rangeHeader, HttpHeaders validators) {
+    PaperDownloadService.ByteRange range = PaperDownloadService.ByteRange.of(rangeHeader, file.size());
+    if (range == null) {
+      closeQuietly(file.channel());
+      return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+          .headers(validators)
+          .header(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size())
+          .build();
+    }
+    ResponseEntity.BodyBuilder builder = ResponseEntity
+        .status(range.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+        .headers(validators)
+        .headers(fileHeaders(version, inline, null))
+        .contentLength(range.length());
+    if (range.partial())
+      builder.header(HttpHeaders.CONTENT_RANGE, "bytes " + range.start() + "-" + range.end() + "/" + file.size());
+    Flux<DataBuffer> body = DataBufferUtils.takeUntilByteCount(
+        DataBufferUtils.readAsynchronousFileChannel(file::channel, range.start(),
+            DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE),
+        range.length());
+    return builder.body(counted(body, DownloadMetrics.SOURCE_CACHE));
+  }
+
+  // Full fetch on a cache miss: buffers are written to a partial cache file on
+  // their way to the client, and the file is promoted once the body completes
+  private Mono<ResponseEntity<?>> fromOriginIntoCache(PaperModel.Version version, boolean inline,
+      HttpHeaders validators) {
+    return withOriginPermit(permit -> exchange(version.getUrl(), null)
+        .flatMap(origin -> {
+          if (origin.getStatusCode().value() != 200) {
+            release(origin.getBody());
+            return Mono.just(badGateway(origin.getStatusCode().value()));
+          }
+          return Mono.fromCallable(fileCache::newPartialFile)
+              .subscribeOn(Schedulers.boundedElastic())
+              .map(partial -> {
+                Flux<DataBuffer> body = teeIntoCache(
+                    counted(origin.getBody(), DownloadMetrics.SOURCE_ORIGIN), version.getPublicId(), partial)
+                    .doFinally(signal -> permit.close());
+                ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .headers(validators)
+                    .headers(fileHeaders(version, inline, origin.getHeaders()));
+                long length = origin.getHeaders().getContentLength();
+                if (length >= 0)
+                  builder.contentLength(length);
+                return builder.body(body);
+              });
+        }));
+  }
+
+  // Range request on a cache miss (or a version without a publicId): forward
+  // the range to the origin and relay its response without caching
+  private Mono<ResponseEntity<?>> fromOrigin(PaperModel.Version version, boolean inline, String range,
+      HttpHeaders validators) {
+    return withOriginPermit(permit -> exchange(version.getUrl(), range)
+        .map(origin -> {
+          int status = origin.getStatusCode().value();
+          if (status != 200 && status != 206 && status != 416) {
+            release(origin.getBody());
+            return badGateway(status);
+          }
+          HttpHeaders headers = new HttpHeaders();
+          headers.addAll(validators);
+          for (String name : new String[] { HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_RANGE }) {
+            String value = origin.getHeaders().getFirst(name);
+            if (value != null)
+              headers.set(name, value);
+          }
+          if (status == 416) {
+            release(origin.getBody());
+            return ResponseEntity.status(status).headers(headers).build();
+          }
+          headers.addAll(fileHeaders(version, inline, origin.getHeaders()));
+          return ResponseEntity.status(status).headers(headers)
+              .body(counted(origin.getBody(), DownloadMetrics.SOURCE_ORIGIN).doFinally(signal -> permit.close()));
+        }));
+  }
+
+  // Takes an origin permit for the exchange. The permit is returned when the
+  // body finishes, or straight away if no body is handed to the client.
+  private Mono<ResponseEntity<?>> withOriginPermit(
+      Function<Bulkhead.Permit, Mono<ResponseEntity<?>>> exchange) {
+    return Mono.defer(() -> {
+      Bulkhead.Permit permit = originBulkhead.tryAcquire();
+      return exchange.apply(permit)
+          .doOnNext(entity -> {
+            if (!(entity.getBody() instanceof Flux<?>))
+              permit.close();
+          })
+          .doOnError(e -> permit.close())
+          .doOnCancel(permit::close);
+    });
+  }
+
+  // GET against the origin; every status is passed through to the caller. The
+  // entity is emitted once headers arrive, which is the time to first byte.
+  private Mono<ResponseEntity<Flux<DataBuffer>>> exchange(String url, String range) {
+    return Mono.defer(() -> {
+      Timer.Sample sample = metrics.startOriginRequest();
+      return webClient.get().uri(url)
+          .headers(headers -> {
+            if (range != null)
+              headers.set(HttpHeaders.RANGE, range);
+          })
+          .retrieve()
+          .onStatus(status -> true, response -> Mono.empty())
+          .toEntityFlux(DataBuffer.class)
+          .doOnNext(origin -> metrics.originResponded(sample, origin.getStatusCode().value()))
+          .doOnError(e -> metrics.originResponded(sample, 0));
+    });
+  }
+
+  private Flux<DataBuffer> counted(Flux<DataBuffer> body, String source) {
+    AtomicLong bytes = new AtomicLong();
+    return body
+        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+        .doOnComplete(() -> metrics.streamed(source, bytes.get()))
+        .doOnError(e -> metrics.failed(DownloadMetrics.FAILURE_IO));
+  }
+
+  private Flux<DataBuffer> teeIntoCache(Flux<DataBuffer> body, String publicId, Path partial) {
+    return Flux.using(
+        () -> AsynchronousFileChannel.open(partial, StandardOpenOption.WRITE),
+        channel -> DataBufferUtils.write(body, channel),
+        channel -> closeQuietly(channel))
+        .doFinally(signal -> Schedulers.boundedElastic().schedule(() -> finishPartial(signal, publicId, partial)));
+  }
+
+  private void finishPartial(SignalType signal, String publicId, Path partial) {
+    try {
+      if (signal == SignalType.ON_COMPLETE)
+        fileCache.put(publicId, partial);
+    } catch (IOException e) {
+      log.warn("Could not finish cache file for {}: {}", publicId, e.getMessage());
+    } finally {
+      try {
+        Files.deleteIfExists(partial); // no-op once moved into the cache
+      } catch (IOException e) {
+        // Left for the cache's startup cleanup of partial files
+      }
+    }
+  }
+
+  private static HttpHeaders fileHeaders(PaperModel.Version version, boolean inline, HttpHeaders origin) {
+    HttpHeaders headers = new HttpHeaders();
+    String fileType = version.getFileType();
+    if ((fileType == null || fileType.isBlank()) && origin != null && origin.getContentType() != null)
+      fileType = origin.getContentType().toString();
+    headers.setContentType(fileType == null || fileType.isBlank()
+        ? MediaType.APPLICATION_OCTET_STREAM
+        : MediaType.parseMediaType(fileType));
+    headers.set(HttpHeaders.CONTENT_DISPOSITION, PaperDownloadService.contentDisposition(version, inline));
+    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+    return headers;
+  }
+
+  private ResponseEntity<?> badGateway(int originStatus) {
+    metrics.failed(DownloadMetrics.FAILURE_ORIGIN_STATUS);
+    return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+        .cacheControl(CacheControl.noStore())
+        .contentType(MediaType.TEXT_PLAIN)
+        .body("Failed to fetch file from storage (status " + originStatus + ")");
+  }
+
+  private static void release(Flux<DataBuffer> body) {
+    if (body != null)
+      body.subscribe(DataBufferUtils::release, e -> {
+      });
+  }
+
+  private static void closeQuietly(AsynchronousFileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      // nothing useful to do
+    }
+  }
+}
@@ -0,0 +1,219 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.ReactiveBlobRepository;
+import com.ResearchHub.backend.model.BlobModel;
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.UploadJob;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Upload path of the "reactive" profile. Mirrors UploadJobService +
+// BlobStoreService (spool with hashing, dedup by digest, background job the
+// client polls) without holding a thread per transfer: the body is written to
+// disk and sent to storage as non-blocking streams.
+@Service
+@Profile("reactive")
+public class ReactiveUploadService {
+
+  private static final Logger log = LoggerFactory.getLogger(ReactiveUploadService.class);
+
+  private final UploadJobService uploadJobService;
+  private final ReactiveCloudinaryClient cloudinaryClient;
+  private final ReactiveBlobRepository blobRepository;
+  private final BlobStoreService blobStoreService;
+  private final AssetCleanupService assetCleanupService;
+  // Same bound as the servlet stack: running workers plus queued jobs
+  private final Semaphore inFlight;
+  // Batches running at once, each with batchParallelism files in flight
+  private final Semaphore batches;
+  private final int batchParallelism;
+
+  public ReactiveUploadService(
+      UploadJobService uploadJobService,
+      ReactiveCloudinaryClient cloudinaryClient,
+      ReactiveBlobRepository blobRepository,
+      BlobStoreService blobStoreService,
+      AssetCleanupService assetCleanupService,
+      @Value("${papers.upload.workers:4}") int workers,
+      @Value("${papers.upload.queue-capacity:32}") int queueCapacity,
+      @Value("${papers.upload.batch.max-batches:2}") int maxBatches,
+      @Value("${papers.upload.batch.parallelism:4}") int batchParallelism) {
+    this.uploadJobService = uploadJobService;
+    this.cloudinaryClient = cloudinaryClient;
+    this.blobRepository = blobRepository;
+    this.blobStoreService = blobStoreService;
+    this.assetCleanupService = assetCleanupService;
+    this.inFlight = new Semaphore(workers + queueCapacity);
+    this.batches = new Semaphore(maxBatches);
+    this.batchParallelism = batchParallelism;
+  }
+
+  // Writes the part to a spool file, computing its SHA-256 and length as the
+  // buffers go past
+  public Mono<UploadJobService.SpooledFile> spool(FilePart part) {
+    return Mono.fromCallable(uploadJobService::newSpoolFile)
+        .subscribeOn(Schedulers.boundedElastic())
+        .flatMap(target -> {
+          MessageDigest digest = UploadJobService.sha256();
+          AtomicLong size = new AtomicLong();
+          Flux<DataBuffer> hashed = part.content().doOnNext(buffer -> {
+            try (DataBuffer.ByteBufferIterator it = buffer.readableByteBuffers()) {
+              while (it.hasNext()) {
+                ByteBuffer bytes = it.next();
+                size.addAndGet(bytes.remaining());
+                digest.update(bytes);
+              }
+            }
+          });
+          return DataBufferUtils.write(hashed, target)
+              .then(Mono.fromSupplier(() -> new UploadJobService.SpooledFile(
+                  target, HexFormat.of().formatHex(digest.digest()), size.get())))
+              .onErrorResume(e -> deleteSpool(target).then(Mono.error(e)));
+        });
+  }
+
+  // Removes a spool file that will not be uploaded (e.g. over the size limit)
+  public void discard(UploadJobService.SpooledFile spooled) {
+    deleteSpool(spooled.path()).subscribe();
+  }
+
+  // Starts the upload in the background and returns at once. Throws
+  // RejectedExecutionException (and removes the spool file) when too many
+  // uploads are in flight.
+  public UploadJob submit(UploadJob job, UploadJobService.SpooledFile spooled, String folder,
+      Function<BlobStoreService.StoredBlob, Mono<PaperModel>> completion) {
+    if (!inFlight.tryAcquire()) {
+      deleteSpool(spooled.path()).subscribe();
+      throw new RejectedExecutionException("Upload queue is full");
+    }
+    uploadJobService.track(job);
+
+    AtomicReference<BlobStoreService.StoredBlob> stored = new AtomicReference<>();
+    store(spooled, folder)
+        .doOnSubscribe(subscription -> job.markUploading())
+        .doOnNext(stored::set)
+        .flatMap(completion)
+        .doOnNext(job::markCompleted)
+        .onErrorResume(e -> {
+          log.warn("Upload job {} failed: {}", job.getJobId(), e.getMessage());
+          job.markFailed(e.getMessage());
+          // Storage or the paper write failed (completions do not signal an
+          // error once the paper exists), so give back the file's reference
+          BlobStoreService.StoredBlob taken = stored.get();
+          if (taken == null)
+            return Mono.empty();
+          return Mono.fromRunnable(() -> blobStoreService.release(taken))
+              .subscribeOn(Schedulers.boundedElastic())
+              .then(Mono.empty());
+        })
+        .then(deleteSpool(spooled.path()))
+        .doFinally(signal -> inFlight.release())
+        .subscribe();
+    return job;
+  }
+
+  // Batch counterpart of submit, as UploadJobService.submitBatch: jobs.get(i)
+  // tracks files.get(i), a failed file fails only its own job, and the
+  // completion writes the papers of all stored files at once
+  public List<UploadJob> submitBatch(List<UploadJob> jobs, List<UploadJobService.SpooledFile> files,
+      String folder, Function<List<UploadJobService.StoredItem>, Mono<List<PaperModel>>> completion) {
+    if (!batches.tryAcquire()) {
+      files.forEach(this::discard);
+      throw new RejectedExecutionException("Upload queue is full");
+    }
+    jobs.forEach(uploadJobService::track);
+
+    Flux.range(0, files.size())
+        .flatMap(i -> store(files.get(i), folder)
+            .doOnSubscribe(subscription -> jobs.get(i).markUploading())
+            .map(stored -> new UploadJobService.StoredItem(i, stored))
+            .onErrorResume(e -> {
+              log.warn("Upload job {} failed: {}", jobs.get(i).getJobId(), e.getMessage());
+              jobs.get(i).markFailed(e.getMessage());
+              return Mono.empty();
+            })
+            .flatMap(item -> deleteSpool(files.get(i).path()).thenReturn(item))
+            .switchIfEmpty(deleteSpool(files.get(i).path()).then(Mono.empty())), batchParallelism)
+        .collectSortedList(Comparator.comparingInt(UploadJobService.StoredItem::index))
+        .filter(stored -> !stored.isEmpty())
+        .flatMap(stored -> completion.apply(stored)
+            .doOnNext(papers -> {
+              for (int k = 0; k < stored.size(); k++)
+                jobs.get(stored.get(k).index()).markCompleted(papers.get(k));
+            })
+            .onErrorResume(e -> {
+              log.warn("Upload batch of {} file(s) failed: {}", stored.size(), e.getMessage());
+              stored.forEach(item -> jobs.get(item.index()).markFailed(e.getMessage()));
+              // The papers were not written, so give back the references taken on the files
+              return Mono.fromRunnable(() -> stored.forEach(item -> blobStoreService.release(item.stored())))
+                  .subscribeOn(Schedulers.boundedElastic())
+                  .then(Mono.empty());
+            }))
+        .doFinally(signal -> batches.release())
+        .subscribe();
+    return jobs;
+  }
+
+  // Reuses a stored copy of the same bytes when one exists, otherwise uploads
+  // and registers a new blob (see BlobStoreService.store)
+  private Mono<BlobStoreService.StoredBlob> store(UploadJobService.SpooledFile spooled, String folder) {
+    String sha256 = spooled.sha256();
+    long size = spooled.size();
+    return blobRepository.acquire(sha256)
+        .map(existing -> new BlobStoreService.StoredBlob(existing.getUrl(), existing.getPublicId(), sha256, size,
+            true))
+        .switchIfEmpty(Mono.defer(() -> cloudinaryClient.uploadFile(spooled.path(), folder)
+            .flatMap(upload -> register(sha256, size, (String) upload.get("secure_url"),
+                (String) upload.get("public_id")))));
+  }
+
+  private Mono<BlobStoreService.StoredBlob> register(String sha256, long size, String url, String publicId) {
+    return blobRepository.insert(new BlobModel(sha256, url, publicId, size))
+        .map(blob -> new BlobStoreService.StoredBlob(url, publicId, sha256, size, false))
+        .onErrorResume(DuplicateKeyException.class, e -> blobRepository.acquire(sha256)
+            // A concurrent upload of the same bytes registered first: use its copy
+            .flatMap(winner -> Mono.fromRunnable(() -> assetCleanupService.deleteAssets(List.of(publicId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .thenReturn(new BlobStoreService.StoredBlob(winner.getUrl(), winner.getPublicId(), sha256, size,
+                    true)))
+            // The registered blob is on its way out; this copy stays unshared
+            .defaultIfEmpty(new BlobStoreService.StoredBlob(url, publicId, sha256, size, false)));
+  }
+
+  private static Mono<Void> deleteSpool(Path path) {
+    return Mono.<Void>fromCallable(() -> {
+      try {
+        Files.deleteIfExists(path);
+      } catch (IOException e) {
+        log.warn("Could not delete spool file {}", path, e);
+      }
+      return null;
+    }).subscribeOn(Schedulers.boundedElastic());
+  }
+}
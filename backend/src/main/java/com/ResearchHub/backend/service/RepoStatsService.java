@@ -0,0 +1,123 @@
+package com.ResearchHub.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.ChangeCounterRepository;
+import com.ResearchHub.backend.Repository.PaperRepository;
+import com.ResearchHub.backend.Repository.RepoRepository;
+import com.ResearchHub.backend.model.ChangeCounterModel;
+
+// Recomputes the paper/version/byte counts and last upload time stored on
+// each repo from the papers themselves. The controllers keep these up to date
+// with $inc/$max on every write; this repairs drift (a crash between the paper
+// write and the repo update, repos from before the counters existed) and
+// lowers lastUploadedAt after deletes. Repos are read in id order and each
+// batch is one aggregation plus one bulk write, with a few batches in flight.
+@Service
+public class RepoStatsService {
+
+  private static final Logger log = LoggerFactory.getLogger(RepoStatsService.class);
+
+  private final RepoRepository repoRepository;
+  private final PaperRepository paperRepository;
+  private final ChangeCounterRepository changeCounters;
+  private final int batchSize;
+  private final int parallelism;
+  private final boolean repairOnStartup;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  public RepoStatsService(
+      RepoRepository repoRepository,
+      PaperRepository paperRepository,
+      ChangeCounterRepository changeCounters,
+      @Value("${repos.stats.batch-size:200}") int batchSize,
+      @Value("${repos.stats.parallelism:4}") int parallelism,
+      @Value("${repos.stats.repair-on-startup:true}") boolean repairOnStartup) {
+    this.repoRepository = repoRepository;
+    this.paperRepository = paperRepository;
+    this.changeCounters = changeCounters;
+    this.batchSize = batchSize;
+    this.parallelism = parallelism;
+    this.repairOnStartup = repairOnStartup;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void repairAtStartup() {
+    if (!repairOnStartup)
+      return;
+    Thread repairer = new Thread(this::repair, "repo-stats-repair");
+    repairer.setDaemon(true);
+    repairer.start();
+  }
+
+  @Scheduled(cron = "${repos.stats.repair-cron:0 30 3 * * *}")
+  public void scheduledRepair() {
+    repair();
+  }
+
+  // Each repo's stats version is read before its papers are aggregated, and
+  // the result is only written if the version is unchanged: a repo written to
+  // in between keeps its $inc/$max counters and is repaired on the next run.
+  // Returns the number of repos visited, or -1 if a repair was already running.
+  public int repair() {
+    if (!running.compareAndSet(false, true))
+      return -1;
+    AtomicInteger threadIds = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+      Thread thread = new Thread(runnable, "repo-stats-" + threadIds.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    int visited = 0;
+    AtomicInteger skipped = new AtomicInteger();
+    try {
+      List<Future<?>> inFlight = new ArrayList<>();
+      String afterId = null;
+      Map<String, Long> versions;
+      while (!(versions = repoRepository.findStatsVersionsAfter(afterId, batchSize)).isEmpty()) {
+        Map<String, Long> batch = versions;
+        inFlight.add(pool.submit(() -> skipped.addAndGet(
+            repoRepository.replaceStats(batch, paperRepository.computeRepoStats(batch.keySet())))));
+        if (inFlight.size() >= parallelism)
+          inFlight.remove(0).get();
+        visited += batch.size();
+        for (String repoId : batch.keySet())
+          afterId = repoId;
+      }
+      for (Future<?> future : inFlight)
+        future.get();
+      log.info("Repo statistics recomputed for {} repo(s), {} changed meanwhile and left for the next run",
+          visited, skipped.get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | RuntimeException e) {
+      log.warn("Repo statistics repair stopped after {} repo(s)", visited, e);
+    } finally {
+      pool.shutdownNow();
+      // Batches written before a failure changed the listings too
+      try {
+        changeCounters.bump(ChangeCounterModel.REPOS);
+      } catch (RuntimeException e) {
+        log.warn("Could not bump the repo listing counter after the statistics repair", e);
+      }
+      running.set(false);
+    }
+    return visited;
+  }
+}
@@ -0,0 +1,177 @@
+package com.ResearchHub.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// Thread-safe in-memory inverted index with prefix matching and BM25 ranking.
+// Documents are replaced or removed in place, so it can be kept in step with
+// writes instead of being rebuilt.
+public class SearchIndex {
+
+  public record Hit(String docId, double score) {
+  }
+
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+  // Prefix matches score lower than whole-term matches
+  private static final double PREFIX_WEIGHT = 0.6;
+  // Upper bound on terms a single query token may expand to
+  private static final int MAX_PREFIX_EXPANSIONS = 64;
+  private static final int MIN_TOKEN_LENGTH = 2;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // term -> (docId -> term frequency), sorted so prefixes are contiguous ranges
+  private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+  // docId -> (term -> term frequency), kept to remove a document's postings
+  private final Map<String, Map<String, Integer>> documents = new HashMap<>();
+  private final Map<String, Integer> lengths = new HashMap<>();
+  private long totalLength;
+
+  // Lower-cased runs of letters and digits
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null)
+      return tokens;
+    String lower = text.toLowerCase(Locale.ROOT);
+    int start = -1;
+    for (int i = 0; i <= lower.length(); i++) {
+      boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        if (i - start >= MIN_TOKEN_LENGTH)
+          tokens.add(lower.substring(start, i));
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+
+  public static Map<String, Integer> termFrequencies(String text) {
+    Map<String, Integer> frequencies = new HashMap<>();
+    for (String token : tokenize(text)) {
+      frequencies.merge(token, 1, Integer::sum);
+    }
+    return frequencies;
+  }
+
+  public void put(String docId, String text) {
+    putTerms(docId, termFrequencies(text));
+  }
+
+  // Replaces any previous postings of the document
+  public void putTerms(String docId, Map<String, Integer> termFrequencies) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(docId);
+      if (termFrequencies.isEmpty())
+        return;
+      Map<String, Integer> terms = new HashMap<>(termFrequencies);
+      int length = 0;
+      for (Map.Entry<String, Integer> entry : terms.entrySet()) {
+        postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(docId, entry.getValue());
+        length += entry.getValue();
+      }
+      documents.put(docId, terms);
+      lengths.put(docId, length);
+      totalLength += length;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(String docId) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(docId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  // Ranks documents accepted by "filter" against the query; every query token
+  // matches whole terms and, with a lower weight, terms it is a prefix of
+  public List<Hit> search(String query, int limit, Predicate<String> filter) {
+    List<String> tokens = tokenize(query);
+    if (tokens.isEmpty() || limit <= 0)
+      return List.of();
+
+    lock.readLock().lock();
+    try {
+      int docCount = documents.size();
+      if (docCount == 0)
+        return List.of();
+      double avgLength = (double) totalLength / docCount;
+
+      Map<String, Double> scores = new HashMap<>();
+      for (String token : tokens) {
+        int expansions = 0;
+        for (Map.Entry<String, Map<String, Integer>> termEntry : postings
+            .subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+          if (expansions++ >= MAX_PREFIX_EXPANSIONS)
+            break;
+          double weight = termEntry.getKey().equals(token) ? 1.0 : PREFIX_WEIGHT;
+          Map<String, Integer> docs = termEntry.getValue();
+          double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+          for (Map.Entry<String, Integer> posting : docs.entrySet()) {
+            String docId = posting.getKey();
+            if (!filter.test(docId))
+              continue;
+            int tf = posting.getValue();
+            double norm = K1 * (1 - B + B * lengths.get(docId) / avgLength);
+            scores.merge(docId, weight * idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+          }
+        }
+      }
+
+      // Keep the best "limit" hits in a min-heap
+      PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+      for (Map.Entry<String, Double> entry : scores.entrySet()) {
+        top.offer(new Hit(entry.getKey(), entry.getValue()));
+        if (top.size() > limit)
+          top.poll();
+      }
+      List<Hit> hits = new ArrayList<>(top);
+      hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+      return hits;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void removeLocked(String docId) {
+    Map<String, Integer> terms = documents.remove(docId);
+    if (terms == null)
+      return;
+    for (String term : terms.keySet()) {
+      Map<String, Integer> docs = postings.get(term);
+      if (docs != null) {
+        docs.remove(docId);
+        if (docs.isEmpty())
+          postings.remove(term);
+      }
+    }
+    Integer length = lengths.remove(docId);
+    if (length != null)
+      totalLength -= length;
+  }
+}
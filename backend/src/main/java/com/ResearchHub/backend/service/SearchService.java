@@ -0,0 +1,115 @@
+package com.ResearchHub.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.RepoModel;
+import com.ResearchHub.backend.model.SearchHit;
+
+// Keeps an in-memory SearchIndex over repo names/descriptions and paper
+// titles/latest file names. It is loaded once at startup and then updated in
+// place by the controllers on every create, update and delete, so queries
+// never touch Mongo.
+@Service
+public class SearchService {
+
+  private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+  private static final String REPO_PREFIX = "repo:";
+  private static final String PAPER_PREFIX = "paper:";
+
+  private final MongoTemplate mongoTemplate;
+  private final SearchIndex index = new SearchIndex();
+  // docId -> fields needed to render a hit without going back to Mongo
+  private final Map<String, SearchHit> entries = new ConcurrentHashMap<>();
+
+  public SearchService(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    Query repoQuery = new Query();
+    repoQuery.fields().include("id", "name", "description", "ownerEmail");
+    try (Stream<RepoModel> repos = mongoTemplate.stream(repoQuery, RepoModel.class)) {
+      repos.forEach(this::indexRepo);
+    }
+    Query paperQuery = new Query();
+    paperQuery.fields().include("id", "repoId", "ownerEmail", "title", "currentVersion",
+        "versions.versionNumber", "versions.fileName");
+    try (Stream<PaperModel> papers = mongoTemplate.stream(paperQuery, PaperModel.class)) {
+      papers.forEach(this::indexPaper);
+    }
+    log.info("Search index loaded with {} documents", index.size());
+  }
+
+  public void indexRepo(RepoModel repo) {
+    String docId = REPO_PREFIX + repo.getId();
+    entries.put(docId, new SearchHit("repo", repo.getId(), repo.getId(), repo.getName(),
+        repo.getDescription(), repo.getOwnerEmail(), 0));
+    index.put(docId, join(repo.getName(), repo.getDescription()));
+  }
+
+  public void removeRepo(String repoId) {
+    remove(REPO_PREFIX + repoId);
+  }
+
+  public void indexPaper(PaperModel paper) {
+    String fileName = null;
+    if (paper.getVersions() != null) {
+      for (PaperModel.Version version : paper.getVersions()) {
+        if (version.getVersionNumber() == paper.getCurrentVersion())
+          fileName = version.getFileName();
+      }
+    }
+    String docId = PAPER_PREFIX + paper.getId();
+    entries.put(docId, new SearchHit("paper", paper.getId(), paper.getRepoId(), paper.getTitle(),
+        fileName, paper.getOwnerEmail(), 0));
+    index.put(docId, join(paper.getTitle(), fileName));
+  }
+
+  public void removePaper(String paperId) {
+    remove(PAPER_PREFIX + paperId);
+  }
+
+  // type: "repos", "papers" or anything else for both
+  public List<SearchHit> search(String query, String type, int limit) {
+    Predicate<String> filter = switch (type) {
+      case "repos" -> docId -> docId.startsWith(REPO_PREFIX);
+      case "papers" -> docId -> docId.startsWith(PAPER_PREFIX);
+      default -> docId -> true;
+    };
+    List<SearchHit> hits = new ArrayList<>();
+    for (SearchIndex.Hit hit : index.search(query, limit, filter)) {
+      SearchHit entry = entries.get(hit.docId());
+      if (entry != null) {
+        hits.add(new SearchHit(entry.type(), entry.id(), entry.repoId(), entry.title(), entry.text(),
+            entry.ownerEmail(), hit.score()));
+      }
+    }
+    return hits;
+  }
+
+  private void remove(String docId) {
+    index.remove(docId);
+    entries.remove(docId);
+  }
+
+  private static String join(String first, String second) {
+    if (second == null)
+      return first == null ? "" : first;
+    return first == null ? second : first + " " + second;
+  }
+}
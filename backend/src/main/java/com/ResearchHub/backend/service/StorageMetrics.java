@@ -0,0 +1,39 @@
+package com.ResearchHub.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+// Meters for calls to the storage provider, shared by CloudinaryService and
+// ReactiveCloudinaryClient. Each call is an observation named
+// "storage.requests" (a timer tagged by operation and error, and a span when
+// tracing is on); the time spent waiting for a bulkhead permit is not included.
+@Component
+public class StorageMetrics {
+
+  private final ObservationRegistry observationRegistry;
+  private final DistributionSummary uploadedBytes;
+
+  public StorageMetrics(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+    this.observationRegistry = observationRegistry;
+    this.uploadedBytes = DistributionSummary.builder("storage.upload.size")
+        .description("Size of files uploaded to storage")
+        .baseUnit("bytes")
+        .serviceLevelObjectives(64 * 1024, 1024 * 1024, 5 * 1024 * 1024, 10 * 1024 * 1024, 20 * 1024 * 1024)
+        .register(meterRegistry);
+  }
+
+  // Not yet started; callers use observe/observeChecked or start/stop
+  public Observation observation(String operation) {
+    return Observation.createNotStarted("storage.requests", observationRegistry)
+        .contextualName("storage " + operation)
+        .lowCardinalityKeyValue("operation", operation);
+  }
+
+  public void uploaded(long bytes) {
+    uploadedBytes.record(bytes);
+  }
+}
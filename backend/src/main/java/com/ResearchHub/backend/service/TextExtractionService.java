@@ -0,0 +1,248 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.ResearchHub.backend.Repository.PaperTextRepository;
+import com.ResearchHub.backend.event.PaperVersionUploadedEvent;
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.PaperTextModel;
+import com.ResearchHub.backend.util.TextCompression;
+
+import jakarta.annotation.PreDestroy;
+
+// Extracts the text of every stored paper version exactly once, off the request
+// path. New versions arrive as PaperVersionUploadedEvents on a bounded queue;
+// versions uploaded before this existed are fed in batches by a backlog scan.
+@Service
+public class TextExtractionService {
+
+  private static final Logger log = LoggerFactory.getLogger(TextExtractionService.class);
+
+  private record Task(String paperId, String repoId, PaperModel.Version version) {
+  }
+
+  private final PaperTextRepository paperTextRepository;
+  private final PaperDownloadService paperDownloadService;
+  private final TextExtractor textExtractor;
+  private final ContentSearchService contentSearchService;
+  private final MongoTemplate mongoTemplate;
+  private final BlockingQueue<Task> queue;
+  private final ExecutorService workers;
+  private final long offerTimeoutMs;
+  private final int backlogBatchSize;
+  private final boolean backlogEnabled;
+  private final int maxTerms;
+
+  public TextExtractionService(
+      PaperTextRepository paperTextRepository,
+      PaperDownloadService paperDownloadService,
+      TextExtractor textExtractor,
+      ContentSearchService contentSearchService,
+      MongoTemplate mongoTemplate,
+      @Value("${papers.text.workers:2}") int workerCount,
+      @Value("${papers.text.queue-capacity:200}") int queueCapacity,
+      @Value("${papers.text.offer-timeout-ms:2000}") long offerTimeoutMs,
+      @Value("${papers.text.backlog.enabled:true}") boolean backlogEnabled,
+      @Value("${papers.text.backlog.batch-size:100}") int backlogBatchSize,
+      @Value("${papers.text.max-terms:256}") int maxTerms) {
+    this.paperTextRepository = paperTextRepository;
+    this.paperDownloadService = paperDownloadService;
+    this.textExtractor = textExtractor;
+    this.contentSearchService = contentSearchService;
+    this.mongoTemplate = mongoTemplate;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.offerTimeoutMs = offerTimeoutMs;
+    this.backlogEnabled = backlogEnabled;
+    this.backlogBatchSize = backlogBatchSize;
+    this.maxTerms = maxTerms;
+
+    AtomicInteger threadIds = new AtomicInteger();
+    this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+      Thread thread = new Thread(runnable, "text-extraction-" + threadIds.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    for (int i = 0; i < workerCount; i++) {
+      workers.execute(this::drain);
+    }
+  }
+
+  // Runs on the thread that wrote the version (an upload worker). Waits briefly
+  // when the queue is full; if it stays full the version is left for the next
+  // backlog scan rather than blocking uploads indefinitely.
+  @EventListener
+  public void onVersionUploaded(PaperVersionUploadedEvent event) {
+    try {
+      if (!queue.offer(new Task(event.paperId(), event.repoId(), event.version()), offerTimeoutMs,
+          TimeUnit.MILLISECONDS)) {
+        log.warn("Text extraction queue full, deferring {} v{} to the backlog scan",
+            event.paperId(), event.version().getVersionNumber());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void startBacklogScan() {
+    if (!backlogEnabled)
+      return;
+    Thread scanner = new Thread(this::scanBacklog, "text-extraction-backlog");
+    scanner.setDaemon(true);
+    scanner.start();
+  }
+
+  // Streams every paper, checks each batch of versions against paper_texts with
+  // one $in query and queues the missing ones. queue.put() blocks while the
+  // workers are busy, so the scan runs at the pace of extraction.
+  private void scanBacklog() {
+    Query query = new Query();
+    query.fields().include("id", "repoId", "versions");
+    List<Task> batch = new ArrayList<>();
+    int queued = 0;
+    try (Stream<PaperModel> papers = mongoTemplate.stream(query, PaperModel.class)) {
+      for (PaperModel paper : (Iterable<PaperModel>) papers::iterator) {
+        if (paper.getVersions() == null)
+          continue;
+        for (PaperModel.Version version : paper.getVersions()) {
+          batch.add(new Task(paper.getId(), paper.getRepoId(), version));
+          if (batch.size() >= backlogBatchSize) {
+            queued += queueMissing(batch);
+            batch.clear();
+          }
+        }
+      }
+      queued += queueMissing(batch);
+      log.info("Text extraction backlog scan queued {} version(s)", queued);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      log.warn("Text extraction backlog scan stopped: {}", e.getMessage());
+    }
+  }
+
+  private int queueMissing(List<Task> batch) throws InterruptedException {
+    if (batch.isEmpty())
+      return 0;
+    Map<String, Task> byId = new HashMap<>();
+    for (Task task : batch) {
+      byId.put(PaperTextModel.idFor(task.paperId(), task.version().getVersionNumber()), task);
+    }
+    Set<String> done = new HashSet<>();
+    for (PaperTextModel existing : paperTextRepository.findIdsByIdIn(byId.keySet())) {
+      done.add(existing.getId());
+    }
+    int queued = 0;
+    for (Map.Entry<String, Task> entry : byId.entrySet()) {
+      if (!done.contains(entry.getKey())) {
+        queue.put(entry.getValue());
+        queued++;
+      }
+    }
+    return queued;
+  }
+
+  private void drain() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        process(queue.take());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        log.warn("Text extraction failed: {}", e.getMessage());
+      }
+    }
+  }
+
+  private void process(Task task) {
+    PaperModel.Version version = task.version();
+    String id = PaperTextModel.idFor(task.paperId(), version.getVersionNumber());
+    if (paperTextRepository.existsById(id))
+      return;
+
+    Path file;
+    try {
+      file = paperDownloadService.fetchCopy(version);
+    } catch (IOException e) {
+      // Storage problems are transient: record nothing so a later scan retries
+      log.warn("Could not fetch {} for text extraction: {}", id, e.getMessage());
+      return;
+    }
+
+    PaperTextModel record = new PaperTextModel(task.paperId(), task.repoId(), version.getVersionNumber());
+    try {
+      String text = textExtractor.extract(file, version.getFileName(), version.getFileType());
+      record.setCompressedText(TextCompression.compress(text));
+      record.setTerms(topTerms(SearchIndex.termFrequencies(text)));
+    } catch (IOException | RuntimeException e) {
+      // Unreadable file: remember the failure so it is not retried forever.
+      // The copy is private to this task, so this is never a cache eviction.
+      record.setError(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+    } finally {
+      deleteCopy(file);
+    }
+    paperTextRepository.save(record);
+    contentSearchService.index(record);
+
+    // The paper may have been deleted while its text was extracted, after the
+    // delete already cleared its text. Checking only after the save means
+    // either the delete sees this record or this check sees the delete.
+    if (!versionExists(task.paperId(), version.getVersionNumber()))
+      contentSearchService.removePaper(task.paperId(), List.of(version.getVersionNumber()));
+  }
+
+  private static void deleteCopy(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Could not delete {}: {}", file, e.getMessage());
+    }
+  }
+
+  private boolean versionExists(String paperId, int versionNumber) {
+    Query query = Query.query(Criteria.where("id").is(paperId).and("versions.versionNumber").is(versionNumber));
+    return mongoTemplate.exists(query, PaperModel.class);
+  }
+
+  private Map<String, Integer> topTerms(Map<String, Integer> frequencies) {
+    if (frequencies.size() <= maxTerms)
+      return frequencies;
+    Map<String, Integer> top = new HashMap<>();
+    frequencies.entrySet().stream()
+        .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+        .limit(maxTerms)
+        .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+    return top;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    workers.shutdownNow();
+  }
+}
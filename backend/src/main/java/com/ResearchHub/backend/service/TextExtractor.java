@@ -0,0 +1,75 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Pulls plain text out of the formats accepted by /papers/upload (PDF/DOC/DOCX)
+@Component
+public class TextExtractor {
+
+  private final int maxPdfPages;
+  private final int maxChars;
+
+  public TextExtractor(
+      @Value("${papers.text.max-pdf-pages:300}") int maxPdfPages,
+      @Value("${papers.text.max-chars:2000000}") int maxChars) {
+    this.maxPdfPages = maxPdfPages;
+    this.maxChars = maxChars;
+  }
+
+  public String extract(Path file, String fileName, String fileType) throws IOException {
+    String text = switch (formatOf(fileName, fileType)) {
+      case "pdf" -> extractPdf(file);
+      case "docx" -> extractDocx(file);
+      case "doc" -> extractDoc(file);
+      default -> throw new IOException("Unsupported file type: " + fileName);
+    };
+    return text.length() > maxChars ? text.substring(0, maxChars) : text;
+  }
+
+  private String extractPdf(Path file) throws IOException {
+    try (PDDocument document = Loader.loadPDF(file.toFile())) {
+      PDFTextStripper stripper = new PDFTextStripper();
+      stripper.setEndPage(maxPdfPages);
+      return stripper.getText(document);
+    }
+  }
+
+  private static String extractDocx(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file);
+        XWPFDocument document = new XWPFDocument(in);
+        XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+      return extractor.getText();
+    }
+  }
+
+  private static String extractDoc(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file);
+        WordExtractor extractor = new WordExtractor(in)) {
+      return extractor.getText();
+    }
+  }
+
+  private static String formatOf(String fileName, String fileType) {
+    String lower = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+    if (lower.endsWith(".pdf") || "application/pdf".equals(fileType))
+      return "pdf";
+    if (lower.endsWith(".docx"))
+      return "docx";
+    if (lower.endsWith(".doc") || "application/msword".equals(fileType))
+      return "doc";
+    return "";
+  }
+}
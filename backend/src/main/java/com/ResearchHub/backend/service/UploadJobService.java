@@ -0,0 +1,313 @@
+package com.ResearchHub.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.UploadJob;
+
+import jakarta.annotation.PreDestroy;
+
+// Runs storage uploads on a bounded worker pool so request threads only spool
+// the multipart body to disk and return a job id. Batches (/upload-batch) have
+// their own pool: up to max-batches run at once, each with at most
+// "parallelism" files going to storage, and their papers are written together.
+@Service
+public class UploadJobService {
+
+  private static final Logger log = LoggerFactory.getLogger(UploadJobService.class);
+
+  // Writes the paper document once the file is in storage. Throwing means the
+  // paper was not written and the file's reference is given back, so work
+  // that follows a successful write must not throw.
+  @FunctionalInterface
+  public interface Completion {
+    PaperModel apply(BlobStoreService.StoredBlob stored) throws Exception;
+  }
+
+  // A spooled request body with the digest and length computed while copying
+  public record SpooledFile(Path path, String sha256, long size) {
+  }
+
+  // File of a batch that reached storage; index is its position in the batch
+  public record StoredItem(int index, BlobStoreService.StoredBlob stored) {
+  }
+
+  // Writes the papers of a batch's stored files, returned in the same order.
+  // Throws only if the papers were not written, as Completion.
+  @FunctionalInterface
+  public interface BatchCompletion {
+    List<PaperModel> apply(List<StoredItem> stored) throws Exception;
+  }
+
+  private final BlobStoreService blobStoreService;
+  private final ThreadPoolExecutor executor;
+  private final Path spoolDirectory;
+  private final Duration retention;
+  private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor batchCoordinators;
+  private final ExecutorService batchUploads;
+  private final int batchParallelism;
+  private final int maxBatchFiles;
+
+  public UploadJobService(
+      BlobStoreService blobStoreService,
+      @Value("${papers.upload.workers:4}") int workers,
+      @Value("${papers.upload.queue-capacity:32}") int queueCapacity,
+      @Value("${papers.upload.spool-dir:${java.io.tmpdir}/researchhub-upload-spool}") String spoolDirectory,
+      @Value("${papers.upload.job-retention-minutes:30}") long retentionMinutes,
+      @Value("${papers.upload.batch.max-batches:2}") int maxBatches,
+      @Value("${papers.upload.batch.parallelism:4}") int batchParallelism,
+      @Value("${papers.upload.batch.max-files:50}") int maxBatchFiles) throws IOException {
+    this.blobStoreService = blobStoreService;
+    this.spoolDirectory = Paths.get(spoolDirectory);
+    Files.createDirectories(this.spoolDirectory);
+    this.retention = Duration.ofMinutes(retentionMinutes);
+
+    AtomicInteger threadIds = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          Thread thread = new Thread(runnable, "upload-worker-" + threadIds.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+
+    this.batchParallelism = batchParallelism;
+    this.maxBatchFiles = maxBatchFiles;
+    AtomicInteger coordinatorIds = new AtomicInteger();
+    this.batchCoordinators = new ThreadPoolExecutor(maxBatches, maxBatches, 0L, TimeUnit.MILLISECONDS,
+        new SynchronousQueue<>(),
+        runnable -> {
+          Thread thread = new Thread(runnable, "upload-batch-" + coordinatorIds.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        },
+        new ThreadPoolExecutor.AbortPolicy());
+    AtomicInteger batchWorkerIds = new AtomicInteger();
+    this.batchUploads = Executors.newFixedThreadPool(maxBatches * batchParallelism, runnable -> {
+      Thread thread = new Thread(runnable, "upload-batch-worker-" + batchWorkerIds.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public int maxBatchFiles() {
+    return maxBatchFiles;
+  }
+
+  // Copies the multipart body to a spool file in streaming fashion, hashing
+  // it on the way so duplicates are found without a second read
+  public SpooledFile spool(MultipartFile file) throws IOException {
+    Path target = newSpoolFile();
+    MessageDigest digest = sha256();
+    long size;
+    try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+      size = Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      Files.deleteIfExists(target);
+      throw e;
+    }
+    return new SpooledFile(target, HexFormat.of().formatHex(digest.digest()), size);
+  }
+
+  // Removes a spool file that will not be uploaded
+  public void discard(SpooledFile spooled) {
+    deleteQuietly(spooled.path());
+  }
+
+  // Empty file in the spool directory, for callers that spool bodies themselves
+  public Path newSpoolFile() throws IOException {
+    return Files.createTempFile(spoolDirectory, "upload-", ".tmp");
+  }
+
+  // Queues the upload of a spooled file. Throws RejectedExecutionException (and
+  // removes the spool file) when the queue is full.
+  public UploadJob submit(UploadJob job, SpooledFile spooled, String folder, Completion completion) {
+    purgeFinished();
+    jobs.put(job.getJobId(), job);
+    try {
+      executor.execute(() -> run(job, spooled, folder, completion));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.getJobId());
+      deleteQuietly(spooled.path());
+      throw e;
+    }
+    return job;
+  }
+
+  // Starts a batch: jobs.get(i) tracks files.get(i). Throws
+  // RejectedExecutionException (and removes the spool files) when max-batches
+  // are already running.
+  public List<UploadJob> submitBatch(List<UploadJob> batchJobs, List<SpooledFile> files, String folder,
+      BatchCompletion completion) {
+    purgeFinished();
+    for (UploadJob job : batchJobs)
+      jobs.put(job.getJobId(), job);
+    try {
+      batchCoordinators.execute(() -> runBatch(batchJobs, files, folder, completion));
+    } catch (RejectedExecutionException e) {
+      for (int i = 0; i < batchJobs.size(); i++) {
+        jobs.remove(batchJobs.get(i).getJobId());
+        deleteQuietly(files.get(i).path());
+      }
+      throw e;
+    }
+    return batchJobs;
+  }
+
+  // Registers a job whose upload is driven elsewhere (the reactive upload
+  // path), so it is visible through get() like queued jobs
+  public void track(UploadJob job) {
+    purgeFinished();
+    jobs.put(job.getJobId(), job);
+  }
+
+  public UploadJob get(String jobId) {
+    return jobs.get(jobId);
+  }
+
+  private void run(UploadJob job, SpooledFile spooled, String folder, Completion completion) {
+    job.markUploading();
+    BlobStoreService.StoredBlob stored = null;
+    try {
+      stored = blobStoreService.store(spooled.path(), spooled.sha256(), spooled.size(), folder);
+      job.markCompleted(completion.apply(stored));
+    } catch (Exception e) {
+      log.warn("Upload job {} failed: {}", job.getJobId(), e.getMessage());
+      job.markFailed(e.getMessage());
+      // Storage or the paper write failed (completions do not throw once the
+      // paper exists), so give back the reference taken on the file
+      if (stored != null)
+        blobStoreService.release(stored);
+    } finally {
+      deleteQuietly(spooled.path());
+    }
+  }
+
+  // Sends the files to storage, "parallelism" at a time, then writes all papers
+  // with one completion call. A file that fails only fails its own job; if the
+  // write fails, every stored file's job fails and its reference is released.
+  private void runBatch(List<UploadJob> batchJobs, List<SpooledFile> files, String folder,
+      BatchCompletion completion) {
+    Semaphore permits = new Semaphore(batchParallelism);
+    List<Future<BlobStoreService.StoredBlob>> uploads = new ArrayList<>();
+    try {
+      for (int i = 0; i < files.size(); i++) {
+        UploadJob job = batchJobs.get(i);
+        SpooledFile spooled = files.get(i);
+        permits.acquire();
+        uploads.add(batchUploads.submit(() -> {
+          try {
+            job.markUploading();
+            return blobStoreService.store(spooled.path(), spooled.sha256(), spooled.size(), folder);
+          } finally {
+            permits.release();
+            deleteQuietly(spooled.path());
+          }
+        }));
+      }
+
+      List<StoredItem> stored = new ArrayList<>();
+      for (int i = 0; i < uploads.size(); i++) {
+        try {
+          stored.add(new StoredItem(i, uploads.get(i).get()));
+        } catch (ExecutionException e) {
+          log.warn("Upload job {} failed: {}", batchJobs.get(i).getJobId(), e.getCause().getMessage());
+          batchJobs.get(i).markFailed(e.getCause().getMessage());
+        }
+      }
+      if (stored.isEmpty())
+        return;
+
+      List<PaperModel> papers;
+      try {
+        papers = completion.apply(stored);
+      } catch (Exception e) {
+        log.warn("Upload batch of {} file(s) failed: {}", stored.size(), e.getMessage());
+        for (StoredItem item : stored) {
+          batchJobs.get(item.index()).markFailed(e.getMessage());
+          blobStoreService.release(item.stored());
+        }
+        return;
+      }
+      for (int i = 0; i < stored.size(); i++)
+        batchJobs.get(stored.get(i).index()).markCompleted(papers.get(i));
+    } catch (InterruptedException e) {
+      // Interrupted before the papers were written: nothing stored is kept
+      Thread.currentThread().interrupt();
+      for (Future<BlobStoreService.StoredBlob> upload : uploads) {
+        if (upload.state() == Future.State.SUCCESS)
+          blobStoreService.release(upload.resultNow());
+      }
+      for (UploadJob job : batchJobs) {
+        if (!job.isFinished())
+          job.markFailed("Server is shutting down");
+      }
+    } finally {
+      // Spool files of uploads that never started
+      for (int i = uploads.size(); i < files.size(); i++)
+        deleteQuietly(files.get(i).path());
+    }
+  }
+
+  private void purgeFinished() {
+    Instant cutoff = Instant.now().minus(retention);
+    jobs.values().removeIf(job -> job.isFinished() && job.getUpdatedAt().isBefore(cutoff));
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Could not delete spool file {}", path, e);
+    }
+  }
+
+  static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+    batchCoordinators.shutdownNow();
+    batchUploads.shutdownNow();
+  }
+}
@@ -0,0 +1,81 @@
+package com.ResearchHub.backend.util;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.ResearchHub.backend.model.BulkheadStats;
+
+// Caps the number of concurrent calls into one downstream. Callers wait up to
+// maxWaitMs for a permit and are rejected after that, so a slow dependency
+// holds at most maxConcurrent threads instead of every request thread.
+public class Bulkhead {
+
+  private final String name;
+  private final int maxConcurrent;
+  private final long maxWaitMs;
+  private final Semaphore permits;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+
+  public Bulkhead(String name, int maxConcurrent, long maxWaitMs) {
+    this.name = name;
+    this.maxConcurrent = maxConcurrent;
+    this.maxWaitMs = maxWaitMs;
+    this.permits = new Semaphore(maxConcurrent, true);
+  }
+
+  // Held for the whole downstream exchange, including streaming a body:
+  // try (Bulkhead.Permit permit = bulkhead.acquire()) { ... }
+  // Closing more than once (or from another thread) releases the permit once.
+  public final class Permit implements AutoCloseable {
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit() {
+    }
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true))
+        permits.release();
+    }
+  }
+
+  public Permit acquire() {
+    waiting.incrementAndGet();
+    boolean acquired;
+    try {
+      acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    } finally {
+      waiting.decrementAndGet();
+    }
+    if (!acquired) {
+      rejected.incrementAndGet();
+      throw new BulkheadFullException(name);
+    }
+    return new Permit();
+  }
+
+  // Non-blocking variant for reactive callers: rejects at once when no permit is free
+  public Permit tryAcquire() {
+    if (!permits.tryAcquire()) {
+      rejected.incrementAndGet();
+      throw new BulkheadFullException(name);
+    }
+    return new Permit();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public BulkheadStats stats() {
+    return new BulkheadStats(name, maxConcurrent, maxConcurrent - permits.availablePermits(), waiting.get(),
+        rejected.get());
+  }
+}
@@ -0,0 +1,16 @@
+package com.ResearchHub.backend.util;
+
+// Thrown when a downstream's bulkhead has no free permit within its wait time
+public class BulkheadFullException extends RuntimeException {
+
+  private final String bulkhead;
+
+  public BulkheadFullException(String bulkhead) {
+    super("Too many concurrent calls to " + bulkhead);
+    this.bulkhead = bulkhead;
+  }
+
+  public String getBulkhead() {
+    return bulkhead;
+  }
+}
@@ -1,5 +1,7 @@
 package com.ResearchHub.backend.util;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -10,6 +12,8 @@ import java.util.Date;
 public class JwtUtil {
   private static final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
   private static final long EXPIRATION_TIME = 86400000; // 1 day in ms
+  // Built parsers are immutable and thread-safe, so one instance is shared
+  private static final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
 
   public static String generateToken(String username, String email) {
     return Jwts.builder()
@@ -21,13 +25,16 @@ public class JwtUtil {
         .compact();
   }
 
+  // Verifies the signature and expiry, returning all claims
+  public static Claims parseClaims(String token) {
+    return parser.parseClaimsJws(token).getBody();
+  }
+
   public static String getUsernameFromToken(String token) {
-    return Jwts.parserBuilder().setSigningKey(key).build()
-        .parseClaimsJws(token).getBody().getSubject();
+    return parseClaims(token).getSubject();
   }
 
   public static String getEmailFromToken(String token) {
-    return (String) Jwts.parserBuilder().setSigningKey(key).build()
-        .parseClaimsJws(token).getBody().get("email");
+    return (String) parseClaims(token).get("email");
   }
 }
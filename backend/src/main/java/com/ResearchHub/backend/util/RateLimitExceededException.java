@@ -0,0 +1,24 @@
+package com.ResearchHub.backend.util;
+
+// Thrown by RateLimiter when a client is over its request rate or has too many
+// transfers in flight. Raised on every rejected request, so no stack trace is kept.
+public class RateLimitExceededException extends RuntimeException {
+
+  private final String reason;
+  private final long retryAfterSeconds;
+
+  public RateLimitExceededException(String limiter, String reason, long retryAfterSeconds) {
+    super(limiter + " limit exceeded (" + reason + ")", null, false, false);
+    this.reason = reason;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  // "rate" or "concurrency"
+  public String getReason() {
+    return reason;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
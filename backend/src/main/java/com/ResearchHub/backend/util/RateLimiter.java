@@ -0,0 +1,128 @@
+package com.ResearchHub.backend.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Per-client admission control for one route group: a token bucket (burst of
+// "capacity" requests, refilled at refillPerMinute) plus a cap on requests in
+// flight per client. A zero refill rate or maxConcurrent turns that check off.
+// Unlike Bulkhead, callers never wait: they are rejected with the time after
+// which a retry can succeed. Idle clients are forgotten by evictIdle(), which
+// RateLimits runs on a schedule, so requests never scan the client map.
+public class RateLimiter {
+
+  public static final String REASON_RATE = "rate";
+  public static final String REASON_CONCURRENCY = "concurrency";
+
+  private final String name;
+  private final double capacity;
+  private final double tokensPerNano;
+  private final int maxConcurrent;
+  private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  private static final class Bucket {
+    double tokens;
+    long refilledAt;
+    int active;
+    // Set under the bucket's lock when it leaves the map
+    boolean evicted;
+
+    Bucket(double tokens, long now) {
+      this.tokens = tokens;
+      this.refilledAt = now;
+    }
+  }
+
+  public RateLimiter(String name, int capacity, int refillPerMinute, int maxConcurrent) {
+    this.name = name;
+    this.capacity = Math.max(1, capacity);
+    this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  // Held until the response is complete:
+  // try (RateLimiter.Permit permit = limiter.tryAcquire(client)) { ... }
+  public final class Permit implements AutoCloseable {
+    private final Bucket bucket;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(Bucket bucket) {
+      this.bucket = bucket;
+    }
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        synchronized (bucket) {
+          bucket.active--;
+        }
+      }
+    }
+  }
+
+  public Permit tryAcquire(String client) {
+    return tryAcquire(client, System.nanoTime());
+  }
+
+  Permit tryAcquire(String client, long now) {
+    while (true) {
+      Bucket bucket = buckets.computeIfAbsent(client, key -> new Bucket(capacity, now));
+      synchronized (bucket) {
+        // Evicted between the lookup and the lock: take the client's new bucket
+        if (bucket.evicted)
+          continue;
+        if (maxConcurrent > 0 && bucket.active >= maxConcurrent)
+          throw new RateLimitExceededException(name, REASON_CONCURRENCY, 1);
+        if (tokensPerNano > 0) {
+          refill(bucket, now);
+          if (bucket.tokens < 1) {
+            long waitNanos = (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+            throw new RateLimitExceededException(name, REASON_RATE,
+                Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+          }
+          bucket.tokens -= 1;
+        }
+        bucket.active++;
+        return new Permit(bucket);
+      }
+    }
+  }
+
+  // Forgets clients that are back to a full bucket with nothing in flight, as
+  // they would start from the same state anyway. Returns the number removed.
+  public int evictIdle() {
+    return evictIdle(System.nanoTime());
+  }
+
+  int evictIdle(long now) {
+    int removed = 0;
+    for (String client : buckets.keySet()) {
+      Bucket left = buckets.computeIfPresent(client, (key, bucket) -> {
+        synchronized (bucket) {
+          if (tokensPerNano > 0)
+            refill(bucket, now);
+          bucket.evicted = bucket.active == 0 && (tokensPerNano == 0 || bucket.tokens >= capacity);
+          return bucket.evicted ? null : bucket;
+        }
+      });
+      if (left == null)
+        removed++;
+    }
+    return removed;
+  }
+
+  int clientCount() {
+    return buckets.size();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  private void refill(Bucket bucket, long now) {
+    bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * tokensPerNano);
+    bucket.refilledAt = now;
+  }
+}
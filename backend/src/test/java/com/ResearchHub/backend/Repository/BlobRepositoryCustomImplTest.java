@@ -0,0 +1,66 @@
+package com.ResearchHub.backend.Repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.ResearchHub.backend.model.BlobModel;
+import com.mongodb.client.result.DeleteResult;
+
+class BlobRepositoryCustomImplTest {
+
+  private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+  private final BlobRepositoryCustomImpl blobRepository = new BlobRepositoryCustomImpl(mongoTemplate);
+
+  @Test
+  void acquireOnlyCountsLiveBlobs() {
+    blobRepository.acquire("abc");
+
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+    verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+        eq(BlobModel.class));
+    assertThat(query.getValue().getQueryObject())
+        .isEqualTo(new Document("id", "abc").append("refCount", new Document("$gt", 0)));
+    assertThat(update.getValue().getUpdateObject())
+        .isEqualTo(new Document("$inc", new Document("refCount", 1)));
+  }
+
+  @Test
+  void releaseMatchesTheStoredCopy() {
+    blobRepository.release("abc", "papers/1");
+
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+    verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+        eq(BlobModel.class));
+    // An unshared copy with the same digest must not drop the shared blob's count
+    assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("id", "abc")
+        .append("refCount", new Document("$gt", 0)).append("publicId", "papers/1"));
+    assertThat(update.getValue().getUpdateObject())
+        .isEqualTo(new Document("$inc", new Document("refCount", -1)));
+  }
+
+  @Test
+  void deleteIfUnreferencedLeavesReferencedBlobs() {
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    when(mongoTemplate.remove(query.capture(), eq(BlobModel.class)))
+        .thenReturn(DeleteResult.acknowledged(1), DeleteResult.acknowledged(0));
+
+    assertThat(blobRepository.deleteIfUnreferenced("abc")).isTrue();
+    assertThat(blobRepository.deleteIfUnreferenced("abc")).isFalse();
+    assertThat(query.getValue().getQueryObject())
+        .isEqualTo(new Document("id", "abc").append("refCount", new Document("$lte", 0)));
+  }
+}
@@ -0,0 +1,100 @@
+package com.ResearchHub.backend.Repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.ResearchHub.backend.model.PaperModel;
+
+class PaperRepositoryCustomImplTest {
+
+  private final MappingMongoConverter converter = converter();
+
+  private static MappingMongoConverter converter() {
+    MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    mappingContext.afterPropertiesSet();
+    MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+    return converter;
+  }
+
+  private static PaperModel.Version version(String fileName) {
+    PaperModel.Version version = new PaperModel.Version();
+    version.setVersionNumber(99);
+    version.setFileName(fileName);
+    version.setFileType("application/pdf");
+    version.setUrl("https://example.org/f.pdf");
+    version.setPublicId("papers/f");
+    version.setSize(42);
+    version.setUploadedAt(Instant.ofEpochMilli(1_700_000_000_000L));
+    return version;
+  }
+
+  private Document set(PaperModel.Version version) {
+    List<Document> pipeline = PaperRepositoryCustomImpl.appendVersionUpdate(converter, version)
+        .toPipeline(Aggregation.DEFAULT_CONTEXT);
+    assertThat(pipeline).hasSize(1);
+    return pipeline.get(0).get("$set", Document.class);
+  }
+
+  @Test
+  void numbersTheNewVersionFromTheStoredCurrentVersion() {
+    Document set = set(version("paper.pdf"));
+
+    Document next = new Document("$add", List.of(new Document("$ifNull", List.of("$currentVersion", 0)), 1));
+    assertThat(set.get("currentVersion")).isEqualTo(next);
+    Document entry = appendedEntry(set);
+    // The client-side number is ignored
+    assertThat(entry.get("versionNumber")).isEqualTo(next);
+  }
+
+  @Test
+  void appendsToExistingOrMissingHistory() {
+    Document concat = set(version("paper.pdf")).get("versions", Document.class);
+
+    List<?> arrays = concat.getList("$concatArrays", Object.class);
+    assertThat(arrays.get(0)).isEqualTo(new Document("$ifNull", List.of("$versions", List.of())));
+    assertThat((List<?>) arrays.get(1)).hasSize(1);
+  }
+
+  @Test
+  void wrapsStoredValuesInLiterals() {
+    Document set = set(version("$currentVersion"));
+
+    Document entry = appendedEntry(set);
+    assertThat(entry.get("fileName")).isEqualTo(new Document("$literal", "$currentVersion"));
+    assertThat(entry.get("size")).isEqualTo(new Document("$literal", 42L));
+    assertThat(entry).doesNotContainKey("_class");
+    assertThat(set.get("lastUploadedAt", Document.class).get("$literal"))
+        .isEqualTo(java.util.Date.from(Instant.ofEpochMilli(1_700_000_000_000L)));
+  }
+
+  @Test
+  void returnsOnlyTheAppendedVersion() {
+    Query query = PaperRepositoryCustomImpl.appendedVersionOnly(
+        PaperRepositoryCustomImpl.ownedPaper("p1", "a@example.com"));
+
+    assertThat(query.getQueryObject()).isEqualTo(new Document("id", "p1").append("ownerEmail", "a@example.com"));
+    assertThat(query.getFieldsObject().get("versions")).isEqualTo(new Document("$slice", -1));
+    assertThat(query.getFieldsObject()).containsKeys("repoId", "title", "ownerEmail", "currentVersion",
+        "lastUploadedAt");
+  }
+
+  private static Document appendedEntry(Document set) {
+    List<?> arrays = set.get("versions", Document.class).getList("$concatArrays", Object.class);
+    return (Document) ((List<?>) arrays.get(1)).get(0);
+  }
+}
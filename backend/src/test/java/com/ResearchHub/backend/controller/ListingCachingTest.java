@@ -0,0 +1,60 @@
+package com.ResearchHub.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.ResearchHub.backend.model.ChangeCounterModel;
+
+class ListingCachingTest {
+
+  private static ChangeCounterModel counter(long version) {
+    ChangeCounterModel counter = new ChangeCounterModel(ChangeCounterModel.repo("r1"));
+    ReflectionTestUtils.setField(counter, "version", version);
+    ReflectionTestUtils.setField(counter, "modifiedAt", Instant.ofEpochMilli(1_700_000_000_000L));
+    return counter;
+  }
+
+  @Test
+  void queryIsFoldedIntoTheWeakEtag() {
+    ChangeCounterModel counter = counter(3);
+
+    String page0 = ListingCaching.etag(counter, 0, 100, "created");
+
+    assertThat(ListingCaching.etag(counter)).isEqualTo(counter.etag());
+    assertThat(page0).startsWith("W/\"3-1700000000000-").endsWith("\"");
+    assertThat(ListingCaching.etag(counter, 0, 100, "created")).isEqualTo(page0);
+    assertThat(ListingCaching.etag(counter, 1, 100, "created")).isNotEqualTo(page0);
+    assertThat(ListingCaching.etag(counter, 0, 100, "recent")).isNotEqualTo(page0);
+    assertThat(ListingCaching.etag(counter(4), 0, 100, "created")).isNotEqualTo(page0);
+  }
+
+  @Test
+  void valuesAreNotConfusedAcrossParameters() {
+    ChangeCounterModel counter = counter(1);
+
+    assertThat(ListingCaching.etag(counter, "ab", "c")).isNotEqualTo(ListingCaching.etag(counter, "a", "bc"));
+    assertThat(ListingCaching.etag(counter, null, "x")).isNotEqualTo(ListingCaching.etag(counter, "null", "x"));
+  }
+
+  @Test
+  void etagOfOnePageDoesNotValidateAnother() {
+    ChangeCounterModel counter = counter(3);
+    String page0 = ListingCaching.etag(counter, 0, 100, "created");
+
+    assertThat(ListingCaching.notModified(request(page0), counter, 0, 100, "created")).isTrue();
+    assertThat(ListingCaching.notModified(request(page0), counter, 1, 100, "created")).isFalse();
+  }
+
+  private static ServletWebRequest request(String ifNoneMatch) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/papers/by-repo/r1");
+    request.addHeader("If-None-Match", ifNoneMatch);
+    return new ServletWebRequest(request, new MockHttpServletResponse());
+  }
+}
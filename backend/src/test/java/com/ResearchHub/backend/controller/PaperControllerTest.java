@@ -0,0 +1,163 @@
+package com.ResearchHub.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.ResearchHub.backend.Repository.RepoRepository;
+import com.ResearchHub.backend.model.ActivityEvent;
+import com.ResearchHub.backend.model.BatchUploadResult;
+import com.ResearchHub.backend.model.RepoModel;
+import com.ResearchHub.backend.model.UploadJob;
+import com.ResearchHub.backend.model.UserModel;
+import com.ResearchHub.backend.service.UploadJobService;
+
+class PaperControllerTest {
+
+  private final UploadJobService uploadJobService = mock(UploadJobService.class);
+
+  @AfterEach
+  void clearSecurityContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void activityCursorRoundTrip() {
+    ObjectId paperId = new ObjectId();
+    Instant uploadedAt = Instant.ofEpochMilli(1_700_000_000_123L);
+    ActivityEvent last = new ActivityEvent(paperId.toHexString(), "Title", "a@b.c", 3, "f.pdf",
+        "application/pdf", uploadedAt, "https://example.org/f.pdf", "updated");
+
+    PaperController.ActivityCursor cursor = PaperController.ActivityCursor.decode(
+        PaperController.ActivityCursor.encode(last));
+
+    assertThat(cursor).isEqualTo(new PaperController.ActivityCursor(uploadedAt, paperId, 3));
+  }
+
+  @Test
+  void activityCursorDefaultsAndPlainInstants() {
+    assertThat(PaperController.ActivityCursor.decode(null)).isEqualTo(PaperController.ActivityCursor.FIRST);
+    assertThat(PaperController.ActivityCursor.decode(" ")).isEqualTo(PaperController.ActivityCursor.FIRST);
+
+    PaperController.ActivityCursor instant = PaperController.ActivityCursor.decode("2024-05-01T10:00:00Z");
+    assertThat(instant.before()).isEqualTo(Instant.parse("2024-05-01T10:00:00Z"));
+    assertThat(instant.paperId()).isEqualTo(PaperController.NO_PAPER);
+  }
+
+  @Test
+  void activityCursorRejectsGarbage() {
+    assertThatThrownBy(() -> PaperController.ActivityCursor.decode("not a cursor"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> PaperController.ActivityCursor.decode("bWlsbGlz"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void batchFileErrors() {
+    assertThat(PaperController.batchFileError("a.pdf", 10, "A")).isNull();
+    assertThat(PaperController.batchFileError("a.exe", 10, "A")).isEqualTo("Only PDF/DOC/DOCX allowed");
+    assertThat(PaperController.batchFileError("a.pdf", PaperController.MAX_FILE_BYTES + 1, "A"))
+        .isEqualTo("File too large (max 20MB)");
+    assertThat(PaperController.batchFileError("a.docx", 10, " ")).isEqualTo("Title is required");
+  }
+
+  @Test
+  void uploadBatchReportsEachFile() throws Exception {
+    PaperController controller = batchController();
+    List<MultipartFile> files = List.of(pdf("a.pdf"), pdf("b.exe"), pdf("c.pdf"), pdf("d.pdf"));
+
+    ResponseEntity<?> response = controller.uploadBatch("r1", files, titles("A", "B", "", "D"));
+
+    assertThat(response.getStatusCode().value()).isEqualTo(202);
+    @SuppressWarnings("unchecked")
+    List<BatchUploadResult> results = (List<BatchUploadResult>) response.getBody();
+    assertThat(results).extracting(BatchUploadResult::fileName).containsExactly("a.pdf", "b.exe", "c.pdf", "d.pdf");
+    assertThat(results).extracting(BatchUploadResult::error)
+        .containsExactly(null, "Only PDF/DOC/DOCX allowed", "Title is required", null);
+
+    // Only the accepted files are spooled and submitted, in request order,
+    // each with the job reported for it
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UploadJob>> jobs = ArgumentCaptor.forClass(List.class);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<UploadJobService.SpooledFile>> spooled = ArgumentCaptor.forClass(List.class);
+    verify(uploadJobService).submitBatch(jobs.capture(), spooled.capture(), any(), any());
+    assertThat(jobs.getValue()).extracting(UploadJob::getFileName).containsExactly("a.pdf", "d.pdf");
+    assertThat(jobs.getValue()).extracting(UploadJob::getJobId)
+        .containsExactly(results.get(0).jobId(), results.get(3).jobId());
+    assertThat(spooled.getValue()).extracting(UploadJobService.SpooledFile::sha256)
+        .containsExactly("a.pdf", "d.pdf");
+  }
+
+  @Test
+  void uploadBatchWithNoAcceptedFileIsRejected() throws Exception {
+    PaperController controller = batchController();
+
+    ResponseEntity<?> response = controller.uploadBatch("r1", List.of(pdf("a.exe"), pdf("b.pdf")),
+        titles("A", " "));
+
+    assertThat(response.getStatusCode().value()).isEqualTo(400);
+    assertThat((List<?>) response.getBody()).hasSize(2);
+    verify(uploadJobService, never()).submitBatch(anyList(), anyList(), anyString(), any());
+  }
+
+  @Test
+  void uploadBatchNeedsOneTitlePerFile() throws Exception {
+    PaperController controller = batchController();
+
+    ResponseEntity<?> response = controller.uploadBatch("r1", List.of(pdf("a.pdf"), pdf("b.pdf")), titles("A"));
+
+    assertThat(response.getStatusCode().value()).isEqualTo(400);
+    assertThat(response.getBody()).isEqualTo("Send one title per file");
+    verify(uploadJobService, never()).spool(any());
+  }
+
+  private PaperController batchController() throws Exception {
+    RepoRepository repoRepository = mock(RepoRepository.class);
+    when(repoRepository.findById("r1")).thenReturn(Optional.of(new RepoModel("Repo", "", "a@example.com")));
+    when(uploadJobService.maxBatchFiles()).thenReturn(10);
+    // The spooled file's digest is the file name, to check which files were submitted
+    when(uploadJobService.spool(any())).thenAnswer(invocation -> new UploadJobService.SpooledFile(
+        Path.of("spool"), invocation.<MultipartFile>getArgument(0).getOriginalFilename(), 1));
+
+    PaperController controller = new PaperController();
+    ReflectionTestUtils.setField(controller, "repoRepository", repoRepository);
+    ReflectionTestUtils.setField(controller, "uploadJobService", uploadJobService);
+    UserModel user = new UserModel("alice", "a@example.com", null);
+    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    return controller;
+  }
+
+  private static MockMultipartFile pdf(String fileName) {
+    return new MockMultipartFile("files", fileName, "application/pdf", new byte[] { 1 });
+  }
+
+  private static MockHttpServletRequest titles(String... titles) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/papers/upload-batch");
+    request.addParameter("titles", titles);
+    return request;
+  }
+}
@@ -0,0 +1,53 @@
+package com.ResearchHub.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+class RepoControllerTest {
+
+  @Test
+  void cursorRoundTrip() {
+    RepoController.Cursor cursor = new RepoController.Cursor(Instant.ofEpochMilli(1_700_000_000_123L),
+        "65a1f0c2e4b0a1b2c3d4e5f6");
+
+    String encoded = cursor.encode();
+
+    assertThat(encoded).doesNotContain("=", "+", "/");
+    assertThat(RepoController.Cursor.decode(encoded)).isEqualTo(cursor);
+  }
+
+  @Test
+  void cursorWithoutInstantForReposWithoutUploads() {
+    RepoController.Cursor cursor = new RepoController.Cursor(null, "65a1f0c2e4b0a1b2c3d4e5f6");
+
+    assertThat(RepoController.Cursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  void cursorTruncatesToMilliseconds() {
+    Instant at = Instant.parse("2024-01-02T03:04:05.678901Z");
+
+    RepoController.Cursor decoded = RepoController.Cursor.decode(new RepoController.Cursor(at, "a").encode());
+
+    assertThat(decoded.at()).isEqualTo(Instant.parse("2024-01-02T03:04:05.678Z"));
+  }
+
+  @Test
+  void rejectsMalformedCursors() {
+    assertThatThrownBy(() -> RepoController.Cursor.decode("not base64!")).isInstanceOf(RuntimeException.class);
+    assertThatThrownBy(() -> RepoController.Cursor.decode(encode("no separator")))
+        .isInstanceOf(RuntimeException.class);
+    assertThatThrownBy(() -> RepoController.Cursor.decode(encode("soon:65a1f0c2e4b0a1b2c3d4e5f6")))
+        .isInstanceOf(RuntimeException.class);
+  }
+
+  private static String encode(String raw) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,86 @@
+package com.ResearchHub.backend.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ResearchHub.backend.Repository.UserRepository;
+import com.ResearchHub.backend.model.UserModel;
+import com.ResearchHub.backend.service.PasswordHashingService;
+
+class UserControllerTest {
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final PasswordHashingService hashing = new PasswordHashingService(4, 1, 4);
+  private final UserController controller = new UserController();
+
+  UserControllerTest() {
+    ReflectionTestUtils.setField(controller, "userRepository", userRepository);
+    ReflectionTestUtils.setField(controller, "passwordHashing", hashing);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReflectionTestUtils.invokeMethod(hashing, "shutdown");
+  }
+
+  @Test
+  void loginStoresUpgradedHashOnlyOverTheVerifiedOne() {
+    String oldHash = new BCryptPasswordEncoder(5).encode("secret");
+    storedUser(oldHash);
+
+    ResponseEntity<?> response = controller.loginUser(new UserModel(null, "a@example.com", "secret")).block();
+
+    assertThat(response.getStatusCode().value()).isEqualTo(200);
+    ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+    verify(userRepository).updatePasswordHash(eq("u1"), eq(oldHash), newHash.capture());
+    assertThat(newHash.getValue()).startsWith("$2a$04$");
+  }
+
+  @Test
+  void loginWithCurrentCostDoesNotWrite() {
+    storedUser(new BCryptPasswordEncoder(4).encode("secret"));
+
+    controller.loginUser(new UserModel(null, "a@example.com", "secret")).block();
+
+    verify(userRepository, never()).updatePasswordHash(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void failedLoginDoesNotWrite() {
+    storedUser(new BCryptPasswordEncoder(5).encode("secret"));
+
+    ResponseEntity<?> response = controller.loginUser(new UserModel(null, "a@example.com", "wrong")).block();
+
+    assertThat(response.getStatusCode().value()).isEqualTo(400);
+    verify(userRepository, never()).updatePasswordHash(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void rehashUpdateIsConditionalOnTheVerifiedHash() throws NoSuchMethodException {
+    var method = UserRepository.class.getMethod("updatePasswordHash", String.class, String.class, String.class);
+
+    // A concurrent password change replaces the hash, so this update then matches nothing
+    assertThat(method.getAnnotation(Query.class).value()).isEqualTo("{ '_id': ?0, 'password': ?1 }");
+    assertThat(method.getAnnotation(Update.class).value()).isEqualTo("{ '$set': { 'password': ?2 } }");
+  }
+
+  private void storedUser(String hash) {
+    UserModel user = new UserModel("alice", "a@example.com", hash);
+    ReflectionTestUtils.setField(user, "id", "u1");
+    when(userRepository.findByEmail("a@example.com")).thenReturn(user);
+  }
+}
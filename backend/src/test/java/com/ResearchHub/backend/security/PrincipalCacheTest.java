@@ -0,0 +1,88 @@
+package com.ResearchHub.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import com.ResearchHub.backend.model.UserModel;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PrincipalCacheTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final UserModel user = new UserModel("alice", "alice@example.com", null);
+
+  private static Date inMinutes(long minutes) {
+    return new Date(System.currentTimeMillis() + minutes * 60_000);
+  }
+
+  @Test
+  void returnsCachedUserUntilInvalidated() {
+    PrincipalCache cache = new PrincipalCache(registry, 10, 60_000);
+    cache.put("token-a", user, inMinutes(10));
+
+    assertThat(cache.get("token-a")).isSameAs(user);
+    assertThat(cache.get("token-b")).isNull();
+
+    // Logout forgets the token
+    cache.invalidate("token-a");
+    assertThat(cache.get("token-a")).isNull();
+  }
+
+  @Test
+  void invalidateIgnoresMissingTokens() {
+    PrincipalCache cache = new PrincipalCache(registry, 10, 60_000);
+    cache.put("token-a", user, inMinutes(10));
+
+    cache.invalidate(null);
+    cache.invalidate("");
+
+    assertThat(cache.get("token-a")).isSameAs(user);
+  }
+
+  @Test
+  void entriesExpireAfterTtl() throws InterruptedException {
+    PrincipalCache cache = new PrincipalCache(registry, 10, 20);
+    cache.put("token-a", user, inMinutes(10));
+
+    Thread.sleep(50);
+
+    assertThat(cache.get("token-a")).isNull();
+  }
+
+  @Test
+  void entriesNeverOutliveTheToken() {
+    PrincipalCache cache = new PrincipalCache(registry, 10, 60_000);
+    cache.put("expired", user, new Date(System.currentTimeMillis() - 1000));
+
+    assertThat(cache.get("expired")).isNull();
+    assertThat(registry.get("cache.size").gauge().value()).isZero();
+  }
+
+  @Test
+  void evictsToStayWithinMaxEntries() {
+    PrincipalCache cache = new PrincipalCache(registry, 2, 60_000);
+    cache.put("token-a", user, inMinutes(10));
+    cache.put("token-b", user, inMinutes(10));
+    cache.put("token-c", user, inMinutes(10));
+
+    assertThat(cache.get("token-c")).isSameAs(user);
+    assertThat(registry.get("cache.size").gauge().value()).isEqualTo(2);
+    assertThat(registry.get("cache.evictions").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void countsHitsAndMisses() {
+    PrincipalCache cache = new PrincipalCache(registry, 10, 60_000);
+    cache.put("token-a", user, inMinutes(10));
+    cache.get("token-a");
+    cache.get("token-a");
+    cache.get("token-b");
+
+    assertThat(registry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+    assertThat(registry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+  }
+}
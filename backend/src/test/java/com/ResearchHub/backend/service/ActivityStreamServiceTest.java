@@ -0,0 +1,161 @@
+package com.ResearchHub.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.ResearchHub.backend.model.ActivityEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ActivityStreamServiceTest {
+
+  private final ActivityStreamService bus = new ActivityStreamService(new SimpleMeterRegistry(), 3, 10);
+
+  private static final class Recorder implements ActivityStreamService.Subscriber {
+    final List<ActivityStreamService.Entry> entries = new ArrayList<>();
+    int capacity = Integer.MAX_VALUE;
+    boolean closed;
+
+    @Override
+    public boolean offer(ActivityStreamService.Entry entry) {
+      if (entries.size() >= capacity)
+        return false;
+      entries.add(entry);
+      return true;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    List<String> types() {
+      return entries.stream().map(ActivityStreamService.Entry::type).toList();
+    }
+
+    List<Integer> versions() {
+      return entries.stream().map(entry -> entry.event().versionNumber()).toList();
+    }
+
+    String lastId() {
+      return entries.get(entries.size() - 1).id();
+    }
+  }
+
+  private static ActivityEvent event(int versionNumber) {
+    return new ActivityEvent("p1", "Paper", "a@example.com", versionNumber, "paper.pdf", "application/pdf",
+        Instant.EPOCH, null, versionNumber == 1 ? "uploaded" : "updated");
+  }
+
+  @Test
+  void deliversLiveEventsToSubscribersOfTheRepo() {
+    Recorder subscriber = new Recorder();
+    Recorder other = new Recorder();
+    bus.subscribe("r1", null, subscriber);
+    bus.subscribe("r2", null, other);
+
+    bus.publish("r1", event(1));
+
+    assertThat(subscriber.versions()).containsExactly(1);
+    assertThat(subscriber.types()).containsExactly(ActivityStreamService.TYPE_ACTIVITY);
+    assertThat(other.entries).isEmpty();
+  }
+
+  @Test
+  void replaysOnlyEventsAfterTheLastEventId() {
+    Recorder first = new Recorder();
+    Runnable unsubscribe = bus.subscribe("r1", null, first);
+    bus.publish("r1", event(1));
+    String lastSeen = first.lastId();
+    unsubscribe.run();
+    bus.publish("r1", event(2));
+    bus.publish("r1", event(3));
+
+    Recorder resumed = new Recorder();
+    bus.subscribe("r1", lastSeen, resumed);
+    bus.publish("r1", event(4));
+
+    assertThat(resumed.versions()).containsExactly(2, 3, 4);
+  }
+
+  @Test
+  void resumingAtTheLatestEventReplaysNothing() {
+    Recorder first = new Recorder();
+    bus.subscribe("r1", null, first);
+    bus.publish("r1", event(1));
+
+    Recorder resumed = new Recorder();
+    bus.subscribe("r1", first.lastId(), resumed);
+
+    assertThat(resumed.entries).isEmpty();
+  }
+
+  @Test
+  void sendsResetWhenTheGapIsNoLongerInTheRing() {
+    Recorder first = new Recorder();
+    Runnable unsubscribe = bus.subscribe("r1", null, first);
+    bus.publish("r1", event(1));
+    String lastSeen = first.lastId();
+    unsubscribe.run();
+    // The ring keeps 3 events; version 2 falls out
+    for (int version = 2; version <= 5; version++)
+      bus.publish("r1", event(version));
+
+    Recorder resumed = new Recorder();
+    bus.subscribe("r1", lastSeen, resumed);
+
+    assertThat(resumed.types()).containsExactly(ActivityStreamService.TYPE_RESET);
+  }
+
+  @Test
+  void sendsResetForIdsFromAnotherProcessOrMalformed() {
+    bus.subscribe("r1", null, new Recorder());
+    bus.publish("r1", event(1));
+
+    Recorder otherEpoch = new Recorder();
+    bus.subscribe("r1", "zzz-1", otherEpoch);
+    Recorder malformed = new Recorder();
+    bus.subscribe("r1", "not-an-id", malformed);
+
+    assertThat(otherEpoch.types()).containsExactly(ActivityStreamService.TYPE_RESET);
+    assertThat(malformed.types()).containsExactly(ActivityStreamService.TYPE_RESET);
+  }
+
+  @Test
+  void dropsSubscriberThatCannotTakeTheReplay() {
+    Recorder first = new Recorder();
+    Runnable unsubscribe = bus.subscribe("r1", null, first);
+    bus.publish("r1", event(1));
+    String lastSeen = first.lastId();
+    unsubscribe.run();
+    bus.publish("r1", event(2));
+    bus.publish("r1", event(3));
+
+    Recorder slow = new Recorder();
+    slow.capacity = 1;
+    bus.subscribe("r1", lastSeen, slow);
+    bus.publish("r1", event(4));
+
+    assertThat(slow.closed).isTrue();
+    assertThat(slow.versions()).containsExactly(2);
+    assertThat(bus.subscriberCount()).isZero();
+  }
+
+  @Test
+  void dropsSubscriberThatFallsBehindOnLiveEvents() {
+    Recorder slow = new Recorder();
+    slow.capacity = 1;
+    bus.subscribe("r1", null, slow);
+
+    bus.publish("r1", event(1));
+    bus.publish("r1", event(2));
+
+    assertThat(slow.closed).isTrue();
+    assertThat(bus.subscriberCount()).isZero();
+  }
+}
@@ -0,0 +1,143 @@
+package com.ResearchHub.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ResearchHub.backend.Repository.BlobRepository;
+import com.ResearchHub.backend.model.BlobModel;
+import com.ResearchHub.backend.model.PaperModel;
+
+class BlobStoreServiceTest {
+
+  private static final Path FILE = Path.of("paper.pdf");
+
+  private final CloudinaryService cloudinaryService = mock(CloudinaryService.class);
+  private final AssetCleanupService assetCleanupService = mock(AssetCleanupService.class);
+  private final PreviewService previewService = mock(PreviewService.class);
+  private final BlobRepository blobRepository = mock(BlobRepository.class);
+  // The blobs collection: records by digest, with their reference counts
+  private final Map<String, BlobModel> blobs = new HashMap<>();
+  private final AtomicInteger uploads = new AtomicInteger();
+  private BlobStoreService blobStore;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(cloudinaryService.uploadFile(any(), anyString())).thenAnswer(invocation -> {
+      String publicId = "papers/" + uploads.incrementAndGet();
+      return Map.of("secure_url", "https://example.org/" + publicId, "public_id", publicId);
+    });
+    // Same conditions as BlobRepositoryCustomImpl: only live blobs (refCount > 0) change
+    when(blobRepository.acquire(anyString())).thenAnswer(invocation -> {
+      BlobModel blob = blobs.get(invocation.<String>getArgument(0));
+      return blob == null || blob.getRefCount() <= 0 ? null : withRefCount(blob, blob.getRefCount() + 1);
+    });
+    when(blobRepository.release(anyString(), anyString())).thenAnswer(invocation -> {
+      BlobModel blob = blobs.get(invocation.<String>getArgument(0));
+      if (blob == null || blob.getRefCount() <= 0 || !blob.getPublicId().equals(invocation.getArgument(1)))
+        return null;
+      return withRefCount(blob, blob.getRefCount() - 1);
+    });
+    when(blobRepository.deleteIfUnreferenced(anyString())).thenAnswer(invocation -> {
+      BlobModel blob = blobs.get(invocation.<String>getArgument(0));
+      return blob != null && blob.getRefCount() <= 0 && blobs.remove(blob.getId()) != null;
+    });
+    when(blobRepository.insert(any(BlobModel.class))).thenAnswer(invocation -> {
+      BlobModel blob = invocation.getArgument(0);
+      if (blobs.putIfAbsent(blob.getId(), blob) != null)
+        throw new DuplicateKeyException(blob.getId());
+      return blob;
+    });
+    blobStore = new BlobStoreService(cloudinaryService, assetCleanupService, blobRepository, previewService);
+  }
+
+  private static BlobModel withRefCount(BlobModel blob, int refCount) {
+    ReflectionTestUtils.setField(blob, "refCount", refCount);
+    return blob;
+  }
+
+  @Test
+  void identicalBytesAreUploadedOnce() throws Exception {
+    BlobStoreService.StoredBlob first = blobStore.store(FILE, "abc", 10, "repos/r1");
+    BlobStoreService.StoredBlob second = blobStore.store(FILE, "abc", 10, "repos/r2");
+
+    assertThat(first.reused()).isFalse();
+    assertThat(second.reused()).isTrue();
+    assertThat(second.publicId()).isEqualTo(first.publicId());
+    assertThat(uploads).hasValue(1);
+    assertThat(blobs.get("abc").getRefCount()).isEqualTo(2);
+  }
+
+  @Test
+  void assetIsDeletedWithTheLastReference() throws Exception {
+    BlobStoreService.StoredBlob first = blobStore.store(FILE, "abc", 10, "repos/r1");
+    BlobStoreService.StoredBlob second = blobStore.store(FILE, "abc", 10, "repos/r1");
+
+    blobStore.release(first);
+    verify(blobRepository, never()).deleteIfUnreferenced("abc");
+    verify(assetCleanupService).deleteAssets(List.of());
+    assertThat(blobs).containsKey("abc");
+
+    blobStore.release(second);
+    verify(assetCleanupService).deleteAssets(List.of(second.publicId()));
+    verify(previewService).remove(List.of(second.publicId()));
+    assertThat(blobs).doesNotContainKey("abc");
+  }
+
+  @Test
+  void blobOnItsWayOutIsNotRevived() throws Exception {
+    BlobStoreService.StoredBlob first = blobStore.store(FILE, "abc", 10, "repos/r1");
+    // Last reference dropped, record not yet removed
+    withRefCount(blobs.get("abc"), 0);
+
+    BlobStoreService.StoredBlob second = blobStore.store(FILE, "abc", 10, "repos/r1");
+
+    assertThat(second.reused()).isFalse();
+    assertThat(second.publicId()).isNotEqualTo(first.publicId());
+    // The unshared copy has no record, so releasing it deletes it directly
+    blobStore.release(second);
+    verify(assetCleanupService).deleteAssets(List.of(second.publicId()));
+  }
+
+  @Test
+  void concurrentUploadOfTheSameBytesUsesTheWinner() throws Exception {
+    BlobModel winner = new BlobModel("abc", "https://example.org/winner", "papers/winner", 10);
+    // acquire() misses, then a concurrent upload registers first
+    when(blobRepository.acquire("abc")).thenReturn(null).thenAnswer(invocation -> withRefCount(winner, 2));
+    blobs.put("abc", winner);
+
+    BlobStoreService.StoredBlob stored = blobStore.store(FILE, "abc", 10, "repos/r1");
+
+    assertThat(stored.publicId()).isEqualTo("papers/winner");
+    assertThat(stored.reused()).isTrue();
+    verify(assetCleanupService).deleteAssets(List.of("papers/1"));
+  }
+
+  @Test
+  void versionsWithoutDigestAreNotShared() {
+    PaperModel.Version legacy = new PaperModel.Version();
+    legacy.setPublicId("papers/legacy");
+    PaperModel.Version noFile = new PaperModel.Version();
+
+    blobStore.release(List.of(legacy, noFile));
+
+    verify(blobRepository, never()).release(any(), any());
+    verify(assetCleanupService, times(1)).deleteAssets(List.of("papers/legacy"));
+  }
+}
@@ -0,0 +1,56 @@
+package com.ResearchHub.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PaperDownloadServiceTest {
+
+  @Test
+  void wholeFileWithoutRange() {
+    assertThat(PaperDownloadService.ByteRange.of(null, 100))
+        .isEqualTo(new PaperDownloadService.ByteRange(0, 99, false));
+  }
+
+  @Test
+  void singleRanges() {
+    assertThat(PaperDownloadService.ByteRange.of("bytes=10-19", 100))
+        .isEqualTo(new PaperDownloadService.ByteRange(10, 19, true));
+    assertThat(PaperDownloadService.ByteRange.of("bytes=90-", 100))
+        .isEqualTo(new PaperDownloadService.ByteRange(90, 99, true));
+    assertThat(PaperDownloadService.ByteRange.of("bytes=-5", 100))
+        .isEqualTo(new PaperDownloadService.ByteRange(95, 99, true));
+    assertThat(PaperDownloadService.ByteRange.of("bytes=50-500", 100).length()).isEqualTo(50);
+  }
+
+  @Test
+  void malformedAndMultiRangeGetWholeFile() {
+    assertThat(PaperDownloadService.ByteRange.of("pages=1-2", 100).partial()).isFalse();
+    assertThat(PaperDownloadService.ByteRange.of("bytes=0-1,5-6", 100).partial()).isFalse();
+  }
+
+  @Test
+  void unsatisfiableRange() {
+    assertThat(PaperDownloadService.ByteRange.of("bytes=100-", 100)).isNull();
+  }
+
+  @Test
+  void ifRangeNeedsAStrongMatch() {
+    String etag = PaperDownloadService.etagFor("papers/a");
+    assertThat(PaperDownloadService.rangeApplies(null, etag)).isTrue();
+    assertThat(PaperDownloadService.rangeApplies(etag, etag)).isTrue();
+    assertThat(PaperDownloadService.rangeApplies("W/" + etag, etag)).isFalse();
+    assertThat(PaperDownloadService.rangeApplies("\"other\"", etag)).isFalse();
+    assertThat(PaperDownloadService.rangeApplies("Wed, 21 Oct 2015 07:28:00 GMT", etag)).isFalse();
+  }
+
+  @Test
+  void etagMatching() {
+    String etag = PaperDownloadService.etagFor("papers/a");
+    assertThat(PaperDownloadService.matches(etag, etag)).isTrue();
+    assertThat(PaperDownloadService.matches("\"other\", W/" + etag, etag)).isTrue();
+    assertThat(PaperDownloadService.matches("*", etag)).isTrue();
+    assertThat(PaperDownloadService.matches("\"other\"", etag)).isFalse();
+    assertThat(PaperDownloadService.matches(null, etag)).isFalse();
+  }
+}
@@ -0,0 +1,102 @@
+package com.ResearchHub.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PaperFileCacheTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void missThenHitAfterPut() throws IOException {
+    PaperFileCache cache = new PaperFileCache(directory.toString(), 100);
+    assertThat(cache.get("papers/a")).isNull();
+
+    PaperFileCache.CachedFile cached = cache.put("papers/a", partial(cache, 4));
+
+    assertThat(cached.size()).isEqualTo(4);
+    assertThat(cache.get("papers/a")).isEqualTo(cached);
+    assertThat(Files.size(cached.path())).isEqualTo(4);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedFirst() throws IOException {
+    PaperFileCache cache = new PaperFileCache(directory.toString(), 10);
+    PaperFileCache.CachedFile a = cache.put("a", partial(cache, 4));
+    PaperFileCache.CachedFile b = cache.put("b", partial(cache, 4));
+    cache.get("a");
+
+    cache.put("c", partial(cache, 4));
+
+    assertThat(cache.get("a")).isEqualTo(a);
+    assertThat(cache.get("b")).isNull();
+    assertThat(b.path()).doesNotExist();
+    assertThat(cache.get("c")).isNotNull();
+  }
+
+  @Test
+  void skipsFilesLargerThanTheCache() throws IOException {
+    PaperFileCache cache = new PaperFileCache(directory.toString(), 3);
+    Path partial = partial(cache, 4);
+
+    assertThat(cache.put("big", partial)).isNull();
+    assertThat(partial).doesNotExist();
+    assertThat(cache.get("big")).isNull();
+  }
+
+  @Test
+  void forgetsEntriesWhoseFileWasRemoved() throws IOException {
+    PaperFileCache cache = new PaperFileCache(directory.toString(), 10);
+    PaperFileCache.CachedFile a = cache.put("a", partial(cache, 6));
+    Files.delete(a.path());
+
+    assertThat(cache.get("a")).isNull();
+    // The space is given back, so two more files fit without evicting either
+    cache.put("b", partial(cache, 5));
+    cache.put("c", partial(cache, 5));
+    assertThat(cache.get("b")).isNotNull();
+    assertThat(cache.get("c")).isNotNull();
+  }
+
+  @Test
+  void reloadsCompleteFilesAndDropsPartials() throws IOException {
+    PaperFileCache first = new PaperFileCache(directory.toString(), 10);
+    first.put("a", partial(first, 4));
+    Path abandoned = partial(first, 2);
+
+    PaperFileCache second = new PaperFileCache(directory.toString(), 10);
+
+    assertThat(second.get("a")).isNotNull();
+    assertThat(abandoned).doesNotExist();
+  }
+
+  @Test
+  void pinnedFileOutlivesEviction() throws IOException {
+    PaperFileCache cache = new PaperFileCache(directory.toString(), 5);
+    PaperFileCache.CachedFile a = cache.put("a", partial(cache, 4));
+
+    Path pinned = cache.pin("a");
+    cache.put("b", partial(cache, 4));
+
+    assertThat(a.path()).doesNotExist();
+    assertThat(pinned).isNotEqualTo(a.path());
+    assertThat(Files.size(pinned)).isEqualTo(4);
+    assertThat(cache.pin("a")).isNull();
+    // Partial names, so a copy left by a crash is removed on the next start
+    new PaperFileCache(directory.toString(), 5);
+    assertThat(pinned).doesNotExist();
+  }
+
+  private static Path partial(PaperFileCache cache, int size) throws IOException {
+    Path file = cache.newPartialFile();
+    Files.write(file, new byte[size]);
+    return file;
+  }
+}
@@ -0,0 +1,44 @@
+package com.ResearchHub.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+class PasswordHashingServiceTest {
+
+  private final PasswordHashingService hashing = new PasswordHashingService(4, 1, 4);
+
+  @AfterEach
+  void tearDown() {
+    hashing.shutdown();
+  }
+
+  @Test
+  void rehashesOnlyWhenTheCostDiffers() {
+    assertThat(hashing.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isFalse();
+    assertThat(hashing.needsRehash(new BCryptPasswordEncoder(5).encode("secret"))).isTrue();
+    assertThat(hashing.needsRehash("$2a$1x$abc")).isFalse();
+    assertThat(hashing.needsRehash("plain")).isFalse();
+  }
+
+  @Test
+  void matchingPasswordWithOtherCostGetsUpgradedHash() {
+    String stored = new BCryptPasswordEncoder(5).encode("secret");
+
+    PasswordHashingService.Verification verification = hashing.verify("secret", stored).join();
+
+    assertThat(verification.matches()).isTrue();
+    assertThat(verification.upgradedHash()).startsWith("$2a$04$");
+    assertThat(new BCryptPasswordEncoder(4).matches("secret", verification.upgradedHash())).isTrue();
+  }
+
+  @Test
+  void noUpgradeForCurrentCostOrWrongPassword() {
+    assertThat(hashing.verify("secret", new BCryptPasswordEncoder(4).encode("secret")).join())
+        .isEqualTo(new PasswordHashingService.Verification(true, null));
+    assertThat(hashing.verify("wrong", new BCryptPasswordEncoder(5).encode("secret")).join())
+        .isEqualTo(new PasswordHashingService.Verification(false, null));
+  }
+}
@@ -0,0 +1,88 @@
+package com.ResearchHub.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SearchIndexTest {
+
+  @Test
+  void tokenizeLowerCasesSplitsAndDropsShortTokens() {
+    assertThat(SearchIndex.tokenize("A Deep-Learning approach, v2 x"))
+        .containsExactly("deep", "learning", "approach", "v2");
+    assertThat(SearchIndex.tokenize("\u00dcber Stra\u00dfe")).containsExactly("\u00fcber", "stra\u00dfe");
+    assertThat(SearchIndex.tokenize(null)).isEmpty();
+    assertThat(SearchIndex.tokenize("a b c")).isEmpty();
+  }
+
+  @Test
+  void termFrequenciesCountTokens() {
+    assertThat(SearchIndex.termFrequencies("graph theory, Graph minors"))
+        .isEqualTo(Map.of("graph", 2, "theory", 1, "minors", 1));
+  }
+
+  @Test
+  void wholeTermsRankAbovePrefixMatches() {
+    SearchIndex index = new SearchIndex();
+    index.put("prefix", "network models");
+    index.put("whole", "net gains");
+
+    assertThat(ids(index.search("net", 10, id -> true))).containsExactly("whole", "prefix");
+  }
+
+  @Test
+  void higherTermFrequencyRanksHigher() {
+    SearchIndex index = new SearchIndex();
+    index.put("once", "graph theory");
+    index.put("twice", "graph graph theory");
+
+    assertThat(ids(index.search("graph", 10, id -> true))).containsExactly("twice", "once");
+  }
+
+  @Test
+  void rareTermsOutweighCommonOnes() {
+    SearchIndex index = new SearchIndex();
+    index.put("common", "learning methods");
+    index.put("rare", "learning topology");
+    index.put("other", "learning systems");
+
+    List<SearchIndex.Hit> hits = index.search("learning topology", 10, id -> true);
+    assertThat(hits.get(0).docId()).isEqualTo("rare");
+    assertThat(hits).hasSize(3);
+  }
+
+  @Test
+  void searchHonoursLimitAndFilter() {
+    SearchIndex index = new SearchIndex();
+    index.put("a", "quantum computing");
+    index.put("b", "quantum quantum computing");
+    index.put("c", "quantum error correction");
+
+    assertThat(index.search("quantum", 2, id -> true)).hasSize(2);
+    assertThat(ids(index.search("quantum", 10, id -> !id.equals("b")))).containsExactlyInAnyOrder("a", "c");
+    assertThat(index.search("quantum", 0, id -> true)).isEmpty();
+    assertThat(index.search("q", 10, id -> true)).isEmpty();
+  }
+
+  @Test
+  void putReplacesAndRemoveDeletesPostings() {
+    SearchIndex index = new SearchIndex();
+    index.put("doc", "old title");
+    index.put("doc", "new title");
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.search("old", 10, id -> true)).isEmpty();
+    assertThat(ids(index.search("new", 10, id -> true))).containsExactly("doc");
+
+    index.remove("doc");
+    assertThat(index.size()).isZero();
+    assertThat(index.search("title", 10, id -> true)).isEmpty();
+  }
+
+  private static List<String> ids(List<SearchIndex.Hit> hits) {
+    return hits.stream().map(SearchIndex.Hit::docId).toList();
+  }
+}
@@ -0,0 +1,162 @@
+package com.ResearchHub.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.UploadJob;
+
+class UploadJobServiceTest {
+
+  @TempDir
+  Path spoolDirectory;
+
+  private final BlobStoreService blobStore = mock(BlobStoreService.class);
+  private UploadJobService uploads;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // Files whose digest starts with "bad" fail to reach storage
+    when(blobStore.store(any(), anyString(), anyLong(), anyString())).thenAnswer(invocation -> {
+      String sha256 = invocation.getArgument(1);
+      if (sha256.startsWith("bad"))
+        throw new IOException("storage unavailable");
+      return new BlobStoreService.StoredBlob("https://example.org/" + sha256, "papers/" + sha256, sha256,
+          invocation.<Long>getArgument(2), false);
+    });
+    uploads = new UploadJobService(blobStore, 2, 4, spoolDirectory.toString(), 30, 1, 2, 10);
+  }
+
+  @AfterEach
+  void tearDown() {
+    uploads.shutdown();
+  }
+
+  @Test
+  void failedFileOnlyFailsItsOwnJob() throws Exception {
+    List<UploadJob> jobs = jobs(3);
+    List<UploadJobService.SpooledFile> files = List.of(spool("a"), spool("bad-b"), spool("c"));
+    List<List<UploadJobService.StoredItem>> written = new CopyOnWriteArrayList<>();
+
+    uploads.submitBatch(jobs, files, "repos/r1", stored -> {
+      written.add(stored);
+      return papers(stored);
+    });
+    awaitFinished(jobs);
+
+    assertThat(jobs).extracting(UploadJob::getStatus).containsExactly(UploadJob.Status.COMPLETED,
+        UploadJob.Status.FAILED, UploadJob.Status.COMPLETED);
+    assertThat(jobs.get(1).getError()).isEqualTo("storage unavailable");
+    // One write for the whole batch, with the failed file left out and the
+    // others still matched to their position in the request
+    assertThat(written).hasSize(1);
+    assertThat(written.get(0)).extracting(UploadJobService.StoredItem::index).containsExactly(0, 2);
+    assertThat(jobs.get(0).getPaperId()).isEqualTo("paper-0");
+    assertThat(jobs.get(2).getPaperId()).isEqualTo("paper-2");
+    assertThat(files).allSatisfy(file -> assertThat(file.path()).doesNotExist());
+    verify(blobStore, never()).release(any(BlobStoreService.StoredBlob.class));
+  }
+
+  @Test
+  void failedWriteFailsStoredJobsAndReleasesTheirFiles() throws Exception {
+    List<UploadJob> jobs = jobs(2);
+
+    uploads.submitBatch(jobs, List.of(spool("a"), spool("bad-b")), "repos/r1", stored -> {
+      throw new IllegalStateException("write failed");
+    });
+    awaitFinished(jobs);
+
+    assertThat(jobs.get(0).getStatus()).isEqualTo(UploadJob.Status.FAILED);
+    assertThat(jobs.get(0).getError()).isEqualTo("write failed");
+    assertThat(jobs.get(1).getError()).isEqualTo("storage unavailable");
+    // Released just after the job is marked failed
+    verify(blobStore, timeout(1000))
+        .release(new BlobStoreService.StoredBlob("https://example.org/a", "papers/a", "a", 1, false));
+  }
+
+  @Test
+  void batchWithoutStoredFilesSkipsTheWrite() throws Exception {
+    List<UploadJob> jobs = jobs(2);
+    List<Object> written = new CopyOnWriteArrayList<>();
+
+    uploads.submitBatch(jobs, List.of(spool("bad-a"), spool("bad-b")), "repos/r1", stored -> {
+      written.add(stored);
+      return papers(stored);
+    });
+    awaitFinished(jobs);
+
+    assertThat(jobs).extracting(UploadJob::getStatus).containsOnly(UploadJob.Status.FAILED);
+    assertThat(written).isEmpty();
+  }
+
+  @Test
+  void singleUploadReleasesItsFileOnlyWhenTheWriteFails() throws Exception {
+    UploadJob saved = new UploadJob("a@example.com", "a.pdf", null);
+    UploadJob lost = new UploadJob("a@example.com", "b.pdf", null);
+
+    uploads.submit(saved, spool("a"), "repos/r1", stored -> paper("paper-a"));
+    uploads.submit(lost, spool("b"), "repos/r1", stored -> {
+      throw new IllegalStateException("Paper no longer exists");
+    });
+    awaitFinished(List.of(saved, lost));
+
+    assertThat(saved.getStatus()).isEqualTo(UploadJob.Status.COMPLETED);
+    assertThat(lost.getStatus()).isEqualTo(UploadJob.Status.FAILED);
+    verify(blobStore, timeout(1000))
+        .release(new BlobStoreService.StoredBlob("https://example.org/b", "papers/b", "b", 1, false));
+    verify(blobStore, never())
+        .release(new BlobStoreService.StoredBlob("https://example.org/a", "papers/a", "a", 1, false));
+  }
+
+  private UploadJobService.SpooledFile spool(String sha256) throws IOException {
+    Path file = uploads.newSpoolFile();
+    Files.write(file, new byte[1]);
+    return new UploadJobService.SpooledFile(file, sha256, 1);
+  }
+
+  private static List<UploadJob> jobs(int count) {
+    List<UploadJob> jobs = new ArrayList<>();
+    for (int i = 0; i < count; i++)
+      jobs.add(new UploadJob("a@example.com", "f" + i + ".pdf", null));
+    return jobs;
+  }
+
+  private static List<PaperModel> papers(List<UploadJobService.StoredItem> stored) {
+    return stored.stream().map(item -> paper("paper-" + item.index())).toList();
+  }
+
+  private static PaperModel paper(String id) {
+    PaperModel paper = new PaperModel();
+    ReflectionTestUtils.setField(paper, "id", id);
+    paper.setCurrentVersion(1);
+    return paper;
+  }
+
+  private static void awaitFinished(List<UploadJob> jobs) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!jobs.stream().allMatch(UploadJob::isFinished)) {
+      assertThat(System.currentTimeMillis()).as("jobs finished in time").isLessThan(deadline);
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.ResearchHub.backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void allowsBurstThenRejectsWithRetryAfter() {
+    // 6 per minute: one token every 10 seconds
+    RateLimiter limiter = new RateLimiter("upload", 2, 6, 0);
+    limiter.tryAcquire("a", 0).close();
+    limiter.tryAcquire("a", 0).close();
+
+    assertThatThrownBy(() -> limiter.tryAcquire("a", 0))
+        .isInstanceOfSatisfying(RateLimitExceededException.class, e -> {
+          assertThat(e.getReason()).isEqualTo(RateLimiter.REASON_RATE);
+          assertThat(e.getRetryAfterSeconds()).isEqualTo(10);
+        });
+  }
+
+  @Test
+  void retryAfterRoundsUpPartialSeconds() {
+    RateLimiter limiter = new RateLimiter("upload", 1, 6, 0);
+    limiter.tryAcquire("a", 0).close();
+
+    assertThatThrownBy(() -> limiter.tryAcquire("a", 2 * SECOND + SECOND / 2))
+        .isInstanceOfSatisfying(RateLimitExceededException.class,
+            e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(8));
+  }
+
+  @Test
+  void refillsOverTimeUpToCapacity() {
+    RateLimiter limiter = new RateLimiter("download", 2, 60, 0);
+    limiter.tryAcquire("a", 0).close();
+    limiter.tryAcquire("a", 0).close();
+
+    // One token per second; a long pause only refills to capacity
+    limiter.tryAcquire("a", SECOND).close();
+    limiter.tryAcquire("a", 100 * SECOND).close();
+    limiter.tryAcquire("a", 100 * SECOND).close();
+    assertThatThrownBy(() -> limiter.tryAcquire("a", 100 * SECOND))
+        .isInstanceOf(RateLimitExceededException.class);
+  }
+
+  @Test
+  void clientsHaveSeparateBuckets() {
+    RateLimiter limiter = new RateLimiter("upload", 1, 1, 0);
+    limiter.tryAcquire("a", 0).close();
+
+    assertThatThrownBy(() -> limiter.tryAcquire("a", 0)).isInstanceOf(RateLimitExceededException.class);
+    limiter.tryAcquire("b", 0).close();
+  }
+
+  @Test
+  void capsTransfersInFlightUntilPermitIsReleased() {
+    RateLimiter limiter = new RateLimiter("download", 10, 0, 1);
+    RateLimiter.Permit permit = limiter.tryAcquire("a", 0);
+
+    assertThatThrownBy(() -> limiter.tryAcquire("a", 0))
+        .isInstanceOfSatisfying(RateLimitExceededException.class, e -> {
+          assertThat(e.getReason()).isEqualTo(RateLimiter.REASON_CONCURRENCY);
+          assertThat(e.getRetryAfterSeconds()).isEqualTo(1);
+        });
+
+    permit.close();
+    limiter.tryAcquire("a", 0).close();
+  }
+
+  @Test
+  void closingAPermitTwiceReleasesOnce() {
+    RateLimiter limiter = new RateLimiter("download", 10, 0, 2);
+    RateLimiter.Permit first = limiter.tryAcquire("a", 0);
+    RateLimiter.Permit second = limiter.tryAcquire("a", 0);
+
+    first.close();
+    first.close();
+
+    limiter.tryAcquire("a", 0);
+    assertThatThrownBy(() -> limiter.tryAcquire("a", 0)).isInstanceOf(RateLimitExceededException.class);
+    second.close();
+  }
+
+  @Test
+  void evictsOnlyIdleClientsWithFullBuckets() {
+    RateLimiter limiter = new RateLimiter("upload", 1, 60, 1);
+    limiter.tryAcquire("idle", 0).close();
+    limiter.tryAcquire("draining", 0).close();
+    RateLimiter.Permit busy = limiter.tryAcquire("busy", 0);
+
+    // After a second "idle" is full again; "draining" took a token just before
+    limiter.tryAcquire("draining", SECOND).close();
+    assertThat(limiter.evictIdle(SECOND)).isEqualTo(1);
+    assertThat(limiter.clientCount()).isEqualTo(2);
+
+    busy.close();
+    assertThat(limiter.evictIdle(3 * SECOND)).isEqualTo(2);
+    assertThat(limiter.clientCount()).isZero();
+  }
+
+  @Test
+  void evictedClientStartsWithAFullBucket() {
+    RateLimiter limiter = new RateLimiter("upload", 1, 60, 0);
+    limiter.tryAcquire("a", 0).close();
+    limiter.evictIdle(SECOND);
+
+    limiter.tryAcquire("a", SECOND).close();
+    assertThatThrownBy(() -> limiter.tryAcquire("a", SECOND)).isInstanceOf(RateLimitExceededException.class);
+  }
+}
@@ -0,0 +1,36 @@
+package com.ResearchHub.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point of benchmarks.jar. Accepts the usual JMH command line, but
+// writes JSON results by default so runs can be compared across commits:
+// jmh-results/<label>.json, where the label is -Dbench.label (e.g. the commit
+// hash) or a timestamp. -rf / -rff on the command line still take precedence.
+public class BenchmarkRunner {
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions cli = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+
+    if (cli.getResultFormat().hasValue() || cli.getResult().hasValue()) {
+      new Runner(options.build()).run();
+      return;
+    }
+
+    String label = System.getProperty("bench.label",
+        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+    Path result = Path.of("jmh-results", label + ".json");
+    Files.createDirectories(result.getParent());
+    options.resultFormat(ResultFormatType.JSON).result(result.toString());
+    new Runner(options.build()).run();
+  }
+}
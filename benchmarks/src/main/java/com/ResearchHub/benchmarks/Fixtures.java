@@ -0,0 +1,123 @@
+package com.ResearchHub.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.ResearchHub.backend.model.PaperModel;
+
+// Test data shaped like what the backend stores and what its aggregation
+// pipelines return, so the benchmarks need no database
+final class Fixtures {
+  static final Instant BASE_TIME = Instant.parse("2025-01-01T00:00:00Z");
+
+  private Fixtures() {
+  }
+
+  // Converter configured like the one Spring Boot builds for MongoTemplate
+  static MappingMongoConverter mongoConverter() {
+    MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+    MongoMappingContext context = new MongoMappingContext();
+    context.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+    context.afterPropertiesSet();
+    MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+    converter.setCustomConversions(conversions);
+    converter.afterPropertiesSet();
+    return converter;
+  }
+
+  static PaperModel paper(int versions) {
+    PaperModel paper = new PaperModel();
+    paper.setRepoId("repo-1");
+    paper.setOwnerEmail("owner@example.com");
+    paper.setTitle("A study of benchmark harnesses");
+    List<PaperModel.Version> history = new ArrayList<>();
+    for (int i = 1; i <= versions; i++) {
+      history.add(version(i));
+    }
+    paper.setVersions(history);
+    paper.setCurrentVersion(versions);
+    paper.setLastUploadedAt(history.get(versions - 1).getUploadedAt());
+    return paper;
+  }
+
+  static PaperModel.Version version(int number) {
+    PaperModel.Version version = new PaperModel.Version();
+    version.setVersionNumber(number);
+    version.setFileName("paper-v" + number + ".pdf");
+    version.setFileType("application/pdf");
+    version.setUrl("https://res.cloudinary.com/demo/raw/upload/v1/repos/repo-1/paper-v" + number + ".pdf");
+    version.setPublicId("repos/repo-1/paper-v" + number + ".pdf");
+    version.setSha256(String.format("%064x", number));
+    version.setSize(1_048_576L + number);
+    version.setUploadedAt(BASE_TIME.plusSeconds(3600L * number));
+    return version;
+  }
+
+  // A stored paper document as findById reads it
+  static Document paperDocument(int versions) {
+    List<Document> history = new ArrayList<>();
+    for (int i = 1; i <= versions; i++) {
+      PaperModel.Version v = version(i);
+      history.add(new Document("versionNumber", v.getVersionNumber())
+          .append("fileName", v.getFileName())
+          .append("fileType", v.getFileType())
+          .append("url", v.getUrl())
+          .append("publicId", v.getPublicId())
+          .append("sha256", v.getSha256())
+          .append("size", v.getSize())
+          .append("uploadedAt", Date.from(v.getUploadedAt())));
+    }
+    return new Document("_id", new ObjectId())
+        .append("repoId", "repo-1")
+        .append("ownerEmail", "owner@example.com")
+        .append("title", "A study of benchmark harnesses")
+        .append("currentVersion", versions)
+        .append("versions", history)
+        .append("lastUploadedAt", Date.from(BASE_TIME.plusSeconds(3600L * versions)))
+        .append("_class", PaperModel.class.getName());
+  }
+
+  // Rows as produced by PaperRepository.SUMMARY_STAGE
+  static List<Document> summaryDocuments(int count) {
+    List<Document> rows = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      PaperModel.Version latest = version(1 + i % 10);
+      rows.add(new Document("paperId", new ObjectId().toHexString())
+          .append("title", "Paper " + i)
+          .append("currentVersion", latest.getVersionNumber())
+          .append("ownerEmail", "owner@example.com")
+          .append("uploadedAt", Date.from(latest.getUploadedAt()))
+          .append("url", latest.getUrl())
+          .append("fileName", latest.getFileName())
+          .append("fileType", latest.getFileType()));
+    }
+    return rows;
+  }
+
+  // Rows as produced by PaperRepository.ACTIVITY_STAGE, newest first
+  static List<Document> activityDocuments(int count) {
+    List<Document> rows = new ArrayList<>(count);
+    for (int i = count; i > 0; i--) {
+      PaperModel.Version v = version(i);
+      rows.add(new Document("paperId", new ObjectId().toHexString())
+          .append("paperTitle", "Paper " + i)
+          .append("ownerEmail", "owner@example.com")
+          .append("versionNumber", v.getVersionNumber())
+          .append("fileName", v.getFileName())
+          .append("fileType", v.getFileType())
+          .append("uploadedAt", Date.from(v.getUploadedAt()))
+          .append("url", v.getUrl())
+          .append("actionType", i == 1 ? "uploaded" : "updated"));
+    }
+    return rows;
+  }
+}
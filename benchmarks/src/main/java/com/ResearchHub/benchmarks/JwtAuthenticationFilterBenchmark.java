@@ -0,0 +1,91 @@
+package com.ResearchHub.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.ResearchHub.backend.Repository.UserRepository;
+import com.ResearchHub.backend.model.UserModel;
+import com.ResearchHub.backend.security.JwtAuthenticationFilter;
+import com.ResearchHub.backend.security.PrincipalCache;
+import com.ResearchHub.backend.util.JwtUtil;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+
+// The JWT cookie filter in front of every request. "cached" reuses the
+// principal cache; "uncached" parses the token and looks the user up each time
+// (the repository is an in-memory stub, so this excludes the Mongo round trip).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+  @Param({ "cached", "uncached" })
+  public String principalCache;
+
+  private JwtAuthenticationFilter filter;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+  private final FilterChain chain = (req, res) -> {
+  };
+
+  @Setup
+  public void setUp() {
+    UserModel user = new UserModel("alice", "alice@example.com", null);
+    // A zero TTL makes PrincipalCache.put a no-op, so every request misses
+    PrincipalCache cache = "cached".equals(principalCache)
+        ? new PrincipalCache(new SimpleMeterRegistry(), 10_000, 300_000)
+        : new PrincipalCache(new SimpleMeterRegistry(), 10_000, 0);
+    filter = new JwtAuthenticationFilter(stubRepository(user), cache);
+
+    request = new MockHttpServletRequest("GET", "/papers/my");
+    request.setCookies(new Cookie("jwt", JwtUtil.generateToken(user.getUsername(), user.getEmail())));
+    response = new MockHttpServletResponse();
+  }
+
+  @Benchmark
+  public Authentication doFilter() throws Exception {
+    try {
+      filter.doFilter(request, response, chain);
+      return SecurityContextHolder.getContext().getAuthentication();
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+
+  // Only findByEmail is called by the filter
+  private static UserRepository stubRepository(UserModel user) {
+    return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+        new Class<?>[] { UserRepository.class }, (proxy, method, args) -> {
+          if (method.getName().equals("findByEmail"))
+            return user.getEmail().equals(args[0]) ? user : null;
+          if (method.getName().equals("hashCode"))
+            return System.identityHashCode(proxy);
+          if (method.getName().equals("equals"))
+            return proxy == args[0];
+          if (method.getName().equals("toString"))
+            return "UserRepository stub";
+          throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
@@ -0,0 +1,44 @@
+package com.ResearchHub.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ResearchHub.backend.util.JwtUtil;
+
+// Token signing (login/register) and verification (every authenticated request
+// that misses the principal cache)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+  private String token;
+
+  @Setup
+  public void setUp() {
+    token = JwtUtil.generateToken("alice", "alice@example.com");
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return JwtUtil.generateToken("alice", "alice@example.com");
+  }
+
+  @Benchmark
+  public String getEmailFromToken() {
+    return JwtUtil.getEmailFromToken(token);
+  }
+}
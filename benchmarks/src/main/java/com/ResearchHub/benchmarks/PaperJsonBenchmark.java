@@ -0,0 +1,48 @@
+package com.ResearchHub.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ResearchHub.backend.model.PaperModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Response serialization of a paper (versions endpoint, my papers, completed
+// upload jobs) by length of its version history
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaperJsonBenchmark {
+
+  @Param({ "1", "10", "100" })
+  public int versions;
+
+  private ObjectMapper objectMapper;
+  private PaperModel paper;
+
+  @Setup
+  public void setUp() {
+    // Same defaults Spring Boot applies to the MVC message converter
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    paper = Fixtures.paper(versions);
+  }
+
+  @Benchmark
+  public byte[] serializePaper() throws Exception {
+    return objectMapper.writeValueAsBytes(paper);
+  }
+}
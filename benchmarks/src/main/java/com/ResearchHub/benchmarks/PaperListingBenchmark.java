@@ -0,0 +1,91 @@
+package com.ResearchHub.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+
+import com.ResearchHub.backend.model.ActivityEvent;
+import com.ResearchHub.backend.model.PaperModel;
+import com.ResearchHub.backend.model.PaperSummary;
+
+// JVM-side cost of the paper listings. papersByRepo and getRepoActivity have
+// Mongo project/flatten/sort server-side, so what is left here is mapping the
+// returned rows into PaperSummary / ActivityEvent (one page at the default and
+// maximum page size), plus reading full PaperModel documents whose size grows
+// with the version history (findById on versions, download, update and delete).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaperListingBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class Pages {
+    @Param({ "100", "500" })
+    public int pageSize;
+
+    MappingMongoConverter converter;
+    List<Document> summaryRows;
+    List<Document> activityRows;
+
+    @Setup
+    public void setUp() {
+      converter = Fixtures.mongoConverter();
+      summaryRows = Fixtures.summaryDocuments(pageSize);
+      activityRows = Fixtures.activityDocuments(pageSize);
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Papers {
+    @Param({ "1", "10", "100" })
+    public int versions;
+
+    MappingMongoConverter converter;
+    Document paper;
+
+    @Setup
+    public void setUp() {
+      converter = Fixtures.mongoConverter();
+      paper = Fixtures.paperDocument(versions);
+    }
+  }
+
+  @Benchmark
+  public List<PaperSummary> readSummaryPage(Pages pages) {
+    List<PaperSummary> page = new ArrayList<>(pages.summaryRows.size());
+    for (Document row : pages.summaryRows) {
+      page.add(pages.converter.read(PaperSummary.class, row));
+    }
+    return page;
+  }
+
+  @Benchmark
+  public List<ActivityEvent> readActivityPage(Pages pages) {
+    List<ActivityEvent> page = new ArrayList<>(pages.activityRows.size());
+    for (Document row : pages.activityRows) {
+      page.add(pages.converter.read(ActivityEvent.class, row));
+    }
+    return page;
+  }
+
+  @Benchmark
+  public PaperModel readPaper(Papers papers) {
+    return papers.converter.read(PaperModel.class, papers.paper);
+  }
+}
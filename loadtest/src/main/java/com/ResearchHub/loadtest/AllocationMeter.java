@@ -0,0 +1,67 @@
+package com.ResearchHub.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Heap allocated by the backend's threads while it runs in this JVM. The
+// virtual users, their HTTP client and the storage stub run on platform threads
+// named "loadtest-..." and are left out, so client-side work such as gunzip
+// is not counted. They avoid virtual threads, whose allocation is charged to
+// ForkJoinPool carriers shared with a backend in virtual-thread mode. Threads
+// that exit during the run are not counted.
+final class AllocationMeter {
+
+  private static final String PREFIX = "loadtest-";
+  // Threads the JDK HTTP client and server start on their own
+  private static final List<String> EXCLUDED = List.of(PREFIX, "HttpClient-", "HTTP-Dispatcher");
+
+  private final com.sun.management.ThreadMXBean threads;
+  private Map<Long, Long> started;
+
+  AllocationMeter() {
+    this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+        && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+  }
+
+  // Daemon platform threads named "loadtest-<name>-<n>"
+  static ThreadFactory threads(String name) {
+    AtomicInteger ids = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, PREFIX + name + "-" + ids.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  void start() {
+    started = snapshot();
+  }
+
+  // Bytes allocated by backend threads since start(), -1 if the JVM cannot tell
+  long stop() {
+    if (threads == null || started == null)
+      return -1;
+    long total = 0;
+    for (Map.Entry<Long, Long> thread : snapshot().entrySet())
+      total += thread.getValue() - started.getOrDefault(thread.getKey(), 0L);
+    return total;
+  }
+
+  private Map<Long, Long> snapshot() {
+    Map<Long, Long> allocated = new HashMap<>();
+    if (threads == null)
+      return allocated;
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (EXCLUDED.stream().anyMatch(thread.getName()::startsWith))
+        continue;
+      long bytes = threads.getThreadAllocatedBytes(thread.threadId());
+      if (bytes >= 0)
+        allocated.put(thread.threadId(), bytes);
+    }
+    return allocated;
+  }
+}
@@ -0,0 +1,139 @@
+package com.ResearchHub.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// HTTP calls of one virtual user. Every call is timed and recorded under its
+// endpoint name; the jwt cookie is kept per user instead of in a shared jar.
+// With --accept-encoding=gzip, compressed bodies are inflated inside the timing.
+class ApiClient {
+
+  // Result of a timed call; body is null for downloads, which are discarded
+  record Result(int status, byte[] body) {
+    boolean ok() {
+      return status >= 200 && status < 300;
+    }
+  }
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final HttpClient http;
+  private final String baseUrl;
+  private final LatencyStats stats;
+  private final String acceptEncoding;
+  private String jwt;
+
+  ApiClient(HttpClient http, String baseUrl, LatencyStats stats, String acceptEncoding) {
+    this.http = http;
+    this.baseUrl = baseUrl;
+    this.stats = stats;
+    this.acceptEncoding = acceptEncoding;
+  }
+
+  Result postJson(String endpoint, String path, Object body) throws InterruptedException {
+    try {
+      return send(endpoint, request(path)
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body))), true);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  Result postMultipart(String endpoint, String path, Map<String, String> fields, String fileName, byte[] file)
+      throws InterruptedException {
+    String boundary = "loadtest-" + UUID.randomUUID();
+    ByteArrayOutputStream body = new ByteArrayOutputStream(file.length + 1024);
+    for (Map.Entry<String, String> field : fields.entrySet()) {
+      body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field.getKey()
+          + "\"\r\n\r\n" + field.getValue() + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+    body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"" + fileName
+        + "\"\r\nContent-Type: application/pdf\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+    body.writeBytes(file);
+    body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+    return send(endpoint, request(path)
+        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+        .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())), true);
+  }
+
+  Result get(String endpoint, String path) throws InterruptedException {
+    return send(endpoint, request(path).GET(), true);
+  }
+
+  // Reads the whole body but does not keep it
+  Result download(String endpoint, String path) throws InterruptedException {
+    return send(endpoint, request(path).GET(), false);
+  }
+
+  static JsonNode json(Result result) {
+    try {
+      return objectMapper.readTree(result.body());
+    } catch (IOException e) {
+      throw new IllegalStateException("Response is not JSON", e);
+    }
+  }
+
+  static Map<String, String> fields(String... keyValues) {
+    Map<String, String> fields = new LinkedHashMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      fields.put(keyValues[i], keyValues[i + 1]);
+    }
+    return fields;
+  }
+
+  private HttpRequest.Builder request(String path) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(Duration.ofSeconds(60))
+        .header("Accept-Encoding", acceptEncoding);
+    if (jwt != null)
+      builder.header("Cookie", "jwt=" + jwt);
+    return builder;
+  }
+
+  private Result send(String endpoint, HttpRequest.Builder builder, boolean keepBody) throws InterruptedException {
+    long start = System.nanoTime();
+    try {
+      Result result;
+      if (keepBody) {
+        HttpResponse<InputStream> response = http.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        rememberCookie(response);
+        boolean gzipped = response.headers().firstValue("Content-Encoding").orElse("").equals("gzip");
+        try (InputStream body = gzipped ? new GZIPInputStream(response.body()) : response.body()) {
+          result = new Result(response.statusCode(), body.readAllBytes());
+        }
+      } else {
+        HttpResponse<Void> response = http.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+        result = new Result(response.statusCode(), null);
+      }
+      stats.record(endpoint, start, System.nanoTime(), result.ok());
+      return result;
+    } catch (IOException e) {
+      stats.record(endpoint, start, System.nanoTime(), false);
+      return new Result(-1, null);
+    }
+  }
+
+  private void rememberCookie(HttpResponse<?> response) {
+    for (String header : response.headers().allValues("Set-Cookie")) {
+      if (header.startsWith("jwt=")) {
+        String value = header.substring(4, header.indexOf(';') < 0 ? header.length() : header.indexOf(';'));
+        jwt = value.isEmpty() ? null : value;
+      }
+    }
+  }
+}
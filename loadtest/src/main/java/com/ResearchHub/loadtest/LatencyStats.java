@@ -0,0 +1,105 @@
+package com.ResearchHub.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// Per-endpoint latency histograms (microseconds), error counts and the window
+// in which calls were made, shared by all virtual users; also the heap
+// allocated by the in-process backend during the measured phase
+class LatencyStats {
+
+  record EndpointResult(
+      String endpoint,
+      long count,
+      long errors,
+      double throughputPerSecond,
+      double p50Millis,
+      double p99Millis,
+      double p999Millis,
+      double maxMillis) {
+  }
+
+  private static final class Endpoint {
+    final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(5), 3);
+    final LongAdder errors = new LongAdder();
+    final AtomicLong firstStartNanos = new AtomicLong(Long.MAX_VALUE);
+    final AtomicLong lastEndNanos = new AtomicLong(Long.MIN_VALUE);
+  }
+
+  // Insertion order is kept so the report follows the workflow order
+  private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+  private final List<String> order = new ArrayList<>();
+  private volatile long allocatedBytes = -1;
+  private volatile long measuredNanos;
+
+  void record(String endpoint, long startNanos, long endNanos, boolean success) {
+    Endpoint stats = endpoint(endpoint);
+    stats.recorder.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos)));
+    if (!success)
+      stats.errors.increment();
+    stats.firstStartNanos.accumulateAndGet(startNanos, Math::min);
+    stats.lastEndNanos.accumulateAndGet(endNanos, Math::max);
+  }
+
+  // allocatedBytes is -1 when the JVM cannot report allocation
+  void measured(long allocatedBytes, long nanos) {
+    this.allocatedBytes = allocatedBytes;
+    this.measuredNanos = nanos;
+  }
+
+  // MB (10^6 bytes) per second, or -1 if unknown
+  double allocatedMbPerSecond() {
+    if (allocatedBytes < 0 || measuredNanos <= 0)
+      return -1;
+    return allocatedBytes / 1e6 / (measuredNanos / 1e9);
+  }
+
+  // Drains the histograms, so it is called once when the run is over
+  List<EndpointResult> results() {
+    List<String> names;
+    synchronized (order) {
+      names = List.copyOf(order);
+    }
+    List<EndpointResult> results = new ArrayList<>();
+    for (String name : names) {
+      Endpoint stats = endpoints.get(name);
+      Histogram histogram = stats.recorder.getIntervalHistogram();
+      long count = histogram.getTotalCount();
+      double windowSeconds = (stats.lastEndNanos.get() - stats.firstStartNanos.get()) / 1e9;
+      results.add(new EndpointResult(
+          name,
+          count,
+          stats.errors.sum(),
+          windowSeconds > 0 ? count / windowSeconds : count,
+          millis(histogram.getValueAtPercentile(50)),
+          millis(histogram.getValueAtPercentile(99)),
+          millis(histogram.getValueAtPercentile(99.9)),
+          millis(histogram.getMaxValue())));
+    }
+    return results;
+  }
+
+  private Endpoint endpoint(String name) {
+    Endpoint stats = endpoints.get(name);
+    if (stats != null)
+      return stats;
+    synchronized (order) {
+      return endpoints.computeIfAbsent(name, key -> {
+        order.add(key);
+        return new Endpoint();
+      });
+    }
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+}
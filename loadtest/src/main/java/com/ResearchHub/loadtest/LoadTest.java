@@ -0,0 +1,208 @@
+package com.ResearchHub.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import com.ResearchHub.backend.BackendApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+
+// Self-contained load test. Starts an embedded MongoDB, a local storage stub
+// and the backend in this JVM (unless --base-url points at a running one),
+// sets up one repo and paper per virtual user, drives the read/write mix for
+// --duration seconds and prints throughput and latency percentiles per endpoint.
+public class LoadTest {
+
+  public static void main(String[] args) throws Exception {
+    if (args.length > 0 && args[0].equals("--help")) {
+      System.out.print(LoadTestOptions.USAGE);
+      return;
+    }
+    LoadTestOptions options;
+    try {
+      options = LoadTestOptions.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.print(LoadTestOptions.USAGE);
+      System.exit(2);
+      return;
+    }
+
+    Path workDir = Files.createTempDirectory("researchhub-loadtest-");
+    TransitionWalker.ReachedState<RunningMongodProcess> mongod = null;
+    StorageStub storage = null;
+    ConfigurableApplicationContext app = null;
+    try {
+      String baseUrl = options.baseUrl();
+      if (baseUrl == null) {
+        String mongoUri = options.mongoUri();
+        if (mongoUri == null) {
+          System.out.println("Starting embedded MongoDB...");
+          mongod = Mongod.instance().start(Version.Main.V7_0);
+          ServerAddress address = mongod.current().getServerAddress();
+          mongoUri = "mongodb://" + address.getHost() + ":" + address.getPort();
+        }
+        storage = new StorageStub(workDir.resolve("storage"), options.storageLatencyMillis());
+        app = startBackend(options, mongoUri, storage.baseUrl(), workDir);
+        baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+      }
+
+      LatencyStats stats = run(options, baseUrl);
+      List<LatencyStats.EndpointResult> results = stats.results();
+      print(options, stats, results, storage);
+      if (options.report() != null)
+        writeReport(options, stats, results, Path.of(options.report()));
+    } finally {
+      if (app != null)
+        app.close();
+      if (storage != null)
+        storage.close();
+      if (mongod != null)
+        mongod.close();
+      FileSystemUtils.deleteRecursively(workDir);
+    }
+  }
+
+  // Command-line arguments take precedence over the backend's
+  // application.properties, so its ${...} placeholders are never resolved
+  private static ConfigurableApplicationContext startBackend(LoadTestOptions options, String mongoUri,
+      String storageUrl, Path workDir) {
+    List<String> args = new ArrayList<>(List.of(
+        "--server.port=0",
+        "--spring.data.mongodb.uri=" + mongoUri,
+        "--spring.data.mongodb.database=researchhub_loadtest",
+        "--cloudinary.cloud_name=loadtest",
+        "--cloudinary.api_key=loadtest",
+        "--cloudinary.api_secret=loadtest",
+        "--cloudinary.upload_prefix=" + storageUrl,
+        "--papers.cache.dir=" + workDir.resolve("paper-cache"),
+        "--papers.upload.spool-dir=" + workDir.resolve("upload-spool")));
+    if (options.profile() != null)
+      args.add("--spring.profiles.active=" + options.profile());
+    // Every virtual user would otherwise hit the per-client limits within
+    // seconds; they stay on if set explicitly after "--"
+    if (options.appArgs().stream().noneMatch(arg -> arg.startsWith("--rate-limits.")))
+      args.addAll(List.of(
+          "--rate-limits.upload.refill-per-minute=0", "--rate-limits.upload.max-concurrent=0",
+          "--rate-limits.download.refill-per-minute=0", "--rate-limits.download.max-concurrent=0"));
+    args.addAll(options.appArgs());
+    System.out.println("Starting backend...");
+    return new SpringApplicationBuilder(BackendApplication.class).run(args.toArray(String[]::new));
+  }
+
+  private static LatencyStats run(LoadTestOptions options, String baseUrl) throws Exception {
+    LatencyStats stats = new LatencyStats();
+    TestFiles files = new TestFiles(options.fileSizeBytes());
+    HttpClient http = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(10))
+        .executor(Executors.newCachedThreadPool(AllocationMeter.threads("http")))
+        .build();
+    String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    AllocationMeter allocation = new AllocationMeter();
+    try (ExecutorService users = Executors.newCachedThreadPool(AllocationMeter.threads("user"))) {
+      System.out.printf("Setting up %d users against %s...%n", options.users(), baseUrl);
+      List<VirtualUser> ready = new ArrayList<>();
+      List<Future<Boolean>> setUps = new ArrayList<>();
+      List<VirtualUser> all = new ArrayList<>();
+      for (int i = 0; i < options.users(); i++) {
+        VirtualUser user = new VirtualUser(i, runId, options,
+            new ApiClient(http, baseUrl, stats, options.acceptEncoding()), files, stats);
+        all.add(user);
+        setUps.add(users.submit(user::setUp));
+      }
+      for (int i = 0; i < all.size(); i++) {
+        if (setUps.get(i).get())
+          ready.add(all.get(i));
+      }
+      if (ready.isEmpty())
+        throw new IllegalStateException("No user could be set up; see the backend log");
+      if (ready.size() < all.size())
+        System.out.printf("%d of %d users failed to set up and are skipped%n", all.size() - ready.size(),
+            all.size());
+
+      System.out.printf("Running for %d s...%n", options.durationSeconds());
+      allocation.start();
+      long started = System.nanoTime();
+      long deadline = started + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+      AtomicInteger failed = new AtomicInteger();
+      List<Future<?>> runs = new ArrayList<>();
+      for (VirtualUser user : ready) {
+        runs.add(users.submit(() -> {
+          try {
+            user.run(deadline);
+          } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            System.err.println("Virtual user stopped: " + e);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> run : runs) {
+        run.get();
+      }
+      stats.measured(allocation.stop(), System.nanoTime() - started);
+      if (failed.get() > 0)
+        System.out.printf("%d users stopped early%n", failed.get());
+    }
+    return stats;
+  }
+
+  private static void print(LoadTestOptions options, LatencyStats stats, List<LatencyStats.EndpointResult> results,
+      StorageStub storage) {
+    System.out.println();
+    System.out.printf("%d users, %d s, %d paper(s) per repo, Accept-Encoding %s%s%n", options.users(),
+        options.durationSeconds(), options.papersPerRepo(), options.acceptEncoding(),
+        options.profile() == null ? "" : ", profile " + options.profile());
+    System.out.printf("%-44s %9s %7s %9s %9s %9s %9s %9s%n",
+        "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    for (LatencyStats.EndpointResult r : results) {
+      System.out.printf("%-44s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+          r.endpoint(), r.count(), r.errors(), r.throughputPerSecond(),
+          r.p50Millis(), r.p99Millis(), r.p999Millis(), r.maxMillis());
+    }
+    if (options.baseUrl() == null && stats.allocatedMbPerSecond() >= 0)
+      System.out.printf("%nheap allocated by backend threads during the run: %.1f MB/s%n",
+          stats.allocatedMbPerSecond());
+    if (storage != null)
+      System.out.printf("%nstorage stub: %d uploads, %d deliveries, %d deletions%n",
+          storage.uploads.sum(), storage.deliveries.sum(), storage.deletions.sum());
+  }
+
+  private static void writeReport(LoadTestOptions options, LatencyStats stats,
+      List<LatencyStats.EndpointResult> results, Path file) throws IOException {
+    Map<String, Object> report = Map.of(
+        "users", options.users(),
+        "durationSeconds", options.durationSeconds(),
+        "fileSizeBytes", options.fileSizeBytes(),
+        "papersPerRepo", options.papersPerRepo(),
+        "acceptEncoding", options.acceptEncoding(),
+        "profile", options.profile() == null ? "default" : options.profile(),
+        "allocatedMbPerSecond", options.baseUrl() == null ? stats.allocatedMbPerSecond() : -1,
+        "endpoints", results);
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    System.out.println("Report written to " + file);
+  }
+}
@@ -0,0 +1,110 @@
+package com.ResearchHub.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Command line of the load test: --name=value pairs; anything after a bare
+// "--" is passed to the backend unchanged (e.g. -- --papers.upload.workers=8)
+record LoadTestOptions(
+    int users,
+    int durationSeconds,
+    int fileSizeBytes,
+    int papersPerRepo,
+    int updateEvery,
+    int loginEvery,
+    int thinkTimeMillis,
+    int storageLatencyMillis,
+    String baseUrl,
+    String mongoUri,
+    String profile,
+    String acceptEncoding,
+    String report,
+    List<String> appArgs) {
+
+  static final String USAGE = """
+      Usage: java -jar loadtest.jar [options] [-- backend args]
+        --users=N                 concurrent virtual users (default 20)
+        --duration=SECONDS        length of the measured phase (default 60)
+        --file-size=BYTES         size of each uploaded PDF (default 262144)
+        --papers-per-repo=N       papers each user uploads during set-up (default 1)
+        --update-every=N          upload a new version every N iterations per user (default 10, 0 = never)
+        --login-every=N           log in again every N iterations per user (default 50, 0 = never)
+        --think-time-ms=MS        pause between requests of one user (default 0)
+        --storage-latency-ms=MS   added to every storage stub response (default 0)
+        --mongo-uri=URI           use this MongoDB instead of starting an embedded one
+        --profile=NAME            Spring profile for the backend, e.g. reactive
+        --accept-encoding=NAME    gzip to ask for compressed responses (default identity)
+        --base-url=URL            drive an already running backend instead of starting one
+        --report=FILE             also write the results as JSON
+      """;
+
+  static LoadTestOptions parse(String[] args) {
+    int users = 20;
+    int duration = 60;
+    int fileSize = 256 * 1024;
+    int papersPerRepo = 1;
+    int updateEvery = 10;
+    int loginEvery = 50;
+    int thinkTime = 0;
+    int storageLatency = 0;
+    String baseUrl = null;
+    String mongoUri = null;
+    String profile = null;
+    String acceptEncoding = "identity";
+    String report = null;
+    List<String> appArgs = new ArrayList<>();
+
+    for (int i = 0; i < args.length; i++) {
+      String arg = args[i];
+      if (arg.equals("--")) {
+        appArgs.addAll(List.of(args).subList(i + 1, args.length));
+        break;
+      }
+      int eq = arg.indexOf('=');
+      if (!arg.startsWith("--") || eq < 0)
+        throw new IllegalArgumentException("Unrecognised argument: " + arg);
+      String name = arg.substring(2, eq);
+      String value = arg.substring(eq + 1);
+      switch (name) {
+        case "users" -> users = positive(name, value);
+        case "duration" -> duration = positive(name, value);
+        case "file-size" -> fileSize = positive(name, value);
+        case "papers-per-repo" -> papersPerRepo = positive(name, value);
+        case "update-every" -> updateEvery = nonNegative(name, value);
+        case "login-every" -> loginEvery = nonNegative(name, value);
+        case "think-time-ms" -> thinkTime = nonNegative(name, value);
+        case "storage-latency-ms" -> storageLatency = nonNegative(name, value);
+        case "base-url" -> baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+        case "mongo-uri" -> mongoUri = value;
+        case "profile" -> profile = value;
+        case "accept-encoding" -> {
+          if (!value.equals("gzip") && !value.equals("identity"))
+            throw new IllegalArgumentException("--accept-encoding must be gzip or identity");
+          acceptEncoding = value;
+        }
+        case "report" -> report = value;
+        default -> throw new IllegalArgumentException("Unknown option --" + name);
+      }
+    }
+    return new LoadTestOptions(users, duration, fileSize, papersPerRepo, updateEvery, loginEvery, thinkTime,
+        storageLatency, baseUrl, mongoUri, profile, acceptEncoding, report, List.copyOf(appArgs));
+  }
+
+  private static int positive(String name, String value) {
+    int parsed = nonNegative(name, value);
+    if (parsed == 0)
+      throw new IllegalArgumentException("--" + name + " must be greater than 0");
+    return parsed;
+  }
+
+  private static int nonNegative(String name, String value) {
+    try {
+      int parsed = Integer.parseInt(value);
+      if (parsed < 0)
+        throw new IllegalArgumentException("--" + name + " must not be negative");
+      return parsed;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("--" + name + " must be a number");
+    }
+  }
+}
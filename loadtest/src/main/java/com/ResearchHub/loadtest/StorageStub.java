@@ -0,0 +1,340 @@
+package com.ResearchHub.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Local stand-in for the storage provider, reached through
+// cloudinary.upload_prefix. Implements the calls the backend makes:
+//   POST   /v1_1/{cloud}/raw/upload            (plain and chunked uploads)
+//   POST   /v1_1/{cloud}/raw/destroy
+//   DELETE /v1_1/{cloud}/resources/raw/upload  (Admin API multi-id delete)
+//   GET    /{cloud}/raw/upload/v1/{publicId}   (file delivery, single Range)
+// Signatures are not checked. Files are kept in a temporary directory.
+class StorageStub implements AutoCloseable {
+
+  private static final Pattern UPLOAD = Pattern.compile("/v1_1/[^/]+/raw/upload");
+  private static final Pattern DESTROY = Pattern.compile("/v1_1/[^/]+/raw/destroy");
+  private static final Pattern ADMIN_DELETE = Pattern.compile("/v1_1/[^/]+/resources/raw/upload");
+  private static final Pattern DELIVERY = Pattern.compile("/([^/]+)/raw/upload/v\\d+/(.+)");
+  private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+  private static final Pattern RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final HttpServer server;
+  private final Path directory;
+  private final int latencyMillis;
+
+  final LongAdder uploads = new LongAdder();
+  final LongAdder deliveries = new LongAdder();
+  final LongAdder deletions = new LongAdder();
+
+  StorageStub(Path directory, int latencyMillis) throws IOException {
+    this.directory = Files.createDirectories(directory);
+    Files.createDirectories(directory.resolve("chunks"));
+    this.latencyMillis = latencyMillis;
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.setExecutor(Executors.newCachedThreadPool(AllocationMeter.threads("storage")));
+    this.server.createContext("/", this::handle);
+    this.server.start();
+  }
+
+  String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      if (latencyMillis > 0)
+        Thread.sleep(latencyMillis);
+      String method = exchange.getRequestMethod();
+      String path = exchange.getRequestURI().getPath();
+      Matcher delivery = DELIVERY.matcher(path);
+      if (method.equals("POST") && UPLOAD.matcher(path).matches())
+        upload(exchange);
+      else if (method.equals("POST") && DESTROY.matcher(path).matches())
+        destroy(exchange);
+      else if (method.equals("DELETE") && ADMIN_DELETE.matcher(path).matches())
+        deleteResources(exchange);
+      else if ((method.equals("GET") || method.equals("HEAD")) && delivery.matches())
+        deliver(exchange, delivery.group(2));
+      else
+        json(exchange, 404, Map.of("error", Map.of("message", "Not found: " + method + " " + path)));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // --- uploads ---
+
+  private void upload(HttpExchange exchange) throws IOException {
+    Map<String, Part> parts = multipart(exchange);
+    Part file = parts.get("file");
+    if (file == null) {
+      json(exchange, 400, Map.of("error", Map.of("message", "Missing file")));
+      return;
+    }
+    String folder = parts.containsKey("folder") ? parts.get("folder").text() : "";
+    String cloud = exchange.getRequestURI().getPath().split("/")[2];
+
+    // Chunked uploads: each request carries one slice of the file, identified
+    // by X-Unique-Upload-Id and positioned by Content-Range
+    String uploadId = exchange.getRequestHeaders().getFirst("X-Unique-Upload-Id");
+    String contentRange = exchange.getRequestHeaders().getFirst("Content-Range");
+    Path source;
+    if (uploadId != null && contentRange != null) {
+      Matcher range = CONTENT_RANGE.matcher(contentRange);
+      if (!range.matches()) {
+        json(exchange, 400, Map.of("error", Map.of("message", "Bad Content-Range")));
+        return;
+      }
+      long start = Long.parseLong(range.group(1));
+      long end = Long.parseLong(range.group(2));
+      long total = Long.parseLong(range.group(3));
+      Path partial = directory.resolve("chunks").resolve(safeName(uploadId));
+      try (RandomAccessFile out = new RandomAccessFile(partial.toFile(), "rw")) {
+        out.seek(start);
+        out.write(file.data());
+      }
+      if (end + 1 < total) {
+        json(exchange, 200, Map.of("done", false));
+        return;
+      }
+      source = partial;
+    } else {
+      source = Files.createTempFile(directory.resolve("chunks"), "upload-", ".tmp");
+      Files.write(source, file.data());
+    }
+
+    String publicId = (folder.isEmpty() ? "" : folder + "/") + UUID.randomUUID();
+    Path target = fileFor(publicId);
+    Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    uploads.increment();
+
+    String url = baseUrl() + "/" + cloud + "/raw/upload/v1/" + publicId;
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("public_id", publicId);
+    response.put("version", 1);
+    response.put("resource_type", "raw");
+    response.put("type", "upload");
+    response.put("bytes", Files.size(target));
+    response.put("url", url);
+    response.put("secure_url", url);
+    json(exchange, 200, response);
+  }
+
+  // --- deletes ---
+
+  private void destroy(HttpExchange exchange) throws IOException {
+    String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+    String publicId;
+    if (contentType != null && contentType.startsWith("multipart/")) {
+      Part part = multipart(exchange).get("public_id");
+      publicId = part == null ? null : part.text();
+    } else {
+      List<String> ids = form(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+          .get("public_id");
+      publicId = ids == null ? null : ids.get(0);
+    }
+    boolean deleted = publicId != null && Files.deleteIfExists(fileFor(publicId));
+    if (deleted)
+      deletions.increment();
+    json(exchange, 200, Map.of("result", deleted ? "ok" : "not found"));
+  }
+
+  private void deleteResources(HttpExchange exchange) throws IOException {
+    List<String> ids = new ArrayList<>();
+    String query = exchange.getRequestURI().getRawQuery();
+    if (query != null)
+      ids.addAll(form(query).getOrDefault("public_ids[]", List.of()));
+    byte[] body = exchange.getRequestBody().readAllBytes();
+    if (body.length > 0) {
+      String text = new String(body, StandardCharsets.UTF_8).trim();
+      if (text.startsWith("{")) {
+        JsonNode node = objectMapper.readTree(text).path("public_ids");
+        node.forEach(id -> ids.add(id.asText()));
+      } else {
+        ids.addAll(form(text).getOrDefault("public_ids[]", List.of()));
+      }
+    }
+
+    Map<String, String> deleted = new LinkedHashMap<>();
+    for (String id : ids) {
+      boolean removed = Files.deleteIfExists(fileFor(id));
+      if (removed)
+        deletions.increment();
+      deleted.put(id, removed ? "deleted" : "not_found");
+    }
+    json(exchange, 200, Map.of("deleted", deleted, "partial", false));
+  }
+
+  // --- delivery ---
+
+  private void deliver(HttpExchange exchange, String publicId) throws IOException {
+    Path file = fileFor(publicId);
+    if (!Files.exists(file)) {
+      exchange.sendResponseHeaders(404, -1);
+      return;
+    }
+    deliveries.increment();
+    long size = Files.size(file);
+    long start = 0;
+    long end = size - 1;
+    int status = 200;
+
+    String range = exchange.getRequestHeaders().getFirst("Range");
+    Matcher matcher = range == null ? null : RANGE.matcher(range);
+    if (matcher != null && matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+      if (matcher.group(1).isEmpty()) {
+        start = Math.max(0, size - Long.parseLong(matcher.group(2)));
+      } else {
+        start = Long.parseLong(matcher.group(1));
+        if (!matcher.group(2).isEmpty())
+          end = Math.min(end, Long.parseLong(matcher.group(2)));
+      }
+      if (start > end || start >= size) {
+        exchange.getResponseHeaders().set("Content-Range", "bytes */" + size);
+        exchange.sendResponseHeaders(416, -1);
+        return;
+      }
+      status = 206;
+      exchange.getResponseHeaders().set("Content-Range", "bytes " + start + "-" + end + "/" + size);
+    }
+
+    long length = end - start + 1;
+    exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+    exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+    if (exchange.getRequestMethod().equals("HEAD")) {
+      exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+      exchange.sendResponseHeaders(status, -1);
+      return;
+    }
+    exchange.sendResponseHeaders(status, length);
+    try (InputStream in = Files.newInputStream(file); OutputStream out = exchange.getResponseBody()) {
+      in.skipNBytes(start);
+      byte[] buffer = new byte[64 * 1024];
+      long remaining = length;
+      while (remaining > 0) {
+        int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+        if (read < 0)
+          break;
+        out.write(buffer, 0, read);
+        remaining -= read;
+      }
+    }
+  }
+
+  // --- helpers ---
+
+  private record Part(String name, byte[] data) {
+    String text() {
+      return new String(data, StandardCharsets.UTF_8);
+    }
+  }
+
+  private Path fileFor(String publicId) {
+    return directory.resolve(safeName(publicId));
+  }
+
+  private static String safeName(String value) {
+    return value.replaceAll("[^A-Za-z0-9._-]", "_");
+  }
+
+  private void json(HttpExchange exchange, int status, Object body) throws IOException {
+    byte[] bytes = objectMapper.writeValueAsBytes(body);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static Map<String, List<String>> form(String encoded) {
+    Map<String, List<String>> values = new HashMap<>();
+    for (String pair : encoded.split("&")) {
+      if (pair.isEmpty())
+        continue;
+      int eq = pair.indexOf('=');
+      String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+      String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+      values.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+    }
+    return values;
+  }
+
+  // Minimal multipart/form-data parser: the whole body is read into memory,
+  // which is fine for the file sizes a load test uses
+  private static Map<String, Part> multipart(HttpExchange exchange) throws IOException {
+    String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+    int at = contentType == null ? -1 : contentType.indexOf("boundary=");
+    if (at < 0)
+      throw new IOException("Not a multipart request");
+    String boundary = contentType.substring(at + "boundary=".length()).split(";")[0].replace("\"", "").trim();
+    byte[] body = exchange.getRequestBody().readAllBytes();
+    byte[] delimiter = ("--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+    byte[] headerEnd = "\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    Map<String, Part> parts = new HashMap<>();
+    int position = indexOf(body, delimiter, 0);
+    while (position >= 0) {
+      int partStart = position + delimiter.length;
+      // "--" after the delimiter closes the body
+      if (partStart + 1 < body.length && body[partStart] == '-' && body[partStart + 1] == '-')
+        break;
+      partStart += 2; // CRLF
+      int headersEnd = indexOf(body, headerEnd, partStart);
+      int next = indexOf(body, delimiter, partStart);
+      if (headersEnd < 0 || next < 0)
+        break;
+      String headers = new String(body, partStart, headersEnd - partStart, StandardCharsets.UTF_8);
+      int dataStart = headersEnd + headerEnd.length;
+      int dataEnd = next - 2; // CRLF before the next delimiter
+      Matcher name = Pattern.compile("name=\"([^\"]*)\"").matcher(headers);
+      if (name.find() && dataEnd >= dataStart) {
+        byte[] data = new byte[dataEnd - dataStart];
+        System.arraycopy(body, dataStart, data, 0, data.length);
+        parts.put(name.group(1), new Part(name.group(1), data));
+      }
+      position = next;
+    }
+    return parts;
+  }
+
+  private static int indexOf(byte[] haystack, byte[] needle, int from) {
+    outer: for (int i = from; i <= haystack.length - needle.length; i++) {
+      for (int j = 0; j < needle.length; j++) {
+        if (haystack[i + j] != needle[j])
+          continue outer;
+      }
+      return i;
+    }
+    return -1;
+  }
+}
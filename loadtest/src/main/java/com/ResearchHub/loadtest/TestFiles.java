@@ -0,0 +1,91 @@
+package com.ResearchHub.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+// Builds the PDF that every upload sends. It has one page of text (so text
+// extraction and preview rendering do real work) and an unreferenced padding
+// stream that brings it to the requested size. Each copy gets a distinct
+// counter inside the padding, so content dedup never short-circuits an upload.
+class TestFiles {
+
+  private static final byte[] MARKER = "LOADTEST-UNIQUE:".getBytes(StandardCharsets.US_ASCII);
+  private static final int COUNTER_BYTES = 16;
+
+  private final byte[] template;
+  private final int counterOffset;
+  private final AtomicLong counter = new AtomicLong();
+
+  TestFiles(int sizeBytes) throws IOException {
+    this.template = build(sizeBytes);
+    this.counterOffset = indexOf(template, MARKER) + MARKER.length;
+  }
+
+  byte[] next() {
+    byte[] copy = template.clone();
+    String value = String.format("%0" + COUNTER_BYTES + "d", counter.incrementAndGet());
+    System.arraycopy(value.getBytes(StandardCharsets.US_ASCII), 0, copy, counterOffset, COUNTER_BYTES);
+    return copy;
+  }
+
+  private static byte[] build(int sizeBytes) throws IOException {
+    try (PDDocument document = new PDDocument()) {
+      PDPage page = new PDPage();
+      document.addPage(page);
+      try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+        content.beginText();
+        content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+        content.setLeading(16);
+        content.newLineAtOffset(72, 720);
+        content.showText("Load test paper");
+        for (int line = 0; line < 30; line++) {
+          content.newLine();
+          content.showText("Line " + line + ": measuring throughput and latency of research paper workflows.");
+        }
+        content.endText();
+      }
+
+      ByteArrayOutputStream base = new ByteArrayOutputStream();
+      document.save(base);
+      int padding = Math.max(MARKER.length + COUNTER_BYTES, sizeBytes - base.size());
+
+      // Random bytes stored without a filter, so the file size tracks the padding
+      PDStream stream = new PDStream(document);
+      try (OutputStream out = stream.createOutputStream()) {
+        out.write(MARKER);
+        out.write(new byte[COUNTER_BYTES]);
+        byte[] random = new byte[padding - MARKER.length - COUNTER_BYTES];
+        new Random(42).nextBytes(random);
+        out.write(random);
+      }
+      document.getDocumentCatalog().getCOSObject().setItem(COSName.getPDFName("LoadTestPadding"), stream);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream(sizeBytes + 4096);
+      document.save(out);
+      return out.toByteArray();
+    }
+  }
+
+  private static int indexOf(byte[] haystack, byte[] needle) {
+    outer: for (int i = 0; i <= haystack.length - needle.length; i++) {
+      for (int j = 0; j < needle.length; j++) {
+        if (haystack[i + j] != needle[j])
+          continue outer;
+      }
+      return i;
+    }
+    throw new IllegalStateException("Padding marker not found in generated PDF");
+  }
+}
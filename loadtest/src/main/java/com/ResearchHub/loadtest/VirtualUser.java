@@ -0,0 +1,141 @@
+package com.ResearchHub.loadtest;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+// One simulated user. setUp() registers, logs in, creates a repo and uploads
+// --papers-per-repo papers; run() then loops over the read endpoints until the deadline,
+// uploading a new version every updateEvery iterations and logging in again
+// every loginEvery iterations.
+class VirtualUser {
+
+  private static final long JOB_POLL_MILLIS = 50;
+  private static final long JOB_TIMEOUT_MILLIS = 120_000;
+
+  private final int index;
+  private final String runId;
+  private final LoadTestOptions options;
+  private final ApiClient api;
+  private final TestFiles files;
+  private final LatencyStats stats;
+
+  private String email;
+  private String repoId;
+  private String paperId;
+  private int currentVersion;
+
+  VirtualUser(int index, String runId, LoadTestOptions options, ApiClient api, TestFiles files, LatencyStats stats) {
+    this.index = index;
+    this.runId = runId;
+    this.options = options;
+    this.api = api;
+    this.files = files;
+    this.stats = stats;
+  }
+
+  // Returns false if the user could not get as far as owning a paper
+  boolean setUp() throws InterruptedException {
+    email = "user" + index + "-" + runId + "@loadtest.local";
+    ApiClient.Result registered = api.postJson("POST /auth/register", "/auth/register",
+        Map.of("username", "user" + index, "email", email, "password", "loadtest-password"));
+    if (!registered.ok())
+      return false;
+    if (!login())
+      return false;
+
+    ApiClient.Result repo = api.postJson("POST /repos", "/repos",
+        Map.of("name", "loadtest-" + runId + "-" + index, "description", "Load test repository"));
+    if (!repo.ok())
+      return false;
+    repoId = ApiClient.json(repo).path("id").asText();
+
+    // The first paper is the one that gets new versions and downloads
+    for (int i = 0; i < options.papersPerRepo(); i++) {
+      ApiClient.Result upload = api.postMultipart("POST /papers/upload", "/papers/upload",
+          ApiClient.fields("repoId", repoId, "title", "Load test paper " + index + "-" + i), "paper.pdf",
+          files.next());
+      if (!upload.ok())
+        return false;
+      JsonNode job = awaitJob(ApiClient.json(upload).path("jobId").asText(), "upload job (end-to-end)");
+      if (job == null)
+        return false;
+      if (i == 0) {
+        paperId = job.path("paperId").asText();
+        currentVersion = job.path("versionNumber").asInt(1);
+      }
+    }
+    return true;
+  }
+
+  void run(long deadlineNanos) throws InterruptedException {
+    for (long iteration = 1; System.nanoTime() < deadlineNanos; iteration++) {
+      api.get("GET /papers/by-repo/{repoId}", "/papers/by-repo/" + repoId);
+      pause();
+      api.get("GET /papers/activity/{repoId}", "/papers/activity/" + repoId);
+      pause();
+      api.get("GET /papers/my", "/papers/my");
+      pause();
+      api.download("GET /papers/{paperId}/download", "/papers/" + paperId + "/download");
+      pause();
+      api.download("GET /papers/{paperId}/download/{version}",
+          "/papers/" + paperId + "/download/" + (1 + iteration % currentVersion));
+      pause();
+
+      if (options.updateEvery() > 0 && iteration % options.updateEvery() == 0) {
+        update();
+        pause();
+      }
+      if (options.loginEvery() > 0 && iteration % options.loginEvery() == 0) {
+        login();
+        pause();
+      }
+    }
+  }
+
+  private boolean login() throws InterruptedException {
+    return api.postJson("POST /auth/login", "/auth/login",
+        Map.of("email", email, "password", "loadtest-password")).ok();
+  }
+
+  private void update() throws InterruptedException {
+    ApiClient.Result accepted = api.postMultipart("POST /papers/{paperId}/update", "/papers/" + paperId + "/update",
+        ApiClient.fields(), "paper-v" + (currentVersion + 1) + ".pdf", files.next());
+    if (!accepted.ok())
+      return;
+    JsonNode job = awaitJob(ApiClient.json(accepted).path("jobId").asText(), "update job (end-to-end)");
+    if (job != null)
+      currentVersion = Math.max(currentVersion, job.path("versionNumber").asInt(currentVersion));
+  }
+
+  // Polls the upload job until it finishes. The time from the 202 to
+  // completion is recorded under "name", so the report shows how long the
+  // background upload took in addition to the request itself.
+  private JsonNode awaitJob(String jobId, String name) throws InterruptedException {
+    long start = System.nanoTime();
+    long deadline = start + JOB_TIMEOUT_MILLIS * 1_000_000;
+    while (System.nanoTime() < deadline) {
+      ApiClient.Result status = api.get("GET /papers/uploads/{jobId}", "/papers/uploads/" + jobId);
+      if (status.ok()) {
+        JsonNode job = ApiClient.json(status);
+        String state = job.path("status").asText();
+        if (state.equals("COMPLETED")) {
+          stats.record(name, start, System.nanoTime(), true);
+          return job;
+        }
+        if (state.equals("FAILED")) {
+          stats.record(name, start, System.nanoTime(), false);
+          return null;
+        }
+      }
+      Thread.sleep(JOB_POLL_MILLIS);
+    }
+    stats.record(name, start, System.nanoTime(), false);
+    return null;
+  }
+
+  private void pause() throws InterruptedException {
+    if (options.thinkTimeMillis() > 0)
+      Thread.sleep(options.thinkTimeMillis());
+  }
+}